@@ -0,0 +1,216 @@
+package com.ironhack.lms.bench;
+
+import org.h2.tools.Server;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Rows/ms for bulk lesson, enrollment and submission inserts, replaying the JDBC traffic
+ * Hibernate produces for each id strategy:
+ * <ul>
+ *   <li>{@code identity}: one INSERT per row, each followed by a generated-key read (no batching)</li>
+ *   <li>{@code sequence}: one id-block fetch per 50 rows from a {@code *_seq} table (V9), then
+ *       INSERTs with explicit ids sent as JDBC batches of 50</li>
+ * </ul>
+ * Defaults to an in-memory H2 database behind H2's TCP server, so every statement pays a
+ * (loopback) round trip like it would against MySQL; pass
+ * {@code -p url=jdbc:mysql://...&rewriteBatchedStatements=true -p user=... -p password=...}
+ * to measure against a real MySQL instead.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BulkInsertBenchmark {
+
+    static final int ROWS = 500;
+    static final int BATCH = 50;
+
+    @Param({"jdbc:h2:tcp://localhost:9093/mem:bulk;MODE=MySQL;DB_CLOSE_DELAY=-1"})
+    public String url;
+
+    @Param({"sa"})
+    public String user;
+
+    @Param({""})
+    public String password;
+
+    @Param({"lesson", "enrollment", "submission"})
+    public String table;
+
+    @Param({"identity", "sequence"})
+    public String ids;
+
+    private Server h2;
+    private Connection conn;
+    private Kind kind;
+    private String target;
+    private String seq;
+
+    @Setup
+    public void setUp() throws SQLException {
+        if (url.startsWith("jdbc:h2:tcp://localhost:9093/")) {
+            h2 = Server.createTcpServer("-tcpPort", "9093", "-ifNotExists").start();
+        }
+        conn = DriverManager.getConnection(url, user, password);
+        kind = Kind.valueOf(table.toUpperCase());
+        target = "bench_" + table + "_" + ids;
+        seq = target + "_seq";
+        try (Statement st = conn.createStatement()) {
+            st.execute("DROP TABLE IF EXISTS " + target);
+            st.execute("DROP TABLE IF EXISTS " + seq);
+            String id = ids.equals("identity") ? "BIGINT NOT NULL AUTO_INCREMENT PRIMARY KEY" : "BIGINT NOT NULL PRIMARY KEY";
+            st.execute("CREATE TABLE " + target + " (id " + id + ", " + kind.columnsDdl + ")");
+            st.execute("CREATE TABLE " + seq + " (next_val BIGINT NOT NULL)");
+            st.execute("INSERT INTO " + seq + " VALUES (1)");
+        }
+        conn.setAutoCommit(false);
+    }
+
+    @TearDown(Level.Iteration)
+    public void truncate() throws SQLException {
+        try (Statement st = conn.createStatement()) {
+            st.execute("DELETE FROM " + target);
+        }
+        conn.commit();
+    }
+
+    @TearDown
+    public void tearDown() throws SQLException {
+        conn.setAutoCommit(true);
+        try (Statement st = conn.createStatement()) {
+            st.execute("DROP TABLE IF EXISTS " + target);
+            st.execute("DROP TABLE IF EXISTS " + seq);
+        }
+        conn.close();
+        if (h2 != null) h2.stop();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public void insert() throws SQLException {
+        if (ids.equals("identity")) insertIdentity();
+        else insertSequence();
+        conn.commit();
+    }
+
+    private void insertIdentity() throws SQLException {
+        String sql = "INSERT INTO " + target + " (" + kind.columns + ") VALUES (" + kind.placeholders + ")";
+        for (int i = 0; i < ROWS; i++) {
+            // what Hibernate does for IDENTITY: execute right away and read the id back
+            try (PreparedStatement ps = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+                kind.bind(ps, 1, i);
+                ps.executeUpdate();
+                try (ResultSet keys = ps.getGeneratedKeys()) {
+                    keys.next();
+                }
+            }
+        }
+    }
+
+    private void insertSequence() throws SQLException {
+        String sql = "INSERT INTO " + target + " (id, " + kind.columns + ") VALUES (?, " + kind.placeholders + ")";
+        try (PreparedStatement ps = conn.prepareStatement(sql)) {
+            long next = 0;
+            for (int i = 0; i < ROWS; i++) {
+                if (i % BATCH == 0) next = nextBlock();
+                ps.setLong(1, next++);
+                kind.bind(ps, 2, i);
+                ps.addBatch();
+                if ((i + 1) % BATCH == 0) ps.executeBatch();
+            }
+            ps.executeBatch();
+        }
+    }
+
+    /** pooled-lo over a table: read the low end of the block and move next_val past it. */
+    private long nextBlock() throws SQLException {
+        long lo;
+        try (Statement st = conn.createStatement();
+             ResultSet rs = st.executeQuery("SELECT next_val FROM " + seq + " FOR UPDATE")) {
+            rs.next();
+            lo = rs.getLong(1);
+        }
+        try (PreparedStatement ps = conn.prepareStatement("UPDATE " + seq + " SET next_val = ? WHERE next_val = ?")) {
+            ps.setLong(1, lo + BATCH);
+            ps.setLong(2, lo);
+            ps.executeUpdate();
+        }
+        return lo;
+    }
+
+    enum Kind {
+        LESSON("course_id BIGINT NOT NULL, title VARCHAR(200) NOT NULL, content_url VARCHAR(2048), order_index INT NOT NULL",
+                "course_id, title, content_url, order_index", 4) {
+            @Override
+            void bind(PreparedStatement ps, int at, int i) throws SQLException {
+                ps.setLong(at, 1);
+                ps.setString(at + 1, "Lesson " + i);
+                ps.setString(at + 2, "https://example.com/lessons/" + i);
+                ps.setInt(at + 3, i);
+            }
+        },
+        ENROLLMENT("student_id BIGINT NOT NULL, course_id BIGINT NOT NULL, enrolled_at DATETIME(3) NOT NULL, status VARCHAR(20) NOT NULL",
+                "student_id, course_id, enrolled_at, status", 4) {
+            @Override
+            void bind(PreparedStatement ps, int at, int i) throws SQLException {
+                ps.setLong(at, i);
+                ps.setLong(at + 1, 1);
+                ps.setTimestamp(at + 2, Timestamp.from(Instant.now()));
+                ps.setString(at + 3, "ACTIVE");
+            }
+        },
+        SUBMISSION("assignment_id BIGINT NOT NULL, course_id BIGINT NOT NULL, student_id BIGINT NOT NULL, "
+                + "submitted_at DATETIME(3) NOT NULL, artifact_url VARCHAR(2048) NOT NULL, status VARCHAR(30) NOT NULL, "
+                + "score INT, feedback TEXT, version INT NOT NULL",
+                "assignment_id, course_id, student_id, submitted_at, artifact_url, status, version", 7) {
+            @Override
+            void bind(PreparedStatement ps, int at, int i) throws SQLException {
+                ps.setLong(at, 1);
+                ps.setLong(at + 1, 1);
+                ps.setLong(at + 2, i);
+                ps.setTimestamp(at + 3, Timestamp.from(Instant.now()));
+                ps.setString(at + 4, "https://github.com/student" + i + "/hw");
+                ps.setString(at + 5, "SUBMITTED");
+                ps.setInt(at + 6, 1);
+            }
+        };
+
+        final String columnsDdl;
+        final String columns;
+        final String placeholders;
+
+        Kind(String columnsDdl, String columns, int count) {
+            this.columnsDdl = columnsDdl;
+            this.columns = columns;
+            this.placeholders = String.join(", ", Collections.nCopies(count, "?"));
+        }
+
+        abstract void bind(PreparedStatement ps, int at, int i) throws SQLException;
+    }
+}
@@ -0,0 +1,78 @@
+package com.ironhack.lms.bench;
+
+import com.ironhack.lms.config.JwtAuthFilter;
+import com.ironhack.lms.repository.user.TokenRevocationRepository;
+import com.ironhack.lms.service.auth.AppUserDetailsService;
+import com.ironhack.lms.service.auth.JwtService;
+import com.ironhack.lms.service.auth.PrincipalCache;
+import com.ironhack.lms.service.auth.TokenVersionService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.ArgumentMatchers.anyString;
+
+/**
+ * One authenticated request through {@link JwtAuthFilter}: header parsing, token verification,
+ * principal lookup and SecurityContext population. The user lookup is a Mockito stub, so the
+ * numbers exclude the database and measure the filter's own overhead.
+ * <p>
+ * {@code stateless=false} resolves the user through the principal cache;
+ * {@code stateless=true} builds the principal from the token claims.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtAuthFilterBenchmark {
+
+    @Param({"false", "true"})
+    public boolean stateless;
+
+    private JwtAuthFilter filter;
+    private MockHttpServletRequest request;
+    private MockHttpServletResponse response;
+    private FilterChain chain;
+
+    @Setup
+    public void setUp() {
+        TokenVersionService versions = new TokenVersionService(Mockito.mock(TokenRevocationRepository.class), null, null);
+        JwtService jwt = new JwtService(versions, JwtServiceBenchmark.SECRET, 120, stateless);
+        AppUserDetailsService uds = Mockito.mock(AppUserDetailsService.class);
+        Mockito.when(uds.loadUserByUsername(anyString())).thenReturn(JwtServiceBenchmark.principal());
+
+        filter = new JwtAuthFilter(jwt, uds, new PrincipalCache(10_000, 300, new SimpleMeterRegistry()), versions,
+                new SimpleMeterRegistry());
+        request = new MockHttpServletRequest("GET", "/api/me");
+        request.addHeader(HttpHeaders.AUTHORIZATION, "Bearer " + jwt.generateToken(JwtServiceBenchmark.principal()));
+        response = new MockHttpServletResponse();
+        chain = (req, res) -> { };
+    }
+
+    @Benchmark
+    public Authentication doFilter() throws Exception {
+        SecurityContextHolder.clearContext();
+        filter.doFilter(request, response, chain);
+        return SecurityContextHolder.getContext().getAuthentication();
+    }
+}
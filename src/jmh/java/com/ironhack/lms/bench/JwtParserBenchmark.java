@@ -0,0 +1,65 @@
+package com.ironhack.lms.bench;
+
+import com.ironhack.lms.service.auth.JwtService;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.security.core.userdetails.User;
+
+import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token verification as done per request by JwtAuthFilter.
+ * <ul>
+ *   <li>{@code rebuildParserTwice}: previous behaviour — a new parser per call, token parsed
+ *       once for the subject and again for {@code isValid}.</li>
+ *   <li>{@code sharedParserOnce}: {@link JwtService#verify(String)} — one pre-built parser, one parse.</li>
+ * </ul>
+ * Run with {@code mvn -Pbenchmark test-compile exec:exec -Djmh.args="JwtParserBenchmark"}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class JwtParserBenchmark {
+
+    private static final String SECRET = "benchmark-secret-benchmark-secret-0123456789";
+
+    private SecretKey key;
+    private JwtService jwt;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        key = Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8));
+        // TokenVersionService is only consulted for AppUserPrincipal tokens
+        jwt = new JwtService(null, SECRET, 120, false);
+        token = jwt.generateToken(User.withUsername("student@lms.local")
+                .password("")
+                .authorities("ROLE_STUDENT")
+                .build());
+    }
+
+    @Benchmark
+    public boolean rebuildParserTwice() {
+        String subject = claims(token).getSubject();
+        return subject.equals(claims(token).getSubject());
+    }
+
+    @Benchmark
+    public String sharedParserOnce() {
+        return jwt.verify(token).subject();
+    }
+
+    private Claims claims(String t) {
+        return Jwts.parser().verifyWith(key).build().parseSignedClaims(t).getPayload();
+    }
+}
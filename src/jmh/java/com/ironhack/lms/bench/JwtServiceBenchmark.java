@@ -0,0 +1,73 @@
+package com.ironhack.lms.bench;
+
+import com.ironhack.lms.domain.user.Role;
+import com.ironhack.lms.domain.user.Student;
+import com.ironhack.lms.repository.user.TokenRevocationRepository;
+import com.ironhack.lms.service.auth.AppUserPrincipal;
+import com.ironhack.lms.service.auth.CurrentUser;
+import com.ironhack.lms.service.auth.JwtService;
+import com.ironhack.lms.service.auth.TokenVersionService;
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Issuing and verifying tokens with the production {@link JwtService}.
+ * Throughput plus sampled latency, so percentiles can be compared between releases.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtServiceBenchmark {
+
+    static final String SECRET = "benchmark-secret-benchmark-secret-0123456789";
+
+    private JwtService jwt;
+    private AppUserPrincipal principal;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        // the token version lookup is a Mockito stub, so generateToken excludes the database
+        jwt = new JwtService(new TokenVersionService(Mockito.mock(TokenRevocationRepository.class), null, null),
+                SECRET, 120, false);
+        principal = principal();
+        token = jwt.generateToken(principal);
+    }
+
+    static AppUserPrincipal principal() {
+        return new AppUserPrincipal(
+                new CurrentUser(20L, "student@lms.local", Role.STUDENT, Student.class),
+                "", List.of(new SimpleGrantedAuthority("ROLE_STUDENT")));
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwt.generateToken(principal);
+    }
+
+    @Benchmark
+    public String extractUsername() {
+        return jwt.extractUsername(token);
+    }
+
+    @Benchmark
+    public boolean isValid() {
+        return jwt.isValid(token, principal);
+    }
+}
@@ -0,0 +1,86 @@
+package com.ironhack.lms.bench.load;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Per-worker latency log (one instance per thread, no locking); {@link #report} merges them.
+ * Keeps every sample, which is fine for runs of a few million requests.
+ */
+final class LatencyRecorder {
+
+    private long[] samples = new long[1 << 14];
+    private int count;
+    private int errors;
+
+    void record(long nanos, boolean ok) {
+        if (!ok) {
+            errors++;
+            return;
+        }
+        if (count == samples.length) samples = Arrays.copyOf(samples, count * 2);
+        samples[count++] = nanos;
+    }
+
+    void reset() {
+        count = 0;
+        errors = 0;
+    }
+
+    static Report report(String label, List<LatencyRecorder> recorders, long elapsedNanos) {
+        int total = recorders.stream().mapToInt(r -> r.count).sum();
+        int errors = recorders.stream().mapToInt(r -> r.errors).sum();
+        long[] all = new long[total];
+        int at = 0;
+        for (LatencyRecorder r : recorders) {
+            System.arraycopy(r.samples, 0, all, at, r.count);
+            at += r.count;
+        }
+        Arrays.sort(all);
+        return new Report(label, total, errors, total / (elapsedNanos / 1e9),
+                percentile(all, 50), percentile(all, 90), percentile(all, 99), total == 0 ? 0 : all[total - 1] / 1e6);
+    }
+
+    /** Prints the reports as a table and, when {@code out} is set, appends them to that CSV. */
+    static void print(List<Report> reports, String out) throws IOException {
+        System.out.println(Report.header());
+        reports.forEach(r -> System.out.println(r.line()));
+        if (out == null || out.isBlank()) return;
+        Path path = Path.of(out);
+        if (!Files.exists(path)) Files.writeString(path, "label,requests,errors,req_per_s,p50_ms,p90_ms,p99_ms,max_ms\n");
+        StringBuilder rows = new StringBuilder();
+        reports.forEach(r -> rows.append(r.csv()).append('\n'));
+        Files.writeString(path, rows, StandardCharsets.UTF_8, StandardOpenOption.APPEND);
+    }
+
+    private static double percentile(long[] sorted, double p) {
+        if (sorted.length == 0) return 0;
+        int idx = (int) Math.ceil(p / 100 * sorted.length) - 1;
+        return sorted[Math.max(0, idx)] / 1e6;
+    }
+
+    record Report(String label, int requests, int errors, double throughput,
+                  double p50Ms, double p90Ms, double p99Ms, double maxMs) {
+
+        static String header() {
+            return String.format(Locale.ROOT, "%-20s %10s %8s %10s %9s %9s %9s %9s",
+                    "label", "requests", "errors", "req/s", "p50 ms", "p90 ms", "p99 ms", "max ms");
+        }
+
+        String line() {
+            return String.format(Locale.ROOT, "%-20s %10d %8d %10.1f %9.2f %9.2f %9.2f %9.2f",
+                    label, requests, errors, throughput, p50Ms, p90Ms, p99Ms, maxMs);
+        }
+
+        String csv() {
+            return String.format(Locale.ROOT, "%s,%d,%d,%.1f,%.3f,%.3f,%.3f,%.3f",
+                    label, requests, errors, throughput, p50Ms, p90Ms, p99Ms, maxMs);
+        }
+    }
+}
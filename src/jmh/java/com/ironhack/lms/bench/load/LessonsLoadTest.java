@@ -0,0 +1,90 @@
+package com.ironhack.lms.bench.load;
+
+import java.io.IOException;
+import java.net.http.HttpRequest;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Closed-loop load on {@code GET /api/courses/{id}/lessons} against a running instance: each of
+ * {@code concurrency} clients sends a request as soon as the previous one answers. Run it once
+ * against the default platform-thread server and once against {@code --spring.profiles.active=virtual-threads}
+ * with the same arguments and a different {@code label}; with {@code out=...} both rows land in
+ * one CSV for comparison. Requests during {@code warmup} seconds are not counted.
+ * <p>
+ * Arguments are {@code key=value}: baseUrl, course, email, password, concurrency, warmup, duration,
+ * label, out.
+ */
+public final class LessonsLoadTest {
+
+    private static final Map<String, String> DEFAULTS = new LinkedHashMap<>();
+    static {
+        DEFAULTS.put("baseUrl", "http://localhost:3315");
+        DEFAULTS.put("course", "1");
+        DEFAULTS.put("email", "student@lms.local");
+        DEFAULTS.put("password", "password");
+        DEFAULTS.put("concurrency", "100");
+        DEFAULTS.put("warmup", "10");
+        DEFAULTS.put("duration", "30");
+        DEFAULTS.put("label", "lessons");
+        DEFAULTS.put("out", "");
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> opts = LoadOptions.parse(DEFAULTS, args);
+        String baseUrl = opts.get("baseUrl");
+        int concurrency = Integer.parseInt(opts.get("concurrency"));
+
+        LoadClient client = new LoadClient(baseUrl);
+        String token = client.login(opts.get("email"), opts.get("password"));
+        long courseId = Long.parseLong(opts.get("course"));
+        client.enroll(token, courseId); // lessons are only visible to enrolled students
+        HttpRequest lessons = client.request("/api/courses/" + courseId + "/lessons")
+                .header("Authorization", "Bearer " + token)
+                .GET().build();
+
+        List<LatencyRecorder> recorders = new ArrayList<>();
+        AtomicBoolean running = new AtomicBoolean(true);
+        CountDownLatch done = new CountDownLatch(concurrency);
+        for (int i = 0; i < concurrency; i++) {
+            LatencyRecorder rec = new LatencyRecorder();
+            recorders.add(rec);
+            Thread t = new Thread(() -> {
+                try {
+                    while (running.get()) {
+                        long start = System.nanoTime();
+                        boolean ok;
+                        try {
+                            ok = client.status(lessons) == 200;
+                        } catch (IOException e) {
+                            ok = false;
+                        }
+                        rec.record(System.nanoTime() - start, ok);
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    done.countDown();
+                }
+            }, "load-" + i);
+            t.setDaemon(true);
+            t.start();
+        }
+
+        Thread.sleep(Duration.ofSeconds(Long.parseLong(opts.get("warmup"))).toMillis());
+        recorders.forEach(LatencyRecorder::reset); // racy by a few samples at most; fine for a report
+        long started = System.nanoTime();
+        Thread.sleep(Duration.ofSeconds(Long.parseLong(opts.get("duration"))).toMillis());
+        running.set(false);
+        long elapsed = System.nanoTime() - started;
+        done.await();
+
+        var report = LatencyRecorder.report(opts.get("label"), recorders, elapsed);
+        LatencyRecorder.print(List.of(report), opts.get("out"));
+    }
+}
@@ -0,0 +1,79 @@
+package com.ironhack.lms.bench.load;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.Map;
+
+/** Thin JSON-over-HTTP client shared by the load harnesses; one instance serves all workers. */
+final class LoadClient {
+
+    static final ObjectMapper JSON = new ObjectMapper();
+
+    private final HttpClient http = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(5))
+            .version(HttpClient.Version.HTTP_1_1)
+            .build();
+    private final String baseUrl;
+
+    LoadClient(String baseUrl) {
+        this.baseUrl = baseUrl;
+    }
+
+    record Response(int status, JsonNode body) {
+        boolean ok() {
+            return status >= 200 && status < 300;
+        }
+    }
+
+    String login(String email, String password) throws IOException, InterruptedException {
+        var res = send("POST", "/auth/login", null, Map.of("email", email, "password", password));
+        if (!res.ok()) throw new IllegalStateException("Login failed for " + email + ": " + res.status());
+        return res.body().get("token").asText();
+    }
+
+    /** Enrolls the token's student; 409 means a previous run already did. */
+    void enroll(String token, long courseId) throws IOException, InterruptedException {
+        var res = send("POST", "/api/courses/" + courseId + "/enroll", token, null);
+        if (!res.ok() && res.status() != 409) {
+            throw new IllegalStateException("Could not enroll in course " + courseId + ": " + res.status());
+        }
+    }
+
+    Response send(String method, String path, String token, Object body) throws IOException, InterruptedException {
+        var req = HttpRequest.newBuilder(URI.create(baseUrl + path)).timeout(Duration.ofSeconds(30));
+        if (token != null) req.header("Authorization", "Bearer " + token);
+        if (body != null) {
+            req.header("Content-Type", "application/json")
+                    .method(method, HttpRequest.BodyPublishers.ofString(JSON.writeValueAsString(body)));
+        } else {
+            req.method(method, HttpRequest.BodyPublishers.noBody());
+        }
+        HttpResponse<byte[]> res = http.send(req.build(), HttpResponse.BodyHandlers.ofByteArray());
+        byte[] bytes = res.body();
+        return new Response(res.statusCode(), bytes.length == 0 ? null : JSON.readTree(bytes));
+    }
+
+    /** Sends without reading the body; for hot GETs where only the status matters. */
+    int status(HttpRequest req) throws IOException, InterruptedException {
+        return http.send(req, HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+
+    HttpRequest.Builder request(String path) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path)).timeout(Duration.ofSeconds(30));
+    }
+
+    /** The uid claim of a JWT issued by /auth/login (read without verifying; it is our own token). */
+    static long userId(String token) throws IOException {
+        String payload = token.split("\\.")[1];
+        return JSON.readTree(new String(Base64.getUrlDecoder().decode(payload), StandardCharsets.UTF_8)).get("uid").asLong();
+    }
+}
@@ -0,0 +1,24 @@
+package com.ironhack.lms.bench.load;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/** {@code key=value} arguments over a map of defaults; unknown keys are rejected. */
+final class LoadOptions {
+
+    private LoadOptions() {
+    }
+
+    static Map<String, String> parse(Map<String, String> defaults, String[] args) {
+        Map<String, String> opts = new LinkedHashMap<>(defaults);
+        for (String arg : args) {
+            int eq = arg.indexOf('=');
+            String key = eq < 0 ? arg : arg.substring(0, eq);
+            if (eq < 0 || !defaults.containsKey(key)) {
+                throw new IllegalArgumentException("Unknown argument '" + arg + "', expected key=value with key in " + defaults.keySet());
+            }
+            opts.put(key, arg.substring(eq + 1));
+        }
+        return opts;
+    }
+}
@@ -0,0 +1,231 @@
+package com.ironhack.lms.bench.load;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Replays the Postman flows (docs/postman) as concurrent virtual users against a running instance
+ * seeded by the {@code loadtest} profile:
+ * <ul>
+ *   <li>students log in once, then loop: browse a catalog page, open a course, enroll (409 when
+ *       already enrolled counts as success), list lessons and assignments, submit one assignment</li>
+ *   <li>instructors log in once, then loop: page through one of their courses' submissions and
+ *       grade the first ungraded one</li>
+ * </ul>
+ * Each virtual user draws from {@code Random(seed + index)} and logs in as a fixed generated
+ * account, so two runs with the same arguments issue the same request sequence. Prints
+ * throughput and latency percentiles per operation; {@code out=...} appends them to a CSV.
+ * <p>
+ * Arguments are {@code key=value}: baseUrl, students, instructors, firstStudent, warmup, duration,
+ * seed, label, out.
+ */
+public final class ScenarioLoadTest {
+
+    static final List<String> OPERATIONS = List.of(
+            "login", "browse", "course", "enroll", "lessons", "assignments", "submit", "review", "grade");
+
+    private static final Map<String, String> DEFAULTS = new LinkedHashMap<>();
+    static {
+        DEFAULTS.put("baseUrl", "http://localhost:3315");
+        DEFAULTS.put("students", "200");
+        DEFAULTS.put("instructors", "10");
+        DEFAULTS.put("firstStudent", "1");
+        DEFAULTS.put("warmup", "10");
+        DEFAULTS.put("duration", "60");
+        DEFAULTS.put("seed", "42");
+        DEFAULTS.put("label", "scenario");
+        DEFAULTS.put("out", "");
+    }
+
+    record CourseRef(long id, long instructorId) {}
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> opts = LoadOptions.parse(DEFAULTS, args);
+        LoadClient client = new LoadClient(opts.get("baseUrl"));
+        int students = Integer.parseInt(opts.get("students"));
+        int instructors = Integer.parseInt(opts.get("instructors"));
+        int firstStudent = Integer.parseInt(opts.get("firstStudent"));
+        long seed = Long.parseLong(opts.get("seed"));
+
+        List<CourseRef> catalog = catalog(client);
+        if (catalog.isEmpty()) throw new IllegalStateException("Catalog is empty; start the server with the loadtest profile");
+        int catalogPages = (catalog.size() + 19) / 20;
+        System.out.printf("catalog: %d published courses%n", catalog.size());
+
+        AtomicBoolean running = new AtomicBoolean(true);
+        CountDownLatch done = new CountDownLatch(students + instructors);
+        List<Map<String, LatencyRecorder>> recorders = new ArrayList<>();
+        for (int i = 0; i < students + instructors; i++) {
+            Map<String, LatencyRecorder> ops = new LinkedHashMap<>();
+            OPERATIONS.forEach(op -> ops.put(op, new LatencyRecorder()));
+            recorders.add(ops);
+            boolean student = i < students;
+            Random random = new Random(seed + i);
+            String email = student
+                    ? "load-student-%d@lms.local".formatted(firstStudent + i)
+                    : "load-instructor-%d@lms.local".formatted(i - students + 1);
+            VirtualUser vu = student
+                    ? new StudentUser(client, email, random, ops, catalogPages)
+                    : new InstructorUser(client, email, random, ops, catalog);
+            Thread t = new Thread(() -> {
+                try {
+                    vu.run(running);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } catch (Exception e) {
+                    System.err.println(email + " stopped: " + e);
+                } finally {
+                    done.countDown();
+                }
+            }, (student ? "student-" : "instructor-") + i);
+            t.setDaemon(true);
+            t.start();
+        }
+
+        Thread.sleep(Duration.ofSeconds(Long.parseLong(opts.get("warmup"))).toMillis());
+        // logins happen during warmup, so keep them; reset everything else
+        recorders.forEach(ops -> ops.forEach((op, r) -> { if (!op.equals("login")) r.reset(); }));
+        long started = System.nanoTime();
+        Thread.sleep(Duration.ofSeconds(Long.parseLong(opts.get("duration"))).toMillis());
+        running.set(false);
+        long elapsed = System.nanoTime() - started;
+        done.await();
+
+        String label = opts.get("label");
+        List<LatencyRecorder.Report> reports = new ArrayList<>();
+        for (String op : OPERATIONS) {
+            reports.add(LatencyRecorder.report(label + ":" + op, recorders.stream().map(m -> m.get(op)).toList(), elapsed));
+        }
+        reports.add(LatencyRecorder.report(label + ":all", recorders.stream()
+                .flatMap(m -> m.entrySet().stream().filter(e -> !e.getKey().equals("login")).map(Map.Entry::getValue))
+                .toList(), elapsed));
+        LatencyRecorder.print(reports, opts.get("out"));
+    }
+
+    /** Every published course with its instructor, read through the public catalog. */
+    static List<CourseRef> catalog(LoadClient client) throws IOException, InterruptedException {
+        List<CourseRef> out = new ArrayList<>();
+        for (int page = 0; ; page++) {
+            var res = client.send("GET", "/api/courses?page=" + page + "&size=100&sort=id", null, null);
+            if (!res.ok()) throw new IllegalStateException("Catalog page " + page + ": " + res.status());
+            for (JsonNode c : res.body().get("content")) {
+                out.add(new CourseRef(c.get("id").asLong(), c.get("instructorId").asLong()));
+            }
+            if (res.body().get("last").asBoolean()) return out;
+        }
+    }
+
+    abstract static class VirtualUser {
+        final LoadClient client;
+        final String email;
+        final Random random;
+        final Map<String, LatencyRecorder> ops;
+        String token;
+
+        VirtualUser(LoadClient client, String email, Random random, Map<String, LatencyRecorder> ops) {
+            this.client = client;
+            this.email = email;
+            this.random = random;
+            this.ops = ops;
+        }
+
+        void run(AtomicBoolean running) throws Exception {
+            long start = System.nanoTime();
+            token = client.login(email, "password");
+            ops.get("login").record(System.nanoTime() - start, true);
+            loggedIn();
+            while (running.get()) iteration();
+        }
+
+        void loggedIn() throws IOException {
+        }
+
+        abstract void iteration() throws IOException, InterruptedException;
+
+        /** Times one call; statuses in {@code okStatuses} (or any 2xx when empty) count as success. */
+        LoadClient.Response call(String op, String method, String path, Object body, int... okStatuses)
+                throws IOException, InterruptedException {
+            long start = System.nanoTime();
+            LoadClient.Response res;
+            try {
+                res = client.send(method, path, token, body);
+            } catch (IOException e) {
+                ops.get(op).record(System.nanoTime() - start, false);
+                throw e;
+            }
+            boolean ok = res.ok();
+            for (int s : okStatuses) ok |= res.status() == s;
+            ops.get(op).record(System.nanoTime() - start, ok);
+            return res;
+        }
+    }
+
+    static final class StudentUser extends VirtualUser {
+        private final int catalogPages;
+
+        StudentUser(LoadClient client, String email, Random random, Map<String, LatencyRecorder> ops, int catalogPages) {
+            super(client, email, random, ops);
+            this.catalogPages = catalogPages;
+        }
+
+        @Override
+        void iteration() throws IOException, InterruptedException {
+            var page = call("browse", "GET", "/api/courses?page=" + random.nextInt(catalogPages) + "&size=20&sort=id", null);
+            if (!page.ok() || page.body().get("content").isEmpty()) return;
+            JsonNode courses = page.body().get("content");
+            long courseId = courses.get(random.nextInt(courses.size())).get("id").asLong();
+
+            call("course", "GET", "/api/courses/" + courseId, null);
+            if (!call("enroll", "POST", "/api/courses/" + courseId + "/enroll", null, 409).ok()
+                    && random.nextBoolean()) {
+                return; // already enrolled: carry on half of the time, browse again otherwise
+            }
+            call("lessons", "GET", "/api/courses/" + courseId + "/lessons", null);
+            var assignments = call("assignments", "GET", "/api/courses/" + courseId + "/assignments", null);
+            if (!assignments.ok() || assignments.body() == null || assignments.body().isEmpty()) return;
+            long assignmentId = assignments.body().get(random.nextInt(assignments.body().size())).get("id").asLong();
+            call("submit", "POST", "/api/assignments/" + assignmentId + "/submissions",
+                    Map.of("artifactUrl", "https://github.com/" + email.substring(0, email.indexOf('@')) + "/hw" + assignmentId));
+        }
+    }
+
+    static final class InstructorUser extends VirtualUser {
+        private final List<CourseRef> catalog;
+        private List<Long> own = List.of();
+
+        InstructorUser(LoadClient client, String email, Random random, Map<String, LatencyRecorder> ops, List<CourseRef> catalog) {
+            super(client, email, random, ops);
+            this.catalog = catalog;
+        }
+
+        @Override
+        void loggedIn() throws IOException {
+            long me = LoadClient.userId(token);
+            own = catalog.stream().filter(c -> c.instructorId() == me).map(CourseRef::id).toList();
+            if (own.isEmpty()) throw new IllegalStateException("no courses in the catalog");
+        }
+
+        @Override
+        void iteration() throws IOException, InterruptedException {
+            long courseId = own.get(random.nextInt(own.size()));
+            var page = call("review", "GET", "/api/courses/" + courseId + "/submissions?page=0&size=20&sort=submittedAt,desc", null);
+            if (!page.ok()) return;
+            for (JsonNode s : page.body().get("content")) {
+                if ("SUBMITTED".equals(s.get("status").asText())) {
+                    call("grade", "PATCH", "/api/submissions/" + s.get("id").asLong() + "/grade",
+                            Map.of("score", 40 + random.nextInt(61), "feedback", "load test"));
+                    return;
+                }
+            }
+        }
+    }
+}
@@ -1,12 +1,18 @@
 package com.ironhack.lms.config;
 
 import com.ironhack.lms.service.auth.AppUserDetailsService;
+import com.ironhack.lms.service.auth.AppUserPrincipal;
 import com.ironhack.lms.service.auth.JwtService;
+import com.ironhack.lms.service.auth.PrincipalCache;
+import com.ironhack.lms.service.auth.TokenVersionService;
+import com.ironhack.lms.service.auth.VerifiedToken;
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
-import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpHeaders;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -16,33 +22,74 @@ import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.concurrent.TimeUnit;
 
 @Component
-@RequiredArgsConstructor
 public class JwtAuthFilter extends OncePerRequestFilter {
 
     private final JwtService jwt;
     private final AppUserDetailsService uds;
+    private final PrincipalCache principals;
+    private final TokenVersionService tokenVersions;
+    private final Timer authenticated;
+    private final Timer invalid;
+    private final Timer revoked;
+    private final Timer anonymous;
+
+    public JwtAuthFilter(JwtService jwt, AppUserDetailsService uds, PrincipalCache principals,
+                         TokenVersionService tokenVersions, MeterRegistry registry) {
+        this.jwt = jwt;
+        this.uds = uds;
+        this.principals = principals;
+        this.tokenVersions = tokenVersions;
+        this.authenticated = timer(registry, "authenticated");
+        this.invalid = timer(registry, "invalid");
+        this.revoked = timer(registry, "revoked");
+        this.anonymous = timer(registry, "none");
+    }
 
     @Override
     protected void doFilterInternal(HttpServletRequest req, HttpServletResponse res, FilterChain chain)
             throws ServletException, IOException {
 
         String auth = req.getHeader(HttpHeaders.AUTHORIZATION);
+        long start = System.nanoTime();
+        Timer outcome = anonymous;
         if (auth != null && auth.startsWith("Bearer ")) {
             String token = auth.substring(7);
+            outcome = invalid;
             try {
-                String username = jwt.extractUsername(token);
+                VerifiedToken verified = jwt.verify(token); // the only parse: signature + expiry
+                Claims claims = verified.claims();
+                String username = verified.subject();
                 if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-                    UserDetails user = uds.loadUserByUsername(username);
-                    if (jwt.isValid(token, user)) {
+                    // stateless mode: the verified claims are the principal, no user lookup
+                    UserDetails user = jwt.isStateless() ? jwt.principalFrom(claims) : null;
+                    if (user == null) {
+                        user = principals.get(username, claims.getIssuedAt(), uds::loadUserByUsername);
+                    }
+                    if (user instanceof AppUserPrincipal p
+                            && !tokenVersions.isCurrent(p.currentUser().id(), jwt.tokenVersion(claims))) {
+                        user = null; // revoked (forced logout)
+                        outcome = revoked;
+                    }
+                    if (user != null) {
                         var authToken = new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities());
                         authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(req));
                         SecurityContextHolder.getContext().setAuthentication(authToken);
+                        outcome = authenticated;
                     }
                 }
             } catch (Exception ignored) {}
         }
+        outcome.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
         chain.doFilter(req, res);
     }
+
+    private static Timer timer(MeterRegistry registry, String outcome) {
+        return Timer.builder("auth.jwt.filter")
+                .description("Bearer token verification in JwtAuthFilter")
+                .tag("outcome", outcome)
+                .register(registry);
+    }
 }
@@ -0,0 +1,254 @@
+package com.ironhack.lms.config;
+
+import com.ironhack.lms.domain.course.*;
+import com.ironhack.lms.domain.enrollment.Enrollment;
+import com.ironhack.lms.domain.submission.Submission;
+import com.ironhack.lms.domain.submission.SubmissionStatus;
+import com.ironhack.lms.domain.user.*;
+import com.ironhack.lms.repository.submission.AssignmentStatsRepository;
+import com.ironhack.lms.repository.user.UserRepository;
+import jakarta.persistence.EntityManager;
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Synthetic dataset for load tests ({@code --spring.profiles.active=loadtest}). Volumes come from
+ * {@code app.loadtest.*}; the same seed always produces the same data, so runs are comparable.
+ * <p>
+ * Rows go through JPA with sequence ids and JDBC batching, one transaction per chunk with the
+ * persistence context cleared in between, so memory stays flat. Every generated user's password
+ * is {@code password} (hashed once). Assignment stats are accumulated and written at the end,
+ * since the generator bypasses SubmissionService. Runs once: skipped if the dataset exists.
+ */
+@Configuration
+@Profile("loadtest")
+public class LoadTestDataGenerator {
+
+    private static final Logger log = LoggerFactory.getLogger(LoadTestDataGenerator.class);
+
+    static final String STUDENT_EMAIL = "load-student-%d@lms.local";
+    static final String INSTRUCTOR_EMAIL = "load-instructor-%d@lms.local";
+    static final int CHUNK_SIZE = 1000;
+
+    private final UserRepository users;
+    private final AssignmentStatsRepository stats;
+    private final PasswordEncoder encoder;
+    private final EntityManager em;
+    private final TransactionTemplate tx;
+    private final Volumes volumes;
+
+    record Volumes(int students, int instructors, int courses, int lessonsPerCourse, int assignmentsPerCourse,
+                   int coursesPerStudent, long submissions, double gradedRatio, long seed) {
+
+        /** Chance that an enrollment has a submission for a given assignment of its course. */
+        double submitProbability() {
+            long slots = (long) students * Math.min(coursesPerStudent, courses) * assignmentsPerCourse;
+            return slots == 0 ? 0 : Math.min(1.0, (double) submissions / slots);
+        }
+    }
+
+    public LoadTestDataGenerator(UserRepository users, AssignmentStatsRepository stats, PasswordEncoder encoder,
+                                 EntityManager em, TransactionTemplate tx,
+                                 @Value("${app.loadtest.students:50000}") int students,
+                                 @Value("${app.loadtest.instructors:100}") int instructors,
+                                 @Value("${app.loadtest.courses:2000}") int courses,
+                                 @Value("${app.loadtest.lessons-per-course:40}") int lessonsPerCourse,
+                                 @Value("${app.loadtest.assignments-per-course:5}") int assignmentsPerCourse,
+                                 @Value("${app.loadtest.courses-per-student:4}") int coursesPerStudent,
+                                 @Value("${app.loadtest.submissions:1000000}") long submissions,
+                                 @Value("${app.loadtest.graded-ratio:0.6}") double gradedRatio,
+                                 @Value("${app.loadtest.seed:42}") long seed) {
+        this.users = users;
+        this.stats = stats;
+        this.encoder = encoder;
+        this.em = em;
+        this.tx = tx;
+        this.volumes = new Volumes(students, Math.max(1, instructors), courses, lessonsPerCourse, assignmentsPerCourse,
+                coursesPerStudent, submissions, gradedRatio, seed);
+    }
+
+    @Bean
+    CommandLineRunner generateLoadTestData() {
+        return args -> {
+            if (users.findByEmail(STUDENT_EMAIL.formatted(1)).isPresent()) {
+                log.info("Load-test dataset already present, skipping generation");
+                return;
+            }
+            long started = System.nanoTime();
+            Dataset ds = generate();
+            log.info("Generated load-test dataset: {} students, {} courses, {} enrollments, {} submissions in {}s",
+                    volumes.students(), volumes.courses(), ds.enrollments, ds.submissions,
+                    Duration.ofNanos(System.nanoTime() - started).toSeconds());
+        };
+    }
+
+    Dataset generate() {
+        Random random = new Random(volumes.seed());
+        String hash = encoder.encode("password");
+        Dataset ds = new Dataset();
+
+        List<Long> instructorIds = inChunks(volumes.instructors(), (from, to) -> {
+            List<Long> ids = new ArrayList<>();
+            for (int i = from; i < to; i++) {
+                var u = new Instructor();
+                u.setEmail(INSTRUCTOR_EMAIL.formatted(i + 1));
+                u.setPasswordHash(hash);
+                u.setFullName("Load Instructor " + (i + 1));
+                u.setRole(Role.INSTRUCTOR);
+                em.persist(u);
+                ids.add(u.getId());
+            }
+            return ids;
+        });
+
+        // courses round-robin over instructors, each with its lessons and assignments
+        Instant now = Instant.now();
+        List<Long> courseIds = new ArrayList<>(volumes.courses());
+        inChunks(volumes.courses(), (from, to) -> {
+            for (int c = from; c < to; c++) {
+                var course = new Course();
+                course.setInstructor(em.getReference(Instructor.class, instructorIds.get(c % instructorIds.size())));
+                course.setTitle("Load Course " + (c + 1));
+                course.setDescription("Synthetic course for load tests");
+                course.setStatus(CourseStatus.PUBLISHED);
+                course.setPublishedAt(now);
+                em.persist(course);
+                courseIds.add(course.getId());
+                for (int l = 0; l < volumes.lessonsPerCourse(); l++) {
+                    var lesson = new Lesson();
+                    lesson.setCourse(course);
+                    lesson.setTitle("Lesson " + (l + 1));
+                    lesson.setContentUrl("https://example.com/load/" + (c + 1) + "/" + (l + 1));
+                    lesson.setOrderIndex(l + 1);
+                    em.persist(lesson);
+                }
+                List<Long> assignmentIds = new ArrayList<>(volumes.assignmentsPerCourse());
+                for (int a = 0; a < volumes.assignmentsPerCourse(); a++) {
+                    var hw = new Assignment();
+                    hw.setCourse(course);
+                    hw.setTitle("HW" + (a + 1));
+                    hw.setInstructions("Submit your repository URL");
+                    hw.setDueAt(now.plus(30, ChronoUnit.DAYS));
+                    hw.setMaxPoints(100);
+                    hw.setAllowLate(true);
+                    em.persist(hw);
+                    assignmentIds.add(hw.getId());
+                }
+                ds.assignmentsByCourse.put(course.getId(), assignmentIds);
+            }
+            return List.of();
+        });
+
+        // students with their enrollments and submissions, chunk by chunk
+        double submitP = volumes.submitProbability();
+        int perStudent = Math.min(volumes.coursesPerStudent(), courseIds.size());
+        inChunks(volumes.students(), (from, to) -> {
+            for (int i = from; i < to; i++) {
+                var s = new Student();
+                s.setEmail(STUDENT_EMAIL.formatted(i + 1));
+                s.setPasswordHash(hash);
+                s.setFullName("Load Student " + (i + 1));
+                s.setRole(Role.STUDENT);
+                s.setStudentNumber("L-" + (i + 1));
+                em.persist(s);
+                for (Long courseId : pick(random, courseIds, perStudent)) {
+                    var e = new Enrollment();
+                    e.setCourse(em.getReference(Course.class, courseId));
+                    e.setStudent(s);
+                    em.persist(e);
+                    ds.enrollments++;
+                    for (Long assignmentId : ds.assignmentsByCourse.get(courseId)) {
+                        if (random.nextDouble() >= submitP) continue;
+                        var sub = new Submission();
+                        sub.setAssignment(em.getReference(Assignment.class, assignmentId));
+                        sub.setCourseId(courseId);
+                        sub.setStudent(s);
+                        sub.setArtifactUrl("https://github.com/load-student-" + (i + 1) + "/hw" + assignmentId);
+                        sub.setSubmittedAt(now.minusSeconds(random.nextInt(30 * 24 * 3600)));
+                        boolean graded = random.nextDouble() < volumes.gradedRatio();
+                        if (graded) {
+                            sub.setStatus(SubmissionStatus.GRADED);
+                            sub.setScore(40 + random.nextInt(61));
+                        }
+                        em.persist(sub);
+                        ds.submissions++;
+                        ds.stats.computeIfAbsent(assignmentId, k -> new long[]{courseId, 0, 0, 0});
+                        long[] st = ds.stats.get(assignmentId);
+                        st[1]++;
+                        if (graded) {
+                            st[2]++;
+                            st[3] += sub.getScore();
+                        }
+                    }
+                }
+            }
+            return List.of();
+        });
+
+        tx.executeWithoutResult(status -> ds.stats.forEach((assignmentId, st) ->
+                stats.applyDelta(assignmentId, st[0], (int) st[1], (int) st[2], st[3])));
+        return ds;
+    }
+
+    /** Runs {@code work} over [0, total) in chunks, each in its own transaction with a fresh persistence context. */
+    private <T> List<T> inChunks(int total, ChunkWork<T> work) {
+        List<T> out = new ArrayList<>();
+        for (int start = 0; start < total; start += CHUNK_SIZE) {
+            int from = start;
+            int to = Math.min(total, from + CHUNK_SIZE);
+            List<T> part = tx.execute(status -> {
+                em.unwrap(Session.class).setCacheMode(CacheMode.IGNORE); // keep seed rows out of the second-level cache
+                List<T> r = work.run(from, to);
+                em.flush();
+                em.clear();
+                return r;
+            });
+            if (part != null) out.addAll(part);
+        }
+        return out;
+    }
+
+    /** {@code n} distinct elements (partial Fisher-Yates over index draws). */
+    private static List<Long> pick(Random random, List<Long> from, int n) {
+        List<Long> out = new ArrayList<>(n);
+        Map<Integer, Integer> swapped = new HashMap<>();
+        for (int i = 0; i < n; i++) {
+            int j = i + random.nextInt(from.size() - i);
+            int vj = swapped.getOrDefault(j, j);
+            swapped.put(j, swapped.getOrDefault(i, i));
+            out.add(from.get(vj));
+        }
+        return out;
+    }
+
+    @FunctionalInterface
+    private interface ChunkWork<T> {
+        List<T> run(int from, int to);
+    }
+
+    static final class Dataset {
+        final Map<Long, List<Long>> assignmentsByCourse = new HashMap<>();
+        /** assignmentId -> {courseId, submissions, graded, scoreSum} */
+        final Map<Long, long[]> stats = new HashMap<>();
+        long enrollments;
+        long submissions;
+    }
+}
@@ -0,0 +1,47 @@
+package com.ironhack.lms.config;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * Counts the SQL statements Hibernate prepares on the current thread while a request is being
+ * served (a JDBC batch counts once). {@link SqlStatementMetricsFilter} opens and closes the count
+ * around each request; outside of one, statements are not counted.
+ */
+@Component
+public class RequestStatementCounter implements StatementInspector, HibernatePropertiesCustomizer {
+
+    private static final ThreadLocal<int[]> CURRENT = new ThreadLocal<>();
+
+    @Override
+    public String inspect(String sql) {
+        int[] count = CURRENT.get();
+        if (count != null) count[0]++;
+        return sql;
+    }
+
+    @Override
+    public void customize(Map<String, Object> hibernateProperties) {
+        hibernateProperties.put(AvailableSettings.STATEMENT_INSPECTOR, this);
+    }
+
+    public void begin() {
+        CURRENT.set(new int[1]);
+    }
+
+    /** Statements so far in the current request, or 0 outside of one. */
+    public int current() {
+        int[] count = CURRENT.get();
+        return count == null ? 0 : count[0];
+    }
+
+    public int end() {
+        int n = current();
+        CURRENT.remove();
+        return n;
+    }
+}
@@ -1,8 +1,10 @@
 package com.ironhack.lms.config;
 
 import com.ironhack.lms.service.auth.AppUserDetailsService;
+import jakarta.servlet.DispatcherType;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
@@ -14,7 +16,9 @@ import org.springframework.security.config.annotation.method.configuration.Enabl
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
 import org.springframework.security.config.http.SessionCreationPolicy;
+import org.springframework.security.crypto.argon2.Argon2PasswordEncoder;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
@@ -23,6 +27,7 @@ import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 
 import java.util.List;
+import java.util.Map;
 
 @Configuration
 @EnableMethodSecurity
@@ -33,13 +38,17 @@ public class SecurityConfig {
     private final AppUserDetailsService uds;
 
     @Bean
-    SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
+    SecurityFilterChain filterChain(HttpSecurity http, PasswordEncoder passwordEncoder) throws Exception {
         http
                 .csrf(AbstractHttpConfigurer::disable)
                 .cors(c -> c.configurationSource(corsConfigurationSource()))
                 .sessionManagement(sm -> sm.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
                 .authorizeHttpRequests(auth -> auth
+                        // the original request was already authorized; streamed bodies finish on an ASYNC dispatch
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
                         .requestMatchers("/auth/**", "/api/ping", "/swagger-ui.html", "/swagger-ui/**", "/v3/api-docs/**").permitAll()
+                        // served on the loopback-only management port (management.server.*) outside of tests
+                        .requestMatchers("/actuator/health", "/actuator/prometheus").permitAll()
                         .requestMatchers(HttpMethod.GET, "/api/courses").permitAll()  // Only public course listing
                         .requestMatchers(HttpMethod.GET, "/api/courses/*").permitAll()  // Only public course details (single course by ID)
                         .requestMatchers(HttpMethod.GET, "/api/courses/*/lessons").authenticated()  // Lessons require auth
@@ -58,22 +67,38 @@ public class SecurityConfig {
                             res.getWriter().write("{\"error\":\"forbidden\"}");
                         })
                 )
-                .authenticationProvider(authProvider())                    // <-- uses ctor-injected UDS
+                .authenticationProvider(authProvider(passwordEncoder))     // <-- uses ctor-injected UDS
                 .addFilterBefore(jwtFilter, UsernamePasswordAuthenticationFilter.class);
 
         return http.build();
     }
 
     @Bean
-    AuthenticationProvider authProvider() {
+    AuthenticationProvider authProvider(PasswordEncoder passwordEncoder) {
         var provider = new DaoAuthenticationProvider(uds);
-        provider.setPasswordEncoder(passwordEncoder());
+        provider.setPasswordEncoder(passwordEncoder);
+        provider.setUserDetailsPasswordService(uds); // rehash on login when the encoder asks for an upgrade
         return provider;
     }
 
+    /**
+     * New hashes are written as {@code {id}hash} with the configured algorithm. Any stored hash
+     * that is unprefixed (legacy BCrypt), uses another algorithm or a lower BCrypt strength is
+     * upgraded on the next successful login.
+     */
     @Bean
-    PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    PasswordEncoder passwordEncoder(@Value("${app.security.password.algorithm:bcrypt}") String algorithm,
+                                    @Value("${app.security.password.bcrypt-strength:10}") int bcryptStrength) {
+        var bcrypt = new BCryptPasswordEncoder(bcryptStrength);
+        Map<String, PasswordEncoder> encoders = Map.of(
+                "bcrypt", bcrypt,
+                "argon2", Argon2PasswordEncoder.defaultsForSpringSecurity_v5_8());
+        if (!encoders.containsKey(algorithm)) {
+            throw new IllegalArgumentException("Unsupported app.security.password.algorithm: " + algorithm);
+        }
+        var delegating = new DelegatingPasswordEncoder(algorithm, encoders);
+        delegating.setDefaultPasswordEncoderForMatches(bcrypt); // hashes stored before the {id} prefix
+        return delegating;
     }
 
     @Bean
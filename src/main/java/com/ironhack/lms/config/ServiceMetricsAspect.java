@@ -0,0 +1,82 @@
+package com.ironhack.lms.config;
+
+import com.ironhack.lms.web.paging.CursorPage;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.data.domain.Slice;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.Collection;
+
+/**
+ * Times every public method of the course, enrollment and submission services as
+ * {@code service.calls} (tags: service, operation, outcome) and records how many items listing
+ * methods return as {@code service.results}. Outcome follows the ResponseStatusException the
+ * services throw: ok, unauthorized, forbidden, not_found, conflict, client_error or error.
+ */
+@Aspect
+@Component
+@RequiredArgsConstructor
+public class ServiceMetricsAspect {
+
+    private final MeterRegistry registry;
+
+    @Around("execution(public * com.ironhack.lms.service.course.CourseService.*(..))"
+            + " || execution(public * com.ironhack.lms.service.enrollment.EnrollmentService.*(..))"
+            + " || execution(public * com.ironhack.lms.service.submission.SubmissionService.*(..))")
+    public Object time(ProceedingJoinPoint call) throws Throwable {
+        String service = call.getSignature().getDeclaringType().getSimpleName();
+        String operation = call.getSignature().getName();
+        Timer.Sample sample = Timer.start(registry);
+        String outcome = "ok";
+        try {
+            Object result = call.proceed();
+            int size = size(result);
+            if (size >= 0) {
+                DistributionSummary.builder("service.results")
+                        .description("Items returned by service listing calls")
+                        .tag("service", service)
+                        .tag("operation", operation)
+                        .register(registry)
+                        .record(size);
+            }
+            return result;
+        } catch (Throwable t) {
+            outcome = outcome(t);
+            throw t;
+        } finally {
+            sample.stop(Timer.builder("service.calls")
+                    .description("Service-layer calls by operation and outcome")
+                    .tag("service", service)
+                    .tag("operation", operation)
+                    .tag("outcome", outcome)
+                    .register(registry));
+        }
+    }
+
+    static String outcome(Throwable t) {
+        if (t instanceof AccessDeniedException) return "forbidden";
+        if (!(t instanceof ResponseStatusException rse)) return "error";
+        return switch (rse.getStatusCode().value()) {
+            case 401 -> "unauthorized";
+            case 403 -> "forbidden";
+            case 404 -> "not_found";
+            case 409 -> "conflict";
+            default -> rse.getStatusCode().is4xxClientError() ? "client_error" : "error";
+        };
+    }
+
+    private static int size(Object result) {
+        if (result instanceof Slice<?> page) return page.getNumberOfElements();
+        if (result instanceof Collection<?> items) return items.size();
+        if (result instanceof CursorPage<?> slice) return slice.items().size();
+        return -1;
+    }
+}
@@ -0,0 +1,52 @@
+package com.ironhack.lms.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * SQL statement budgets per route ({@code app.sql.budget.*}), checked by
+ * {@link SqlStatementMetricsFilter} once a request completes. Plain route keys budget reads
+ * (GET/HEAD), where N+1 lookups show up; a key prefixed with the method budgets that method only.
+ * Everything else falls back to {@code default-max} (0 = unlimited).
+ * <pre>
+ * app.sql.budget.mode=log
+ * app.sql.budget.default-max=20
+ * app.sql.budget.routes.[/api/courses/{id}/lessons]=3
+ * app.sql.budget.routes.[PATCH /api/submissions/{id}/grade]=6
+ * </pre>
+ */
+@Component
+@ConfigurationProperties("app.sql.budget")
+@Getter
+@Setter
+public class SqlQueryBudgets {
+
+    public enum Mode {
+        /** No checks. */
+        OFF,
+        /** Log a warning and count the request in {@code http.server.sql.budget.exceeded}. */
+        LOG,
+        /**
+         * Same as LOG, then fail the request with an IllegalStateException (tests, local runs).
+         * Responses are buffered until the check so the client never sees a 200 first.
+         */
+        FAIL
+    }
+
+    private Mode mode = Mode.LOG;
+    private int defaultMax;
+    private Map<String, Integer> routes = new LinkedHashMap<>();
+
+    /** Statements allowed for a request to the route pattern, or 0 when it is not budgeted. */
+    public int maxFor(String method, String route) {
+        if (mode == Mode.OFF) return 0;
+        Integer max = routes.get(method + " " + route);
+        if (max == null && ("GET".equals(method) || "HEAD".equals(method))) max = routes.get(route);
+        return max != null ? max : defaultMax;
+    }
+}
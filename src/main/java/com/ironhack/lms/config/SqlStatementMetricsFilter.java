@@ -0,0 +1,102 @@
+package com.ironhack.lms.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+import org.springframework.web.util.WebUtils;
+
+import java.io.IOException;
+
+/**
+ * Records how many SQL statements each request issued as {@code http.server.sql.statements},
+ * tagged with the method and the matched route (e.g. {@code /api/courses/{id}/lessons}), and
+ * holds completed requests to the route's {@link SqlQueryBudgets budget}.
+ * <p>
+ * In FAIL mode the response body is buffered until the budget has been checked, so a request
+ * over budget fails before anything reaches the client instead of after a 200 was sent. Async
+ * requests (streamed downloads) are checked for the statements issued before they went async,
+ * but only logged: by then the body may already be on its way.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@RequiredArgsConstructor
+public class SqlStatementMetricsFilter extends OncePerRequestFilter {
+
+    private static final Logger log = LoggerFactory.getLogger(SqlStatementMetricsFilter.class);
+
+    private final RequestStatementCounter statements;
+    private final SqlQueryBudgets budgets;
+    private final MeterRegistry registry;
+
+    @Override
+    protected boolean shouldNotFilterAsyncDispatch() {
+        return false; // the async dispatch writes out what a FAIL-mode buffer holds
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest req, HttpServletResponse res, FilterChain chain)
+            throws ServletException, IOException {
+        if (isAsyncDispatch(req)) {
+            chain.doFilter(req, res);
+            if (!isAsyncStarted(req)) copyBuffered(res);
+            return;
+        }
+        HttpServletResponse out = budgets.getMode() == SqlQueryBudgets.Mode.FAIL
+                ? new ContentCachingResponseWrapper(res) : res;
+        int count;
+        statements.begin();
+        try {
+            chain.doFilter(req, out);
+        } finally {
+            count = statements.end();
+            DistributionSummary.builder("http.server.sql.statements")
+                    .description("SQL statements issued while serving a request")
+                    .tag("method", req.getMethod())
+                    .tag("uri", route(req))
+                    .register(registry)
+                    .record(count);
+        }
+        // only requests that completed normally: a failing one already has its own error
+        String route = route(req);
+        int max = budgets.maxFor(req.getMethod(), route);
+        boolean async = isAsyncStarted(req);
+        if (max > 0 && count > max) overBudget(req.getMethod(), route, count, max, !async);
+        if (!async) copyBuffered(out);
+    }
+
+    private static void copyBuffered(HttpServletResponse res) throws IOException {
+        ContentCachingResponseWrapper buffered = WebUtils.getNativeResponse(res, ContentCachingResponseWrapper.class);
+        if (buffered != null) buffered.copyBodyToResponse();
+    }
+
+    private void overBudget(String method, String route, int count, int max, boolean canFail) {
+        Counter.builder("http.server.sql.budget.exceeded")
+                .description("Requests that issued more SQL statements than their route's budget")
+                .tag("method", method)
+                .tag("uri", route)
+                .register(registry)
+                .increment();
+        String message = method + " " + route + " issued " + count + " SQL statements, budget is " + max;
+        log.warn(message);
+        // the buffered body is dropped, so the client gets the error instead of the response
+        if (canFail && budgets.getMode() == SqlQueryBudgets.Mode.FAIL) throw new IllegalStateException(message);
+    }
+
+    private static String route(HttpServletRequest req) {
+        Object route = req.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return route == null ? "UNKNOWN" : route.toString();
+    }
+}
@@ -0,0 +1,27 @@
+package com.ironhack.lms.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Spring Boot silently ignores {@code spring.threads.virtual.enabled} below Java 21, so a deployment
+ * that asked for virtual threads would quietly run on the platform pool with the virtual-threads
+ * pool sizing. Fail at startup instead.
+ */
+@Component
+@ConditionalOnProperty(name = "spring.threads.virtual.enabled", havingValue = "true")
+public class VirtualThreadsGuard {
+
+    static final int MIN_FEATURE_VERSION = 21;
+
+    public VirtualThreadsGuard() {
+        this(Runtime.version().feature());
+    }
+
+    VirtualThreadsGuard(int javaFeatureVersion) {
+        if (javaFeatureVersion < MIN_FEATURE_VERSION) {
+            throw new IllegalStateException("spring.threads.virtual.enabled=true needs Java "
+                    + MIN_FEATURE_VERSION + "+, but this JVM is Java " + javaFeatureVersion);
+        }
+    }
+}
@@ -2,9 +2,12 @@ package com.ironhack.lms.domain.course;
 
 import com.ironhack.lms.domain.user.Instructor;
 import jakarta.persistence.*;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.time.Instant;
 
@@ -12,9 +15,13 @@ import java.time.Instant;
 @NoArgsConstructor
 @Entity
 @Table(name = "course")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "course")
 public class Course {
 
-    @Id @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "course_seq")
+    @SequenceGenerator(name = "course_seq", sequenceName = "course_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY, optional = false)
@@ -37,9 +44,26 @@ public class Course {
     @Column(name = "published_at")
     private Instant publishedAt;
 
+    // Bumped on any change to the course, its lessons or assignments (ETag / Last-Modified).
+    // Only written through touchContent, on a row locked by CourseRepository.findForContentUpdate.
+    @Setter(AccessLevel.NONE)
+    @Column(name = "content_version", nullable = false)
+    private long contentVersion;
+
+    @Setter(AccessLevel.NONE)
+    @Column(name = "content_updated_at", nullable = false)
+    private Instant contentUpdatedAt;
+
+    /** New content version; flushed with the child write that caused it, in the same transaction. */
+    public void touchContent(Instant now) {
+        contentVersion++;
+        contentUpdatedAt = now;
+    }
+
     @PrePersist
     void prePersist() {
         if (createdAt == null) createdAt = Instant.now();
         if (status == null) status = CourseStatus.DRAFT;
+        if (contentUpdatedAt == null) contentUpdatedAt = createdAt;
     }
 }
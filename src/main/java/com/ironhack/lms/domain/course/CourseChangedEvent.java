@@ -0,0 +1,7 @@
+package com.ironhack.lms.domain.course;
+
+/**
+ * Published after a course is created, updated or deleted,
+ * so anything caching course listings can drop them.
+ */
+public record CourseChangedEvent(Long courseId) {}
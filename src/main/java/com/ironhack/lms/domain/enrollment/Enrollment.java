@@ -16,7 +16,9 @@ import java.time.Instant;
         uniqueConstraints = @UniqueConstraint(name = "uq_enroll", columnNames = {"student_id","course_id"}))
 public class Enrollment {
 
-    @Id @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "enrollment_seq")
+    @SequenceGenerator(name = "enrollment_seq", sequenceName = "enrollment_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY, optional = false)
@@ -0,0 +1,33 @@
+package com.ironhack.lms.domain.submission;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Running submission totals for one assignment. Rows are only ever changed by delta upserts
+ * ({@code AssignmentStatsRepository.applyDelta}), never loaded and saved back.
+ */
+@Getter @Setter
+@NoArgsConstructor
+@Entity
+@Table(name = "assignment_stats")
+public class AssignmentStats {
+
+    @Id
+    @Column(name = "assignment_id")
+    private Long assignmentId;
+
+    @Column(name = "course_id", nullable = false)
+    private Long courseId;
+
+    @Column(name = "submission_count", nullable = false)
+    private int submissionCount;
+
+    @Column(name = "graded_count", nullable = false)
+    private int gradedCount;
+
+    @Column(name = "score_sum", nullable = false)
+    private long scoreSum;
+}
@@ -0,0 +1,59 @@
+package com.ironhack.lms.domain.submission;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.Instant;
+
+/**
+ * Outbox row saying "a submission of this student in this course was graded". Written in the
+ * grading transaction, so it exists exactly when the grade does; consumed by GradeOutboxRelay.
+ */
+@Getter @Setter
+@NoArgsConstructor
+@Entity
+@Table(name = "grade_event")
+public class GradeEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "grade_event_seq")
+    @SequenceGenerator(name = "grade_event_seq", sequenceName = "grade_event_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(name = "course_id", nullable = false)
+    private Long courseId;
+
+    @Column(name = "student_id", nullable = false)
+    private Long studentId;
+
+    @Column(name = "submission_id", nullable = false)
+    private Long submissionId;
+
+    @Column(name = "created_at", nullable = false)
+    private Instant createdAt;
+
+    @Column(name = "available_at", nullable = false)
+    private Instant availableAt;
+
+    @Column(nullable = false)
+    private int attempts;
+
+    @Column(name = "last_error", length = 500)
+    private String lastError;
+
+    public static GradeEvent of(Submission s) {
+        var e = new GradeEvent();
+        e.setCourseId(s.getCourseId());
+        e.setStudentId(s.getStudent().getId());
+        e.setSubmissionId(s.getId());
+        return e;
+    }
+
+    @PrePersist
+    void prePersist() {
+        if (createdAt == null) createdAt = Instant.now();
+        if (availableAt == null) availableAt = createdAt;
+    }
+}
@@ -17,13 +17,19 @@ import java.time.Instant;
                 columnNames = {"assignment_id","student_id"}))
 public class Submission {
 
-    @Id @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "submission_seq")
+    @SequenceGenerator(name = "submission_seq", sequenceName = "submission_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY, optional = false)
     @JoinColumn(name = "assignment_id")
     private Assignment assignment;
 
+    // copy of assignment.course.id so course listings can seek on (course_id, submitted_at, id)
+    @Column(name = "course_id", nullable = false)
+    private Long courseId;
+
     @ManyToOne(fetch = FetchType.LAZY, optional = false)
     @JoinColumn(name = "student_id")
     private Student student;
@@ -50,5 +56,8 @@ public class Submission {
         if (submittedAt == null) submittedAt = Instant.now();
         if (status == null) status = SubmissionStatus.SUBMITTED;
         if (version <= 0) version = 1;
+        if (courseId == null && assignment != null && assignment.getCourse() != null) {
+            courseId = assignment.getCourse().getId();
+        }
     }
 }
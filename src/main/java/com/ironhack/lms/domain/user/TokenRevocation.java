@@ -0,0 +1,25 @@
+package com.ironhack.lms.domain.user;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.Instant;
+
+@Getter @Setter
+@NoArgsConstructor
+@Entity
+@Table(name = "token_revocation")
+public class TokenRevocation {
+
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+
+    @Column(name = "token_version", nullable = false)
+    private int tokenVersion;
+
+    @Column(name = "revoked_at", nullable = false)
+    private Instant revokedAt;
+}
@@ -0,0 +1,19 @@
+package com.ironhack.lms.domain.user;
+
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+
+// Instantiated by Hibernate through Spring's bean container, so constructor injection works here.
+@RequiredArgsConstructor
+public class UserChangeListener {
+
+    private final ApplicationEventPublisher events;
+
+    @PostUpdate
+    @PostRemove
+    void changed(User u) {
+        events.publishEvent(new UserChangedEvent(u.getId(), u.getEmail()));
+    }
+}
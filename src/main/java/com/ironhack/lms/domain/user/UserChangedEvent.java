@@ -0,0 +1,9 @@
+package com.ironhack.lms.domain.user;
+
+/**
+ * Published after a user row is updated or removed (role, password, email, ...),
+ * so anything caching data derived from that user can drop it. It is raised during the flush,
+ * before commit: listeners should run {@code AFTER_COMMIT}. Caches should match on
+ * {@code userId}: {@code email} is the new address, entries may still be keyed by the old one.
+ */
+public record UserChangedEvent(Long userId, String email) {}
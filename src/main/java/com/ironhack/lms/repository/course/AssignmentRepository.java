@@ -2,9 +2,29 @@ package com.ironhack.lms.repository.course;
 
 import com.ironhack.lms.domain.course.Assignment;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 
 public interface AssignmentRepository extends JpaRepository<Assignment, Long> {
     List<Assignment> findByCourse_Id(Long courseId);
+
+    /** Assignments of the course the student has no GRADED submission for. */
+    @Query("""
+            select count(a) from Assignment a
+            where a.course.id = :courseId
+              and not exists (
+                select 1 from Submission s
+                where s.assignment = a and s.student.id = :studentId
+                  and s.status = com.ironhack.lms.domain.submission.SubmissionStatus.GRADED)""")
+    long countUngraded(@Param("courseId") Long courseId, @Param("studentId") Long studentId);
+
+    /** See {@link LessonRepository#deleteByCourseId}; submissions go with their assignment (FK cascade). */
+    @Transactional
+    @Modifying
+    @Query("delete from Assignment a where a.course.id = :courseId")
+    int deleteByCourseId(@Param("courseId") Long courseId);
 }
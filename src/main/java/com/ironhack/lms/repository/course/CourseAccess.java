@@ -0,0 +1,13 @@
+package com.ironhack.lms.repository.course;
+
+import com.ironhack.lms.domain.course.CourseStatus;
+import com.ironhack.lms.domain.enrollment.EnrollmentStatus;
+
+import java.time.Instant;
+
+/**
+ * What a read-authorization check needs about a course, relative to one caller.
+ * {@code enrollmentStatus} is null when the caller is not enrolled (or anonymous).
+ */
+public record CourseAccess(CourseStatus status, Long instructorId, EnrollmentStatus enrollmentStatus,
+                           long contentVersion, Instant contentUpdatedAt) {}
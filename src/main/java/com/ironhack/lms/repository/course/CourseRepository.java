@@ -2,12 +2,37 @@ package com.ironhack.lms.repository.course;
 
 import com.ironhack.lms.domain.course.Course;
 import com.ironhack.lms.domain.course.CourseStatus;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Optional;
 
 public interface CourseRepository extends JpaRepository<Course, Long> {
     Page<Course> findByStatus(CourseStatus status, Pageable pageable);
     Page<Course> findByInstructor_Id(Long instructorId, Pageable pageable);
     boolean existsByIdAndInstructor_Id(Long courseId, Long instructorId);
+
+    /** Status, owner and the caller's enrollment status in one round trip (no entity loads). */
+    @Query("""
+            select new com.ironhack.lms.repository.course.CourseAccess(
+                c.status, c.instructor.id,
+                (select e.status from Enrollment e where e.course.id = c.id and e.student.id = :userId),
+                c.contentVersion, c.contentUpdatedAt)
+            from Course c where c.id = :courseId
+            """)
+    Optional<CourseAccess> findAccess(@Param("courseId") Long courseId, @Param("userId") Long userId);
+
+    /**
+     * Course about to get a new content version: locked so concurrent edits bump it one after the
+     * other instead of both writing the same version. Updating the managed row evicts only this
+     * course from the second-level cache, unlike a bulk update that drops the whole region.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select c from Course c where c.id = :id")
+    Optional<Course> findForContentUpdate(@Param("id") Long courseId);
 }
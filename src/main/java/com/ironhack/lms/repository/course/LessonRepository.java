@@ -1,10 +1,29 @@
 package com.ironhack.lms.repository.course;
 
 import com.ironhack.lms.domain.course.Lesson;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 
 public interface LessonRepository extends JpaRepository<Lesson, Long> {
+
+    /** Query cache holds the ids, the lesson region the rows; any write to lesson invalidates it. */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "lessons-by-course")
+    })
     List<Lesson> findByCourse_IdOrderByOrderIndexAsc(Long courseId);
+
+    /** Bulk delete ahead of the course row, so Hibernate evicts the cached lessons (the FK cascade would not). */
+    @Transactional
+    @Modifying
+    @Query("delete from Lesson l where l.course.id = :courseId")
+    int deleteByCourseId(@Param("courseId") Long courseId);
 }
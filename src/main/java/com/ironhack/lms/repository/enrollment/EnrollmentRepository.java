@@ -2,16 +2,57 @@ package com.ironhack.lms.repository.enrollment;
 
 import com.ironhack.lms.domain.enrollment.Enrollment;
 import com.ironhack.lms.domain.enrollment.EnrollmentStatus;
+import com.ironhack.lms.web.enrollment.dto.EnrollmentResponse;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 public interface EnrollmentRepository extends JpaRepository<Enrollment, Long> {
-    Page<Enrollment> findByStudent_Id(Long studentId, Pageable pageable);
+
+    // Listings join the course title into the DTO in one statement instead of loading each course.
+    String RESPONSE = """
+            select new com.ironhack.lms.web.enrollment.dto.EnrollmentResponse(
+                e.id, c.id, c.title, e.status, e.enrolledAt)
+            from Enrollment e join e.course c""";
+
+    @Query(value = RESPONSE + " where e.student.id = :studentId",
+            countQuery = "select count(e) from Enrollment e where e.student.id = :studentId")
+    Page<EnrollmentResponse> findResponsesByStudent(@Param("studentId") Long studentId, Pageable pageable);
+
+    // keyset listing by student, backed by idx_enroll_student_seek
+    @Query(RESPONSE + " where e.student.id = :studentId order by e.enrolledAt, e.id")
+    List<EnrollmentResponse> findFirstByStudent(@Param("studentId") Long studentId, Limit limit);
+
+    @Query(RESPONSE + """
+             where e.student.id = :studentId
+               and (e.enrolledAt > :at or (e.enrolledAt = :at and e.id > :id))
+            order by e.enrolledAt, e.id""")
+    List<EnrollmentResponse> findByStudentAfter(@Param("studentId") Long studentId, @Param("at") Instant at,
+                                                @Param("id") Long id, Limit limit);
+
     Page<Enrollment> findByStudent_IdAndStatus(Long studentId, EnrollmentStatus status, Pageable pageable);
     boolean existsByCourse_IdAndStudent_Id(Long courseId, Long studentId);
     boolean existsByCourse_IdAndStudent_IdAndStatus(Long courseId, Long studentId, EnrollmentStatus status);
+    // same pairs uq_enroll would reject, checked up front for a whole roster chunk
+    @Query("select e.student.id from Enrollment e where e.course.id = :courseId and e.student.id in :studentIds")
+    Set<Long> findEnrolledStudentIds(@Param("courseId") Long courseId, @Param("studentIds") Collection<Long> studentIds);
+
     Optional<Enrollment> findByIdAndStudent_Id(Long id, Long studentId);
+
+    @Modifying
+    @Query("""
+            update Enrollment e set e.status = :to
+            where e.course.id = :courseId and e.student.id = :studentId and e.status = :from""")
+    int transition(@Param("courseId") Long courseId, @Param("studentId") Long studentId,
+                   @Param("from") EnrollmentStatus from, @Param("to") EnrollmentStatus to);
 }
@@ -0,0 +1,43 @@
+package com.ironhack.lms.repository.submission;
+
+import com.ironhack.lms.domain.submission.AssignmentStats;
+import com.ironhack.lms.web.submission.dto.AssignmentStatsResponse;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+
+public interface AssignmentStatsRepository extends JpaRepository<AssignmentStats, Long> {
+
+    /**
+     * Adds the deltas in one atomic statement, creating the row on an assignment's first submission.
+     * The native space confines invalidation to assignment_stats; without it Hibernate would clear
+     * every second-level cache region on each call.
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "assignment_stats"))
+    @Query(nativeQuery = true, value = """
+            insert into assignment_stats (assignment_id, course_id, submission_count, graded_count, score_sum)
+            values (:assignmentId, :courseId, :submissions, :graded, :score)
+            on duplicate key update
+                submission_count = submission_count + :submissions,
+                graded_count = graded_count + :graded,
+                score_sum = score_sum + :score""")
+    int applyDelta(@Param("assignmentId") Long assignmentId, @Param("courseId") Long courseId,
+                   @Param("submissions") int submissions, @Param("graded") int graded, @Param("score") long score);
+
+    // one row per assignment of the course; assignments without submissions have no stats row yet
+    @Query("""
+            select new com.ironhack.lms.web.submission.dto.AssignmentStatsResponse(
+                a.id, a.title, a.maxPoints,
+                coalesce(st.submissionCount, 0), coalesce(st.gradedCount, 0), coalesce(st.scoreSum, 0))
+            from Assignment a left join AssignmentStats st on st.assignmentId = a.id
+            where a.course.id = :courseId
+            order by a.id""")
+    List<AssignmentStatsResponse> findCourseStats(@Param("courseId") Long courseId);
+}
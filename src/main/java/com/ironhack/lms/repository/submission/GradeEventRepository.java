@@ -0,0 +1,31 @@
+package com.ironhack.lms.repository.submission;
+
+import com.ironhack.lms.domain.submission.GradeEvent;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.Instant;
+import java.util.List;
+
+public interface GradeEventRepository extends JpaRepository<GradeEvent, Long> {
+
+    @Query("""
+            select e from GradeEvent e
+            where e.availableAt <= :now and e.attempts < :maxAttempts
+            order by e.availableAt, e.id""")
+    List<GradeEvent> findDue(@Param("now") Instant now, @Param("maxAttempts") int maxAttempts, Limit limit);
+
+    @Modifying
+    @Query("delete from GradeEvent e where e.id = :id")
+    int deleteNow(@Param("id") Long id);
+
+    @Modifying
+    @Query("""
+            update GradeEvent e
+            set e.attempts = e.attempts + 1, e.availableAt = :retryAt, e.lastError = :error
+            where e.id = :id""")
+    int markFailed(@Param("id") Long id, @Param("retryAt") Instant retryAt, @Param("error") String error);
+}
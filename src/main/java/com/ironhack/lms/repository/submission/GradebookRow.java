@@ -0,0 +1,10 @@
+package com.ironhack.lms.repository.submission;
+
+import com.ironhack.lms.domain.submission.SubmissionStatus;
+
+import java.time.Instant;
+
+/** One line of a course gradebook export: a submission with its assignment and student. */
+public record GradebookRow(Long submissionId, Long assignmentId, String assignmentTitle, int maxPoints,
+                           Long studentId, String studentEmail, String studentName, String studentNumber,
+                           Instant submittedAt, SubmissionStatus status, Integer score, int version) {}
@@ -1,14 +1,63 @@
 package com.ironhack.lms.repository.submission;
 
 import com.ironhack.lms.domain.submission.Submission;
+import com.ironhack.lms.web.submission.dto.SubmissionResponse;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 public interface SubmissionRepository extends JpaRepository<Submission, Long> {
-    Page<Submission> findByStudent_Id(Long studentId, Pageable pageable);
-    Page<Submission> findByAssignment_Course_Id(Long courseId, Pageable pageable);
-    Optional<Submission> findByAssignment_IdAndStudent_Id(Long assignmentId, Long studentId);
+
+    // Listings select FK columns straight into the DTO: no entities, no lazy proxies to initialize.
+    String RESPONSE = """
+            select new com.ironhack.lms.web.submission.dto.SubmissionResponse(
+                s.id, s.assignment.id, s.courseId, s.student.id, s.submittedAt,
+                s.artifactUrl, s.status, s.score, s.feedback, s.version)
+            from Submission s""";
+
+    @Query(value = RESPONSE + " where s.student.id = :studentId",
+            countQuery = "select count(s) from Submission s where s.student.id = :studentId")
+    Page<SubmissionResponse> findResponsesByStudent(@Param("studentId") Long studentId, Pageable pageable);
+
+    @Query(value = RESPONSE + " where s.courseId = :courseId",
+            countQuery = "select count(s) from Submission s where s.courseId = :courseId")
+    Page<SubmissionResponse> findResponsesByCourse(@Param("courseId") Long courseId, Pageable pageable);
+
+    // keyset listing by course, backed by idx_submission_course_seek
+    @Query(RESPONSE + " where s.courseId = :courseId order by s.submittedAt, s.id")
+    List<SubmissionResponse> findFirstByCourse(@Param("courseId") Long courseId, Limit limit);
+
+    @Query(RESPONSE + """
+             where s.courseId = :courseId
+               and (s.submittedAt > :at or (s.submittedAt = :at and s.id > :id))
+            order by s.submittedAt, s.id""")
+    List<SubmissionResponse> findByCourseAfter(@Param("courseId") Long courseId, @Param("at") Instant at,
+                                               @Param("id") Long id, Limit limit);
+
+    // grading: the row stays locked until commit, so concurrent graders apply their
+    // gradebook deltas one after another instead of both starting from the same state
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select s from Submission s where s.id = :id")
+    Optional<Submission> findForGrading(@Param("id") Long id);
+
+    // bulk grading: one statement for the whole batch, assignment fetched for maxPoints
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select s from Submission s join fetch s.assignment where s.courseId = :courseId and s.id in :ids")
+    List<Submission> findForGrading(@Param("courseId") Long courseId, @Param("ids") Collection<Long> ids);
+
+    // (re)submitting: locked like findForGrading, a resubmit racing a grade must see the graded row
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select s from Submission s where s.assignment.id = :assignmentId and s.student.id = :studentId")
+    Optional<Submission> findForSubmitting(@Param("assignmentId") Long assignmentId,
+                                           @Param("studentId") Long studentId);
 }
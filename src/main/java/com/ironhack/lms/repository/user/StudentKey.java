@@ -0,0 +1,4 @@
+package com.ironhack.lms.repository.user;
+
+/** The identifiers a roster line can refer to a student by. */
+public record StudentKey(Long id, String email, String studentNumber) {}
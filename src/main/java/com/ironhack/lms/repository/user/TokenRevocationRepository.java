@@ -0,0 +1,36 @@
+package com.ironhack.lms.repository.user;
+
+import com.ironhack.lms.domain.user.TokenRevocation;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+public interface TokenRevocationRepository extends JpaRepository<TokenRevocation, Long> {
+    List<TokenRevocation> findByRevokedAtGreaterThanEqual(Instant since);
+
+    /**
+     * Increments the user's token version in one atomic statement, creating the row on their first
+     * revocation, so concurrent revocations each get their own version instead of overwriting one
+     * another. The native space confines invalidation to token_revocation.
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "token_revocation"))
+    @Query(nativeQuery = true, value = """
+            insert into token_revocation (user_id, token_version, revoked_at)
+            values (:userId, 1, :now)
+            on duplicate key update
+                token_version = token_version + 1,
+                revoked_at = :now""")
+    int bumpVersion(@Param("userId") Long userId, @Param("now") Instant now);
+
+    @Query("select r.tokenVersion from TokenRevocation r where r.userId = :userId")
+    Optional<Integer> findTokenVersion(@Param("userId") Long userId);
+}
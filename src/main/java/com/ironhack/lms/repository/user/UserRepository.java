@@ -5,7 +5,10 @@ import com.ironhack.lms.domain.user.User;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -13,4 +16,15 @@ public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findByEmail(String email);
     List<User> findByRole(Role role);
     Page<User> findByRole(Role role, Pageable pageable);  // for paging
+
+    // roster import: resolve a chunk of lines with one IN query each
+    @Query("""
+            select new com.ironhack.lms.repository.user.StudentKey(s.id, s.email, s.studentNumber)
+            from Student s where s.email in :emails""")
+    List<StudentKey> findStudentKeysByEmail(@Param("emails") Collection<String> emails);
+
+    @Query("""
+            select new com.ironhack.lms.repository.user.StudentKey(s.id, s.email, s.studentNumber)
+            from Student s where s.studentNumber in :numbers""")
+    List<StudentKey> findStudentKeysByNumber(@Param("numbers") Collection<String> numbers);
 }
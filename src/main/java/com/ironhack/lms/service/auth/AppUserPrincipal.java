@@ -0,0 +1,28 @@
+package com.ironhack.lms.service.auth;
+
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+
+import java.util.Collection;
+import java.util.List;
+
+/** Spring Security principal that also carries the resolved {@link CurrentUser}. */
+public class AppUserPrincipal extends User {
+
+    private final CurrentUser currentUser;
+
+    public AppUserPrincipal(CurrentUser currentUser, String password, Collection<? extends GrantedAuthority> authorities) {
+        super(currentUser.email(), password, authorities);
+        this.currentUser = currentUser;
+    }
+
+    public static AppUserPrincipal of(com.ironhack.lms.domain.user.User u) {
+        List<GrantedAuthority> auth = List.of(new SimpleGrantedAuthority("ROLE_" + u.getRole().name()));
+        return new AppUserPrincipal(CurrentUser.of(u), u.getPasswordHash(), auth);
+    }
+
+    public CurrentUser currentUser() {
+        return currentUser;
+    }
+}
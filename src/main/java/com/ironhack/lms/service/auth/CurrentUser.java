@@ -0,0 +1,39 @@
+package com.ironhack.lms.service.auth;
+
+import com.ironhack.lms.domain.user.Instructor;
+import com.ironhack.lms.domain.user.Role;
+import com.ironhack.lms.domain.user.Student;
+import com.ironhack.lms.domain.user.User;
+import org.hibernate.Hibernate;
+
+/**
+ * Immutable snapshot of the authenticated user (id, role and concrete type),
+ * resolved once per request so services don't have to reload the {@link User} row.
+ */
+public record CurrentUser(Long id, String email, Role role, Class<? extends User> type) {
+
+    @SuppressWarnings("unchecked")
+    public static CurrentUser of(User u) {
+        return new CurrentUser(u.getId(), u.getEmail(), u.getRole(), (Class<? extends User>) Hibernate.getClass(u));
+    }
+
+    /** Inverse of {@code type().getSimpleName()}, used when the snapshot travels inside a token. */
+    public static Class<? extends User> typeNamed(String name) {
+        if (Student.class.getSimpleName().equals(name)) return Student.class;
+        if (Instructor.class.getSimpleName().equals(name)) return Instructor.class;
+        return User.class;
+    }
+
+    public boolean isA(Class<? extends User> t) {
+        return t.isAssignableFrom(type);
+    }
+
+    public boolean isAdmin() {
+        return role == Role.ADMIN;
+    }
+
+    /** True for the instructor with the given id (typically a course's owner). */
+    public boolean isInstructor(Long instructorId) {
+        return role == Role.INSTRUCTOR && id.equals(instructorId);
+    }
+}
@@ -0,0 +1,34 @@
+package com.ironhack.lms.service.auth;
+
+import com.ironhack.lms.domain.user.User;
+import com.ironhack.lms.repository.user.UserRepository;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.core.Authentication;
+import org.springframework.stereotype.Component;
+
+import java.util.Optional;
+
+/**
+ * Resolves the caller of the current request to a {@link CurrentUser}.
+ * JwtAuthFilter puts an {@link AppUserPrincipal} in the security context once per request,
+ * so the common path is free; other authentications (tests, form login) fall back to a lookup.
+ */
+@Component
+@RequiredArgsConstructor
+public class CurrentUserResolver {
+
+    private final UserRepository users;
+    private final EntityManager em;
+
+    public Optional<CurrentUser> resolve(Authentication auth) {
+        if (auth == null) return Optional.empty();
+        if (auth.getPrincipal() instanceof AppUserPrincipal p) return Optional.of(p.currentUser());
+        return users.findByEmail(auth.getName()).map(CurrentUser::of);
+    }
+
+    /** Uninitialized entity reference for associations (no SELECT is issued). */
+    public <T extends User> T reference(CurrentUser who, Class<T> type) {
+        return em.getReference(type, who.id());
+    }
+}
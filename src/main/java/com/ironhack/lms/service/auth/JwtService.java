@@ -1,10 +1,13 @@
 package com.ironhack.lms.service.auth;
 
+import com.ironhack.lms.domain.user.Role;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtBuilder;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
-import jakarta.annotation.PostConstruct;
-import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
 
@@ -12,42 +15,65 @@ import javax.crypto.SecretKey;
 import java.nio.charset.StandardCharsets;
 import java.time.Instant;
 import java.util.Date;
+import java.util.List;
 
 @Service
-@RequiredArgsConstructor
 public class JwtService {
 
-    @Value("${app.jwt.secret}")
-    private String secret; // at least 32 chars for HS256
+    static final String CLAIM_USER_ID = "uid";
+    static final String CLAIM_ROLE = "role";
+    static final String CLAIM_TYPE = "utype";
+    static final String CLAIM_VERSION = "ver";
 
-    @Value("${app.jwt.expiration-minutes:120}")
-    private long expirationMin;
+    private final TokenVersionService tokenVersions;
+    private final long expirationMin;
+    private final boolean stateless;
+    private final SecretKey key;
+    private final JwtParser parser; // immutable and thread-safe, built once
 
-    private SecretKey key;
-
-    @PostConstruct
-    void init() {
+    public JwtService(TokenVersionService tokenVersions,
+                      @Value("${app.jwt.secret}") String secret, // at least 32 chars for HS256
+                      @Value("${app.jwt.expiration-minutes:120}") long expirationMin,
+                      // Opt-in: trust uid/role/utype claims and skip the user lookup on verification
+                      @Value("${app.jwt.stateless:false}") boolean stateless) {
+        this.tokenVersions = tokenVersions;
+        this.expirationMin = expirationMin;
+        this.stateless = stateless;
         // If you prefer Base64 secrets, decode here instead of getBytes()
         this.key = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+        this.parser = Jwts.parser()  // 0.12.x
+                .verifyWith(key)
+                .build();
     }
 
     public String generateToken(UserDetails user) {
         Instant now = Instant.now();
-        return Jwts.builder()
+        JwtBuilder b = Jwts.builder()
                 .subject(user.getUsername())
                 .issuedAt(Date.from(now))
-                .expiration(Date.from(now.plusSeconds(expirationMin * 60)))
-                .signWith(key)            // 0.12.x: alg inferred from key (HS256)
+                .expiration(Date.from(now.plusSeconds(expirationMin * 60)));
+        if (user instanceof AppUserPrincipal p) {
+            CurrentUser u = p.currentUser();
+            b.claim(CLAIM_USER_ID, u.id())
+                    .claim(CLAIM_ROLE, u.role().name())
+                    .claim(CLAIM_TYPE, u.type().getSimpleName())
+                    .claim(CLAIM_VERSION, tokenVersions.issuingVersion(u.id()));
+        }
+        return b.signWith(key)            // 0.12.x: alg inferred from key (HS256)
                 .compact();
     }
 
+    /**
+     * Verifies signature and expiry with a single parse.
+     * Throws {@link io.jsonwebtoken.JwtException} for tampered, malformed or expired tokens.
+     */
+    public VerifiedToken verify(String token) {
+        Claims claims = parser.parseSignedClaims(token).getPayload();
+        return new VerifiedToken(claims.getSubject(), claims.getExpiration().toInstant(), claims);
+    }
+
     public String extractUsername(String token) {
-        return Jwts.parser()         // 0.12.x
-                .verifyWith(key)
-                .build()
-                .parseSignedClaims(token)
-                .getPayload()
-                .getSubject();
+        return verify(token).subject();
     }
 
     public boolean isValid(String token, UserDetails user) {
@@ -57,4 +83,27 @@ public class JwtService {
             return false;
         }
     }
+
+    public boolean isStateless() {
+        return stateless;
+    }
+
+    /** Token version claim; tokens issued before versions existed count as version 0. */
+    public int tokenVersion(Claims claims) {
+        Number v = claims.get(CLAIM_VERSION, Number.class);
+        return v != null ? v.intValue() : 0;
+    }
+
+    /**
+     * Builds the principal from already-verified claims without touching the database.
+     * Returns null for tokens that don't carry the user claims (issued before they existed).
+     */
+    public AppUserPrincipal principalFrom(Claims claims) {
+        Number id = claims.get(CLAIM_USER_ID, Number.class);
+        String role = claims.get(CLAIM_ROLE, String.class);
+        if (id == null || role == null) return null;
+        var u = new CurrentUser(id.longValue(), claims.getSubject(), Role.valueOf(role),
+                CurrentUser.typeNamed(claims.get(CLAIM_TYPE, String.class)));
+        return new AppUserPrincipal(u, "", List.of(new SimpleGrantedAuthority("ROLE_" + role)));
+    }
 }
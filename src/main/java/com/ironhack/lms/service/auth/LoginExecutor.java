@@ -0,0 +1,74 @@
+package com.ironhack.lms.service.auth;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Bounded pool for password hashing. At most {@code threads} logins hash concurrently and at most
+ * {@code queue-capacity} wait; anything beyond that is rejected with 503 right away, so a burst of
+ * logins cannot tie up every request thread or saturate the CPU serving the rest of the API.
+ * <p>
+ * The calling request thread blocks until its login is done, so every queued login also holds a
+ * Tomcat thread. The queue therefore defaults to the pool size: a login waits for about one hash
+ * at most, and overload turns into an early 503 instead of request threads parked in the queue.
+ */
+@Component
+public class LoginExecutor {
+
+    private final ExecutorService executor;
+    private final long timeoutMs;
+
+    public LoginExecutor(@Value("${app.auth.login-executor.threads:4}") int threads,
+                         @Value("${app.auth.login-executor.queue-capacity:${app.auth.login-executor.threads:4}}") int queueCapacity,
+                         @Value("${app.auth.login-executor.timeout-ms:10000}") long timeoutMs,
+                         MeterRegistry registry) {
+        var pool = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), new CustomizableThreadFactory("login-"),
+                new ThreadPoolExecutor.AbortPolicy());
+        this.executor = ExecutorServiceMetrics.monitor(registry, pool, "auth.login");
+        this.timeoutMs = timeoutMs;
+    }
+
+    public <T> T run(Supplier<T> task) {
+        Future<T> future;
+        try {
+            future = executor.submit(task::get);
+        } catch (RejectedExecutionException e) {
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Too many concurrent logins");
+        }
+        try {
+            return future.get(timeoutMs, TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException re) throw re; // e.g. BadCredentialsException
+            throw new IllegalStateException(e.getCause());
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Login timed out");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            future.cancel(true);
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Login interrupted");
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdown();
+    }
+}
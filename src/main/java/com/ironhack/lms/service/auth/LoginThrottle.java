@@ -0,0 +1,145 @@
+package com.ironhack.lms.service.auth;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Ticker;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Locale;
+
+/**
+ * In-memory token buckets per email and per client IP, checked before any password is hashed.
+ * Every attempt takes a token; a successful login gives it back, so only failed attempts drain
+ * the buckets. When a bucket is empty the attempt is rejected with 429 and Retry-After.
+ * <p>
+ * Buckets live in Caffeine maps (lock-striped) and each bucket synchronizes on itself, so
+ * unrelated emails/IPs never contend. Idle buckets expire once they would be full again.
+ */
+@Component
+public class LoginThrottle {
+
+    private static final long NANOS_PER_MINUTE = Duration.ofMinutes(1).toNanos();
+
+    private final Limit emailLimit;
+    private final Limit ipLimit;
+    private final Ticker ticker;
+    private final Cache<String, Bucket> emailBuckets;
+    private final Cache<String, Bucket> ipBuckets;
+    private final Counter accepted;
+    private final Counter rejectedEmail;
+    private final Counter rejectedIp;
+
+    @Autowired
+    public LoginThrottle(@Value("${app.auth.login-throttle.email-capacity:5}") int emailCapacity,
+                         @Value("${app.auth.login-throttle.email-refill-per-minute:5}") int emailRefill,
+                         @Value("${app.auth.login-throttle.ip-capacity:50}") int ipCapacity,
+                         @Value("${app.auth.login-throttle.ip-refill-per-minute:50}") int ipRefill,
+                         MeterRegistry registry) {
+        this(new Limit(emailCapacity, emailRefill), new Limit(ipCapacity, ipRefill), Ticker.systemTicker(), registry);
+    }
+
+    LoginThrottle(Limit emailLimit, Limit ipLimit, Ticker ticker, MeterRegistry registry) {
+        this.emailLimit = emailLimit;
+        this.ipLimit = ipLimit;
+        this.ticker = ticker;
+        this.emailBuckets = buckets(emailLimit, ticker);
+        this.ipBuckets = buckets(ipLimit, ticker);
+        this.accepted = attempts(registry, "accepted", "none");
+        this.rejectedEmail = attempts(registry, "rejected", "email");
+        this.rejectedIp = attempts(registry, "rejected", "ip");
+    }
+
+    /** Takes one token from the IP and the email bucket, or throws 429 with Retry-After. */
+    public void acquire(String email, String ip) {
+        long now = ticker.read();
+        long wait = ipBuckets.get(ip, k -> new Bucket(ipLimit, now)).tryTake(now);
+        if (wait > 0) {
+            rejectedIp.increment();
+            throw tooManyAttempts(wait);
+        }
+        wait = emailBuckets.get(key(email), k -> new Bucket(emailLimit, now)).tryTake(now);
+        if (wait > 0) {
+            refund(ip); // not this IP's fault
+            rejectedEmail.increment();
+            throw tooManyAttempts(wait);
+        }
+        accepted.increment();
+    }
+
+    /** Successful login: refund the IP token and forget earlier failures for the email. */
+    public void succeeded(String email, String ip) {
+        refund(ip);
+        emailBuckets.invalidate(key(email));
+    }
+
+    private void refund(String ip) {
+        Bucket b = ipBuckets.getIfPresent(ip);
+        if (b != null) b.giveBack();
+    }
+
+    private static String key(String email) {
+        return email == null ? "" : email.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static LoginThrottledException tooManyAttempts(long waitNanos) {
+        return new LoginThrottledException(Math.max(1, Duration.ofNanos(waitNanos).toSeconds() + 1));
+    }
+
+    private static Cache<String, Bucket> buckets(Limit limit, Ticker ticker) {
+        return Caffeine.newBuilder()
+                .ticker(ticker)
+                .expireAfterAccess(Duration.ofNanos(limit.nanosToFill()))
+                .maximumSize(100_000)
+                .build();
+    }
+
+    private static Counter attempts(MeterRegistry registry, String outcome, String reason) {
+        return Counter.builder("auth.login.attempts")
+                .description("Login attempts passing or rejected by the throttle")
+                .tag("outcome", outcome)
+                .tag("reason", reason)
+                .register(registry);
+    }
+
+    record Limit(int capacity, int refillPerMinute) {
+        long nanosPerToken() {
+            return NANOS_PER_MINUTE / Math.max(1, refillPerMinute);
+        }
+
+        long nanosToFill() {
+            return nanosPerToken() * capacity;
+        }
+    }
+
+    /** Token bucket with lazy refill; returns how long to wait for the next token (0 = taken). */
+    private static final class Bucket {
+        private final Limit limit;
+        private double tokens;
+        private long updatedAt;
+
+        Bucket(Limit limit, long now) {
+            this.limit = limit;
+            this.tokens = limit.capacity();
+            this.updatedAt = now;
+        }
+
+        synchronized long tryTake(long now) {
+            tokens = Math.min(limit.capacity(), tokens + (double) (now - updatedAt) / limit.nanosPerToken());
+            updatedAt = now;
+            if (tokens >= 1) {
+                tokens -= 1;
+                return 0;
+            }
+            return (long) ((1 - tokens) * limit.nanosPerToken());
+        }
+
+        synchronized void giveBack() {
+            tokens = Math.min(limit.capacity(), tokens + 1);
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.ironhack.lms.service.auth;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * 429 raised by {@link LoginThrottle} before any password is hashed. Carries how long the client
+ * should wait; {@link com.ironhack.lms.web.ErrorHandler} sends it as {@code Retry-After}.
+ */
+public class LoginThrottledException extends ResponseStatusException {
+
+    private final long retryAfterSeconds;
+
+    public LoginThrottledException(long retryAfterSeconds) {
+        super(HttpStatus.TOO_MANY_REQUESTS, "Too many login attempts");
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+
+    @Override
+    public HttpHeaders getHeaders() {
+        HttpHeaders h = new HttpHeaders();
+        h.set(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds));
+        return h;
+    }
+}
@@ -0,0 +1,67 @@
+package com.ironhack.lms.service.auth;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.ironhack.lms.domain.user.UserChangedEvent;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.Date;
+import java.util.function.Function;
+
+/**
+ * Bounded, TTL-evicting cache of authenticated principals, keyed by token subject + issue time.
+ * Lets {@link com.ironhack.lms.config.JwtAuthFilter} authenticate repeat Bearer requests without
+ * touching app_user. Entries for a user are dropped once an update of that user (role, password,
+ * email) commits, matched by user id so entries under a previous email go too. Evicting earlier
+ * would let a concurrent request re-cache the old row before the change is visible.
+ */
+@Component
+public class PrincipalCache {
+
+    private record Key(String subject, long issuedAt) {}
+
+    private final Cache<Key, UserDetails> cache;
+
+    public PrincipalCache(@Value("${app.auth.principal-cache.max-size:10000}") long maxSize,
+                          @Value("${app.auth.principal-cache.ttl-seconds:300}") long ttlSeconds,
+                          MeterRegistry registry) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(registry, cache, "auth.principals");
+    }
+
+    public UserDetails get(String subject, Date issuedAt, Function<String, UserDetails> loader) {
+        long iat = issuedAt != null ? issuedAt.getTime() : 0L;
+        return cache.get(new Key(subject, iat), k -> loader.apply(k.subject()));
+    }
+
+    public void evict(String subject) {
+        cache.asMap().keySet().removeIf(k -> k.subject().equals(subject));
+    }
+
+    /** Drops every entry of the user, whatever email its token was issued for. */
+    public void evictUser(Long userId, String email) {
+        cache.asMap().entrySet().removeIf(e -> e.getKey().subject().equals(email)
+                || (e.getValue() instanceof AppUserPrincipal p && p.currentUser().id().equals(userId)));
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    void onUserChanged(UserChangedEvent event) {
+        evictUser(event.userId(), event.email());
+    }
+
+    public CacheStats stats() {
+        return cache.stats();
+    }
+}
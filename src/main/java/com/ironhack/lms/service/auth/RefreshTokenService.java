@@ -0,0 +1,95 @@
+package com.ironhack.lms.service.auth;
+
+import com.ironhack.lms.domain.user.RefreshToken;
+import com.ironhack.lms.domain.user.User;
+import com.ironhack.lms.repository.user.RefreshTokenRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.HexFormat;
+
+/**
+ * Issues and rotates opaque refresh tokens. Refreshing costs one indexed lookup (by SHA-256 of the
+ * token, user fetched in the same query) and one HMAC for the new access token; no password hash.
+ * Each refresh token is single-use: presenting a used one is treated as theft and revokes every
+ * refresh token of that user.
+ */
+@Service
+public class RefreshTokenService {
+
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    private final RefreshTokenRepository tokens;
+    private final JwtService jwt;
+    private final CurrentUserResolver currentUser;
+    private final Duration ttl;
+
+    public RefreshTokenService(RefreshTokenRepository tokens, JwtService jwt, CurrentUserResolver currentUser,
+                               @Value("${app.jwt.refresh-expiration-days:14}") long ttlDays) {
+        this.tokens = tokens;
+        this.jwt = jwt;
+        this.currentUser = currentUser;
+        this.ttl = Duration.ofDays(ttlDays);
+    }
+
+    /** Access + refresh token for a freshly authenticated user (login). */
+    @Transactional
+    public TokenPair issue(AppUserPrincipal principal) {
+        User user = currentUser.reference(principal.currentUser(), User.class);
+        return new TokenPair(jwt.generateToken(principal), newRefreshToken(user));
+    }
+
+    @Transactional(noRollbackFor = ResponseStatusException.class)
+    public TokenPair refresh(String refreshToken) {
+        RefreshToken stored = tokens.findByTokenHash(hash(refreshToken))
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Invalid refresh token"));
+        Instant now = Instant.now();
+        if (stored.getExpiresAt().isBefore(now)) {
+            throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Refresh token expired");
+        }
+        if (tokens.markUsed(stored.getId(), now) == 0) {
+            tokens.deleteByUserId(stored.getUser().getId()); // replayed: kill the whole chain
+            throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Refresh token already used");
+        }
+        AppUserPrincipal principal = AppUserPrincipal.of(stored.getUser());
+        return new TokenPair(jwt.generateToken(principal), newRefreshToken(stored.getUser()));
+    }
+
+    @Scheduled(fixedDelayString = "${app.jwt.refresh-cleanup-ms:3600000}")
+    public void purgeExpired() {
+        tokens.deleteExpired(Instant.now());
+    }
+
+    private String newRefreshToken(User user) {
+        byte[] raw = new byte[32];
+        RANDOM.nextBytes(raw);
+        String token = Base64.getUrlEncoder().withoutPadding().encodeToString(raw);
+
+        var t = new RefreshToken();
+        t.setUser(user);
+        t.setTokenHash(hash(token));
+        t.setExpiresAt(Instant.now().plus(ttl));
+        tokens.save(t);
+        return token;
+    }
+
+    static String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e); // SHA-256 is mandatory on every JVM
+        }
+    }
+}
@@ -0,0 +1,4 @@
+package com.ironhack.lms.service.auth;
+
+/** Short-lived JWT access token plus the single-use refresh token that replaces it. */
+public record TokenPair(String accessToken, String refreshToken) {}
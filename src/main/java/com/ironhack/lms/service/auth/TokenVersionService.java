@@ -0,0 +1,105 @@
+package com.ironhack.lms.service.auth;
+
+import com.ironhack.lms.domain.user.TokenRevocation;
+import com.ironhack.lms.repository.user.RefreshTokenRepository;
+import com.ironhack.lms.repository.user.TokenRevocationRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.Authentication;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Per-user token versions backing forced logout. Verification only reads an in-memory snapshot
+ * of the token_revocation table; the snapshot is refreshed incrementally on a fixed delay, so
+ * revocations made on another instance take effect within one refresh interval.
+ */
+@Service
+@RequiredArgsConstructor
+public class TokenVersionService {
+
+    private final TokenRevocationRepository revocations;
+    private final RefreshTokenRepository refreshTokens;
+    private final CurrentUserResolver currentUser;
+
+    private final Map<Long, Integer> versions = new ConcurrentHashMap<>();
+    private volatile Instant lastRefresh = Instant.EPOCH;
+
+    public int currentVersion(Long userId) {
+        return versions.getOrDefault(userId, 0);
+    }
+
+    /**
+     * Version for a token being issued now, read from token_revocation rather than the snapshot:
+     * after a revocation on another instance the snapshot lags, and a token minted with the stale
+     * version would be rejected here once the next refresh caught up.
+     */
+    public int issuingVersion(Long userId) {
+        int version = revocations.findTokenVersion(userId).orElse(0);
+        versions.merge(userId, version, Math::max);
+        return version;
+    }
+
+    public boolean isCurrent(Long userId, int tokenVersion) {
+        return tokenVersion >= currentVersion(userId);
+    }
+
+    @Scheduled(fixedDelayString = "${app.jwt.revocation-refresh-ms:15000}")
+    public void refresh() {
+        Instant started = Instant.now();
+        // small overlap so rows committed while the previous refresh ran are not missed
+        for (TokenRevocation r : revocations.findByRevokedAtGreaterThanEqual(lastRefresh.minusSeconds(1))) {
+            versions.merge(r.getUserId(), r.getTokenVersion(), Math::max);
+        }
+        lastRefresh = started;
+    }
+
+    // --- Commands ---
+
+    @Transactional
+    public void logout(Authentication auth) {
+        CurrentUser me = currentUser.resolve(auth)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.UNAUTHORIZED));
+        revokeAll(me.id());
+    }
+
+    @Transactional
+    public void forceLogout(Long userId, Authentication auth) {
+        CurrentUser who = currentUser.resolve(auth)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.UNAUTHORIZED));
+        if (!who.isAdmin()) throw new ResponseStatusException(HttpStatus.FORBIDDEN);
+        revokeAll(userId);
+    }
+
+    /**
+     * Bumps the user's token version and drops their refresh tokens in one transaction. The bump is
+     * a single upsert, and the version read back is this transaction's own, as the upsert holds the
+     * row lock. The local snapshot only sees the new version once that transaction has committed,
+     * so a rollback never leaves this instance rejecting tokens the database still considers current.
+     */
+    @Transactional
+    public void revokeAll(Long userId) {
+        revocations.bumpVersion(userId, Instant.now());
+        int version = revocations.findTokenVersion(userId).orElseThrow();
+        refreshTokens.deleteByUserId(userId);
+
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            versions.merge(userId, version, Math::max);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                versions.merge(userId, version, Math::max);
+            }
+        });
+    }
+}
@@ -0,0 +1,8 @@
+package com.ironhack.lms.service.auth;
+
+import io.jsonwebtoken.Claims;
+
+import java.time.Instant;
+
+/** Result of a single successful {@link JwtService#verify(String)} parse. */
+public record VerifiedToken(String subject, Instant expiresAt, Claims claims) {}
@@ -0,0 +1,55 @@
+package com.ironhack.lms.service.course;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.ironhack.lms.domain.course.CourseChangedEvent;
+import com.ironhack.lms.web.course.dto.CourseResponse;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.function.Function;
+
+/**
+ * Pages of the public course catalog, keyed by pageable (page, size, sort). Any course change
+ * clears the whole cache: a create or publish shifts every later page, and changes are rare
+ * compared to reads. Eviction waits for the publishing transaction to commit, so a concurrent
+ * read cannot re-cache the old page between the eviction and the commit. The TTL only bounds
+ * staleness if an event is ever missed.
+ */
+@Component
+public class CatalogCache {
+
+    private final Cache<Pageable, Page<CourseResponse>> cache;
+
+    public CatalogCache(@Value("${app.courses.catalog-cache.max-size:1000}") long maxSize,
+                        @Value("${app.courses.catalog-cache.ttl-seconds:600}") long ttlSeconds,
+                        MeterRegistry registry) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(registry, cache, "courses.catalog");
+    }
+
+    public Page<CourseResponse> get(Pageable pageable, Function<Pageable, Page<CourseResponse>> loader) {
+        return cache.get(pageable, loader);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    void onCourseChanged(CourseChangedEvent event) {
+        cache.invalidateAll();
+    }
+
+    public CacheStats stats() {
+        return cache.stats();
+    }
+}
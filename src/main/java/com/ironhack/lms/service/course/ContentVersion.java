@@ -0,0 +1,21 @@
+package com.ironhack.lms.service.course;
+
+import com.ironhack.lms.domain.course.Course;
+
+import java.time.Instant;
+
+/**
+ * Version of a course's readable content (the course itself, its lessons and assignments).
+ * Handed out only after the caller passed the read check, so it doubles as proof of access.
+ */
+public record ContentVersion(Long courseId, long version, Instant updatedAt) {
+
+    static ContentVersion of(Course c) {
+        return new ContentVersion(c.getId(), c.getContentVersion(), c.getContentUpdatedAt());
+    }
+
+    /** Strong validator: the same version always serializes to the same body. */
+    public String etag(String resource) {
+        return "\"course-" + courseId + "-" + resource + "-v" + version + "\"";
+    }
+}
@@ -5,17 +5,18 @@ import com.ironhack.lms.domain.enrollment.EnrollmentStatus;
 import com.ironhack.lms.domain.user.Instructor;
 import com.ironhack.lms.domain.user.Role;
 import com.ironhack.lms.domain.user.Student;
-import com.ironhack.lms.domain.user.User;
 import com.ironhack.lms.repository.course.*;
-import com.ironhack.lms.repository.enrollment.EnrollmentRepository;
-import com.ironhack.lms.repository.user.UserRepository;
+import com.ironhack.lms.service.auth.CurrentUser;
+import com.ironhack.lms.service.auth.CurrentUserResolver;
 import com.ironhack.lms.web.course.dto.*;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
 import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.server.ResponseStatusException;
 
 import java.time.Instant;
@@ -27,26 +28,28 @@ public class CourseService {
     private final CourseRepository courses;
     private final LessonRepository lessons;
     private final AssignmentRepository assignments;
-    private final UserRepository users;
-    private final EnrollmentRepository enrollments;
+    private final CurrentUserResolver currentUser;
+    private final CatalogCache catalog;
+    private final ApplicationEventPublisher events;
 
     // --- Queries ---
 
     public Page<CourseResponse> listPublished(Pageable p) {
-        return courses.findByStatus(CourseStatus.PUBLISHED, p).map(this::toDto);
+        return catalog.get(p, page -> courses.findByStatus(CourseStatus.PUBLISHED, page).map(this::toDto));
     }
 
     public CourseResponse getForRead(Long id, Authentication auth) {
+        return getVersionedForRead(id, auth).body();
+    }
+
+    public Versioned<CourseResponse> getVersionedForRead(Long id, Authentication auth) {
         Course c = courses.findById(id).orElseThrow(() -> notFound("Course"));
-        if (c.getStatus() == CourseStatus.PUBLISHED) return toDto(c);
+        if (c.getStatus() == CourseStatus.PUBLISHED) return new Versioned<>(toDto(c), ContentVersion.of(c));
 
         // allow owner/instructor or admin to see drafts
-        if (auth != null) {
-            User u = users.findByEmail(auth.getName()).orElse(null);
-            if (u != null && (u.getRole() == Role.ADMIN ||
-                    (u.getRole() == Role.INSTRUCTOR && c.getInstructor().getId().equals(u.getId())))) {
-                return toDto(c);
-            }
+        CurrentUser u = currentUser.resolve(auth).orElse(null);
+        if (u != null && (u.isAdmin() || u.isInstructor(c.getInstructor().getId()))) {
+            return new Versioned<>(toDto(c), ContentVersion.of(c));
         }
         throw notFound("Course");
     }
@@ -54,22 +57,24 @@ public class CourseService {
     // --- Commands ---
 
     public CourseResponse createCourse(CourseCreateRequest req, Authentication auth) {
-        User u = users.findByEmail(auth.getName())
+        CurrentUser u = currentUser.resolve(auth)
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.UNAUTHORIZED));
-        if (!(u instanceof Instructor instructor))
+        if (!u.isA(Instructor.class))
             throw new ResponseStatusException(HttpStatus.FORBIDDEN, "Only instructors can create courses");
 
         Course c = new Course();
-        c.setInstructor(instructor);
+        c.setInstructor(currentUser.reference(u, Instructor.class));
         c.setTitle(req.title());
         c.setDescription(req.description());
         c.setStatus(CourseStatus.DRAFT);
         c = courses.save(c);
+        events.publishEvent(new CourseChangedEvent(c.getId()));
         return toDto(c);
     }
 
+    @Transactional
     public CourseResponse updateCourse(Long id, CourseUpdateRequest req, Authentication auth) {
-        Course c = courses.findById(id).orElseThrow(() -> notFound("Course"));
+        Course c = courses.findForContentUpdate(id).orElseThrow(() -> notFound("Course"));
         requireOwnerOrAdmin(auth, c);
 
         c.setTitle(req.title());
@@ -81,28 +86,40 @@ public class CourseService {
         if (req.status() != CourseStatus.PUBLISHED) {
             c.setPublishedAt(null);
         }
-        return toDto(courses.save(c));
+        touchContent(c);
+        c = courses.save(c);
+        events.publishEvent(new CourseChangedEvent(c.getId()));
+        return toDto(c);
     }
 
+    @Transactional
     public void deleteCourse(Long id, Authentication auth) {
         Course c = courses.findById(id).orElseThrow(() -> notFound("Course"));
         requireOwnerOrAdmin(auth, c);
+        // explicit deletes instead of the FK cascade, so cached lessons/assignments are evicted too
+        lessons.deleteByCourseId(id);
+        assignments.deleteByCourseId(id);
         courses.delete(c);
+        events.publishEvent(new CourseChangedEvent(id));
     }
 
+    @Transactional
     public Long addLesson(Long courseId, LessonCreateRequest req, Authentication auth) {
-        Course c = courses.findById(courseId).orElseThrow(() -> notFound("Course"));
+        Course c = courses.findForContentUpdate(courseId).orElseThrow(() -> notFound("Course"));
         requireOwnerOrAdmin(auth, c);
         Lesson l = new Lesson();
         l.setCourse(c);
         l.setTitle(req.title());
         l.setContentUrl(req.contentUrl());
         l.setOrderIndex(req.orderIndex());
-        return lessons.save(l).getId();
+        Long id = lessons.save(l).getId();
+        touchContent(c);
+        return id;
     }
 
+    @Transactional
     public Long addAssignment(Long courseId, AssignmentCreateRequest req, Authentication auth) {
-        Course c = courses.findById(courseId).orElseThrow(() -> notFound("Course"));
+        Course c = courses.findForContentUpdate(courseId).orElseThrow(() -> notFound("Course"));
         requireOwnerOrAdmin(auth, c);
         Assignment a = new Assignment();
         a.setCourse(c);
@@ -111,11 +128,14 @@ public class CourseService {
         a.setDueAt(req.dueAt());
         a.setMaxPoints(req.maxPoints());
         a.setAllowLate(req.allowLate());
-        return assignments.save(a).getId();
+        Long id = assignments.save(a).getId();
+        touchContent(c);
+        return id;
     }
 
+    @Transactional
     public void updateLesson(Long courseId, Long lessonId, LessonUpdateRequest req, Authentication auth) {
-        Course c = courses.findById(courseId).orElseThrow(() -> notFound("Course"));
+        Course c = courses.findForContentUpdate(courseId).orElseThrow(() -> notFound("Course"));
         requireOwnerOrAdmin(auth, c);
         Lesson l = lessons.findById(lessonId).orElseThrow(() -> notFound("Lesson"));
         if (!l.getCourse().getId().equals(courseId)) throw notFound("Lesson"); // hide cross-course
@@ -123,18 +143,22 @@ public class CourseService {
         l.setContentUrl(req.contentUrl());
         l.setOrderIndex(req.orderIndex());
         lessons.save(l);
+        touchContent(c);
     }
 
+    @Transactional
     public void deleteLesson(Long courseId, Long lessonId, Authentication auth) {
-        Course c = courses.findById(courseId).orElseThrow(() -> notFound("Course"));
+        Course c = courses.findForContentUpdate(courseId).orElseThrow(() -> notFound("Course"));
         requireOwnerOrAdmin(auth, c);
         Lesson l = lessons.findById(lessonId).orElseThrow(() -> notFound("Lesson"));
         if (!l.getCourse().getId().equals(courseId)) throw notFound("Lesson");
         lessons.delete(l);
+        touchContent(c);
     }
 
+    @Transactional
     public void updateAssignment(Long courseId, Long assignmentId, AssignmentUpdateRequest req, Authentication auth) {
-        Course c = courses.findById(courseId).orElseThrow(() -> notFound("Course"));
+        Course c = courses.findForContentUpdate(courseId).orElseThrow(() -> notFound("Course"));
         requireOwnerOrAdmin(auth, c);
         Assignment a = assignments.findById(assignmentId).orElseThrow(() -> notFound("Assignment"));
         if (!a.getCourse().getId().equals(courseId)) throw notFound("Assignment");
@@ -144,24 +168,30 @@ public class CourseService {
         a.setMaxPoints(req.maxPoints());
         a.setAllowLate(req.allowLate());
         assignments.save(a);
+        touchContent(c);
     }
 
+    @Transactional
     public void deleteAssignment(Long courseId, Long assignmentId, Authentication auth) {
-        Course c = courses.findById(courseId).orElseThrow(() -> notFound("Course"));
+        Course c = courses.findForContentUpdate(courseId).orElseThrow(() -> notFound("Course"));
         requireOwnerOrAdmin(auth, c);
         Assignment a = assignments.findById(assignmentId).orElseThrow(() -> notFound("Assignment"));
         if (!a.getCourse().getId().equals(courseId)) throw notFound("Assignment");
         assignments.delete(a);
+        touchContent(c);
     }
 
     // --- helpers ---
 
+    private void touchContent(Course c) {
+        c.touchContent(Instant.now()); // new ETag for course, lessons and assignments, flushed with the change
+    }
+
     private void requireOwnerOrAdmin(Authentication auth, Course c) {
         if (auth == null) throw new ResponseStatusException(HttpStatus.UNAUTHORIZED);
-        User u = users.findByEmail(auth.getName())
+        CurrentUser u = currentUser.resolve(auth)
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.UNAUTHORIZED));
-        boolean ok = u.getRole() == Role.ADMIN ||
-                (u.getRole() == Role.INSTRUCTOR && c.getInstructor().getId().equals(u.getId()));
+        boolean ok = u.isAdmin() || u.isInstructor(c.getInstructor().getId());
         if (!ok) throw new ResponseStatusException(HttpStatus.FORBIDDEN);
     }
 
@@ -182,89 +212,59 @@ public class CourseService {
     }
 
     public java.util.List<LessonSummaryResponse> listLessonsForRead(Long courseId, Authentication auth) {
-        Course c = courses.findById(courseId).orElseThrow(() -> notFound("Course"));
-        
-        // If course is published, check if user is enrolled or is instructor/admin
-        if (c.getStatus() == CourseStatus.PUBLISHED) {
-            if (auth != null) {
-                User u = users.findByEmail(auth.getName()).orElse(null);
-                if (u != null) {
-                    // Allow instructors and admins to see lessons
-                    if (u.getRole() == Role.ADMIN || 
-                        (u.getRole() == Role.INSTRUCTOR && c.getInstructor().getId().equals(u.getId()))) {
-                        return lessons.findByCourse_IdOrderByOrderIndexAsc(courseId).stream()
-                                .map(l -> new LessonSummaryResponse(l.getId(), l.getTitle(), l.getContentUrl(), l.getOrderIndex()))
-                                .toList();
-                    }
-                    // For students, check if enrolled
-                    if (u.getRole() == Role.STUDENT && u instanceof Student student) {
-                        // Check if student is enrolled and enrollment is active
-                        boolean isEnrolled = enrollments.existsByCourse_IdAndStudent_IdAndStatus(
-                                courseId, student.getId(), EnrollmentStatus.ACTIVE);
-                        if (!isEnrolled) {
-                            throw new ResponseStatusException(HttpStatus.FORBIDDEN, "Must be enrolled to access lessons");
-                        }
-                        return lessons.findByCourse_IdOrderByOrderIndexAsc(courseId).stream()
-                                .map(l -> new LessonSummaryResponse(l.getId(), l.getTitle(), l.getContentUrl(), l.getOrderIndex()))
-                                .toList();
-                    }
-                    // If user is not instructor/admin/student, deny access
-                    throw new ResponseStatusException(HttpStatus.FORBIDDEN, "Must be enrolled to access lessons");
-                }
-            }
-            // If not authenticated, don't allow access to lessons
-            throw new ResponseStatusException(HttpStatus.FORBIDDEN, "Must be enrolled to access lessons");
-        } else {
-            // For draft courses, only owner/instructor or admin can see
-            requireOwnerOrAdmin(auth, c);
-            return lessons.findByCourse_IdOrderByOrderIndexAsc(courseId).stream()
-                    .map(l -> new LessonSummaryResponse(l.getId(), l.getTitle(), l.getContentUrl(), l.getOrderIndex()))
-                    .toList();
-        }
+        return listLessons(lessonsVersion(courseId, auth));
     }
 
     public java.util.List<AssignmentSummaryResponse> listAssignmentsForRead(Long courseId, Authentication auth) {
-        Course c = courses.findById(courseId).orElseThrow(() -> notFound("Course"));
-        
-        // If course is published, check if user is enrolled or is instructor/admin
-        if (c.getStatus() == CourseStatus.PUBLISHED) {
-            if (auth != null) {
-                User u = users.findByEmail(auth.getName()).orElse(null);
-                if (u != null) {
-                    // Allow instructors and admins to see assignments
-                    if (u.getRole() == Role.ADMIN || 
-                        (u.getRole() == Role.INSTRUCTOR && c.getInstructor().getId().equals(u.getId()))) {
-                        return assignments.findByCourse_Id(courseId).stream()
-                                .map(a -> new AssignmentSummaryResponse(a.getId(), a.getTitle(), a.getInstructions(),
-                                        a.getMaxPoints(), a.isAllowLate(), a.getDueAt()))
-                                .toList();
-                    }
-                    // For students, check if enrolled
-                    if (u.getRole() == Role.STUDENT && u instanceof Student student) {
-                        // Check if student is enrolled and enrollment is active
-                        boolean isEnrolled = enrollments.existsByCourse_IdAndStudent_IdAndStatus(
-                                courseId, student.getId(), EnrollmentStatus.ACTIVE);
-                        if (!isEnrolled) {
-                            throw new ResponseStatusException(HttpStatus.FORBIDDEN, "Must be enrolled to access assignments");
-                        }
-                        return assignments.findByCourse_Id(courseId).stream()
-                                .map(a -> new AssignmentSummaryResponse(a.getId(), a.getTitle(), a.getInstructions(),
-                                        a.getMaxPoints(), a.isAllowLate(), a.getDueAt()))
-                                .toList();
-                    }
-                    // If user is not instructor/admin/student, deny access
-                    throw new ResponseStatusException(HttpStatus.FORBIDDEN, "Must be enrolled to access assignments");
-                }
-            }
-            // If not authenticated, don't allow access to assignments
-            throw new ResponseStatusException(HttpStatus.FORBIDDEN, "Must be enrolled to access assignments");
-        } else {
-            // For draft courses, only owner/instructor or admin can see
-            requireOwnerOrAdmin(auth, c);
-            return assignments.findByCourse_Id(courseId).stream()
-                    .map(a -> new AssignmentSummaryResponse(a.getId(), a.getTitle(), a.getInstructions(),
-                            a.getMaxPoints(), a.isAllowLate(), a.getDueAt()))
-                    .toList();
+        return listAssignments(assignmentsVersion(courseId, auth));
+    }
+
+    /** Read check only (one projection query); lets callers answer 304 without loading lessons. */
+    public ContentVersion lessonsVersion(Long courseId, Authentication auth) {
+        return requireContentAccess(courseId, auth, "lessons");
+    }
+
+    public ContentVersion assignmentsVersion(Long courseId, Authentication auth) {
+        return requireContentAccess(courseId, auth, "assignments");
+    }
+
+    public java.util.List<LessonSummaryResponse> listLessons(ContentVersion authorized) {
+        return lessons.findByCourse_IdOrderByOrderIndexAsc(authorized.courseId()).stream()
+                .map(l -> new LessonSummaryResponse(l.getId(), l.getTitle(), l.getContentUrl(), l.getOrderIndex()))
+                .toList();
+    }
+
+    public java.util.List<AssignmentSummaryResponse> listAssignments(ContentVersion authorized) {
+        return assignments.findByCourse_Id(authorized.courseId()).stream()
+                .map(a -> new AssignmentSummaryResponse(a.getId(), a.getTitle(), a.getInstructions(),
+                        a.getMaxPoints(), a.isAllowLate(), a.getDueAt()))
+                .toList();
+    }
+
+    /**
+     * Published course: owner, admin or actively enrolled student. Draft: owner or admin only.
+     * Everything needed is fetched by a single {@link CourseRepository#findAccess} projection.
+     */
+    private ContentVersion requireContentAccess(Long courseId, Authentication auth, String what) {
+        CurrentUser u = auth != null ? currentUser.resolve(auth).orElse(null) : null;
+        CourseAccess access = courses.findAccess(courseId, u != null ? u.id() : null)
+                .orElseThrow(() -> notFound("Course"));
+        boolean staff = u != null && (u.isAdmin() || u.isInstructor(access.instructorId()));
+
+        if (access.status() != CourseStatus.PUBLISHED) {
+            if (u == null) throw new ResponseStatusException(HttpStatus.UNAUTHORIZED);
+            if (!staff) throw new ResponseStatusException(HttpStatus.FORBIDDEN);
+            return version(courseId, access);
+        }
+        boolean enrolled = u != null && u.role() == Role.STUDENT && u.isA(Student.class)
+                && access.enrollmentStatus() == EnrollmentStatus.ACTIVE;
+        if (!staff && !enrolled) {
+            throw new ResponseStatusException(HttpStatus.FORBIDDEN, "Must be enrolled to access " + what);
         }
+        return version(courseId, access);
+    }
+
+    private static ContentVersion version(Long courseId, CourseAccess access) {
+        return new ContentVersion(courseId, access.contentVersion(), access.contentUpdatedAt());
     }
 }
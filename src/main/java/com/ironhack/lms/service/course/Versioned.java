@@ -0,0 +1,4 @@
+package com.ironhack.lms.service.course;
+
+/** A read result together with the content version it was built from. */
+public record Versioned<T>(T body, ContentVersion version) {}
@@ -0,0 +1,27 @@
+package com.ironhack.lms.service.enrollment;
+
+import com.ironhack.lms.domain.enrollment.EnrollmentStatus;
+import com.ironhack.lms.repository.course.AssignmentRepository;
+import com.ironhack.lms.repository.enrollment.EnrollmentRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Moves an ACTIVE enrollment to COMPLETED once every assignment of the course has a graded
+ * submission from the student. Safe to run more than once for the same pair.
+ */
+@Service
+@RequiredArgsConstructor
+public class EnrollmentCompletionService {
+
+    private final AssignmentRepository assignments;
+    private final EnrollmentRepository enrollments;
+
+    /** @return true when this call completed the enrollment */
+    @Transactional
+    public boolean evaluate(Long courseId, Long studentId) {
+        if (assignments.countUngraded(courseId, studentId) > 0) return false;
+        return enrollments.transition(courseId, studentId, EnrollmentStatus.ACTIVE, EnrollmentStatus.COMPLETED) > 0;
+    }
+}
@@ -6,11 +6,13 @@ import com.ironhack.lms.domain.enrollment.Enrollment;
 import com.ironhack.lms.domain.enrollment.EnrollmentStatus;
 import com.ironhack.lms.domain.user.Role;
 import com.ironhack.lms.domain.user.Student;
-import com.ironhack.lms.domain.user.User;
 import com.ironhack.lms.repository.course.CourseRepository;
 import com.ironhack.lms.repository.enrollment.EnrollmentRepository;
-import com.ironhack.lms.repository.user.UserRepository;
+import com.ironhack.lms.service.auth.CurrentUser;
+import com.ironhack.lms.service.auth.CurrentUserResolver;
 import com.ironhack.lms.web.enrollment.dto.EnrollmentResponse;
+import com.ironhack.lms.web.paging.CursorPage;
+import com.ironhack.lms.web.paging.KeysetCursor;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -19,60 +21,71 @@ import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Service;
 import org.springframework.web.server.ResponseStatusException;
 
+import java.util.List;
+
 @Service
 @RequiredArgsConstructor
 public class EnrollmentService {
 
     private final EnrollmentRepository enrollments;
     private final CourseRepository courses;
-    private final UserRepository users;
+    private final CurrentUserResolver currentUser;
 
     // --- Queries ---
 
     public Page<EnrollmentResponse> myEnrollments(Authentication auth, Pageable pageable) {
-        Student me = requireStudent(auth);
-        return enrollments.findByStudent_Id(me.getId(), pageable).map(this::toDto);
+        CurrentUser me = requireStudent(auth);
+        return enrollments.findResponsesByStudent(me.id(), pageable);
+    }
+
+    /** Keyset variant of {@link #myEnrollments}: ordered by (enrolledAt, id), no COUNT query. */
+    public CursorPage<EnrollmentResponse> myEnrollments(Authentication auth, KeysetCursor after, int size) {
+        CurrentUser me = requireStudent(auth);
+        List<EnrollmentResponse> rows = after == null
+                ? enrollments.findFirstByStudent(me.id(), KeysetCursor.lookahead(size))
+                : enrollments.findByStudentAfter(me.id(), after.at(), after.id(), KeysetCursor.lookahead(size));
+        return CursorPage.of(rows, size, r -> new KeysetCursor(r.enrolledAt(), r.id()), r -> r);
     }
 
     // --- Commands ---
 
     public EnrollmentResponse enroll(Long courseId, Authentication auth) {
-        Student me = requireStudent(auth);
+        CurrentUser me = requireStudent(auth);
         Course c = courses.findById(courseId).orElseThrow(() -> notFound("Course"));
 
         if (c.getStatus() != CourseStatus.PUBLISHED) {
             // hide drafts: as a student you cannot enroll into non-published courses
             throw notFound("Course");
         }
-        if (enrollments.existsByCourse_IdAndStudent_Id(courseId, me.getId())) {
+        if (enrollments.existsByCourse_IdAndStudent_Id(courseId, me.id())) {
             throw new ResponseStatusException(HttpStatus.CONFLICT, "Already enrolled");
         }
 
         Enrollment e = new Enrollment();
         e.setCourse(c);
-        e.setStudent(me);
+        e.setStudent(currentUser.reference(me, Student.class));
         e = enrollments.save(e);
         return toDto(e);
     }
 
     public EnrollmentResponse cancel(Long enrollmentId, Authentication auth) {
-        Student me = requireStudent(auth);
-        Enrollment e = enrollments.findByIdAndStudent_Id(enrollmentId, me.getId())
+        CurrentUser me = requireStudent(auth);
+        Enrollment e = enrollments.findByIdAndStudent_Id(enrollmentId, me.id())
                 .orElseThrow(() -> notFound("Enrollment"));
         e.setStatus(EnrollmentStatus.CANCELLED);
         return toDto(enrollments.save(e));
     }
 
     public EnrollmentResponse completeByStaff(Long enrollmentId, Authentication auth) {
-        var staff = users.findByEmail(auth.getName())
+        var staff = currentUser.resolve(auth)
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.UNAUTHORIZED));
 
         var e = enrollments.findById(enrollmentId)
                 .orElseThrow(() -> notFound("Enrollment"));
 
-        boolean isAdmin = staff.getRole() == Role.ADMIN;
-        boolean isOwnerInstructor = staff.getRole() == Role.INSTRUCTOR
-                && e.getCourse().getInstructor().getId().equals(staff.getId());
+        boolean isAdmin = staff.isAdmin();
+        boolean isOwnerInstructor = staff.role() == Role.INSTRUCTOR
+                && e.getCourse().getInstructor().getId().equals(staff.id());
 
         if (!isAdmin && !isOwnerInstructor) {
             throw new ResponseStatusException(HttpStatus.FORBIDDEN);
@@ -84,14 +97,14 @@ public class EnrollmentService {
 
     // --- helpers ---
 
-    private Student requireStudent(Authentication auth) {
+    private CurrentUser requireStudent(Authentication auth) {
         if (auth == null) throw new ResponseStatusException(HttpStatus.UNAUTHORIZED);
-        User u = users.findByEmail(auth.getName())
+        CurrentUser u = currentUser.resolve(auth)
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.UNAUTHORIZED));
-        if (u.getRole() != Role.STUDENT || !(u instanceof Student s)) {
+        if (u.role() != Role.STUDENT || !u.isA(Student.class)) {
             throw new ResponseStatusException(HttpStatus.FORBIDDEN, "Only students can enroll");
         }
-        return s;
+        return u;
     }
 
     private ResponseStatusException notFound(String what) {
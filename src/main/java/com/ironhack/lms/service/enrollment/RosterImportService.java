@@ -0,0 +1,181 @@
+package com.ironhack.lms.service.enrollment;
+
+import com.ironhack.lms.domain.course.Course;
+import com.ironhack.lms.domain.enrollment.Enrollment;
+import com.ironhack.lms.domain.user.Role;
+import com.ironhack.lms.domain.user.Student;
+import com.ironhack.lms.repository.course.CourseRepository;
+import com.ironhack.lms.repository.enrollment.EnrollmentRepository;
+import com.ironhack.lms.repository.user.StudentKey;
+import com.ironhack.lms.repository.user.UserRepository;
+import com.ironhack.lms.service.auth.CurrentUser;
+import com.ironhack.lms.service.auth.CurrentUserResolver;
+import com.ironhack.lms.web.enrollment.dto.RosterImportResponse;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.core.Authentication;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Enrolls a cohort from a CSV whose first column is a student email or student number.
+ * The body is read line by line and handled in chunks: each chunk resolves its students with
+ * IN queries, drops pairs that already exist (what {@code uq_enroll} would reject) and inserts
+ * the rest as one JDBC batch in its own transaction. Memory stays flat however long the file is.
+ */
+@Service
+@RequiredArgsConstructor
+public class RosterImportService {
+
+    static final int CHUNK_SIZE = 500;
+    static final int MAX_REPORTED_UNKNOWN = 100;
+
+    private final EnrollmentRepository enrollments;
+    private final CourseRepository courses;
+    private final UserRepository users;
+    private final CurrentUserResolver currentUser;
+    private final EntityManager em;
+    private final TransactionTemplate tx;
+
+    public RosterImportResponse importRoster(Long courseId, InputStream csv, Authentication auth) {
+        requireCourseStaff(courseId, auth);
+
+        Tally tally = new Tally();
+        List<String> chunk = new ArrayList<>(CHUNK_SIZE);
+        try (var reader = new BufferedReader(new InputStreamReader(csv, StandardCharsets.UTF_8))) {
+            boolean first = true;
+            String line;
+            while ((line = reader.readLine()) != null) {
+                String key = firstField(line);
+                if (first && isHeader(key)) {
+                    first = false;
+                    continue;
+                }
+                first = false;
+                if (key.isEmpty()) continue;
+                tally.lines++;
+                chunk.add(key);
+                if (chunk.size() == CHUNK_SIZE) {
+                    importChunk(courseId, chunk, tally);
+                    chunk.clear();
+                }
+            }
+        } catch (IOException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Could not read roster");
+        }
+        if (!chunk.isEmpty()) importChunk(courseId, chunk, tally);
+        return tally.toResponse();
+    }
+
+    private void importChunk(Long courseId, List<String> keys, Tally tally) {
+        tx.executeWithoutResult(status -> {
+            Map<String, Long> ids = resolve(keys);
+
+            Set<Long> studentIds = new LinkedHashSet<>();
+            for (String key : keys) {
+                Long id = ids.get(lookupKey(key));
+                if (id == null) tally.unknown(key);
+                else if (!studentIds.add(id)) tally.duplicates++;
+            }
+            if (studentIds.isEmpty()) return;
+
+            // earlier chunks are committed, so a repeat in a later chunk counts as already enrolled
+            Set<Long> existing = enrollments.findEnrolledStudentIds(courseId, studentIds);
+            Course course = em.getReference(Course.class, courseId);
+            List<Enrollment> batch = new ArrayList<>(studentIds.size());
+            for (Long id : studentIds) {
+                if (existing.contains(id)) {
+                    tally.alreadyEnrolled++;
+                    continue;
+                }
+                Enrollment e = new Enrollment();
+                e.setCourse(course);
+                e.setStudent(em.getReference(Student.class, id));
+                batch.add(e);
+            }
+            enrollments.saveAll(batch);
+            tally.enrolled += batch.size();
+        });
+    }
+
+    private Map<String, Long> resolve(List<String> keys) {
+        Set<String> emails = new LinkedHashSet<>();
+        Set<String> numbers = new LinkedHashSet<>();
+        for (String key : keys) (isEmail(key) ? emails : numbers).add(lookupKey(key));
+
+        Map<String, Long> ids = new HashMap<>();
+        if (!emails.isEmpty()) {
+            for (StudentKey k : users.findStudentKeysByEmail(emails)) ids.put(lookupKey(k.email()), k.id());
+        }
+        if (!numbers.isEmpty()) {
+            for (StudentKey k : users.findStudentKeysByNumber(numbers)) ids.put(k.studentNumber(), k.id());
+        }
+        return ids;
+    }
+
+    private static boolean isEmail(String key) {
+        return key.indexOf('@') >= 0;
+    }
+
+    /** Emails are matched case-insensitively (rosters are often typed by hand); numbers exactly. */
+    private static String lookupKey(String key) {
+        return isEmail(key) ? key.toLowerCase(Locale.ROOT) : key;
+    }
+
+    private void requireCourseStaff(Long courseId, Authentication auth) {
+        if (auth == null) throw new ResponseStatusException(HttpStatus.UNAUTHORIZED);
+        CurrentUser who = currentUser.resolve(auth)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.UNAUTHORIZED));
+        if (!courses.existsById(courseId)) throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Course not found");
+        boolean owner = who.role() == Role.INSTRUCTOR && courses.existsByIdAndInstructor_Id(courseId, who.id());
+        if (!who.isAdmin() && !owner) throw new ResponseStatusException(HttpStatus.FORBIDDEN);
+    }
+
+    /** First comma-separated field, trimmed and unquoted. */
+    static String firstField(String line) {
+        int comma = line.indexOf(',');
+        String field = (comma >= 0 ? line.substring(0, comma) : line).strip();
+        if (field.length() >= 2 && field.startsWith("\"") && field.endsWith("\"")) {
+            field = field.substring(1, field.length() - 1).strip();
+        }
+        return field.startsWith("\uFEFF") ? field.substring(1) : field; // UTF-8 BOM from spreadsheet exports
+    }
+
+    private static boolean isHeader(String key) {
+        return key.equalsIgnoreCase("email") || key.equalsIgnoreCase("student_number")
+                || key.equalsIgnoreCase("studentNumber");
+    }
+
+    private static final class Tally {
+        int lines;
+        int enrolled;
+        int alreadyEnrolled;
+        int duplicates;
+        int unknown;
+        final List<String> unknownSample = new ArrayList<>();
+
+        void unknown(String key) {
+            unknown++;
+            if (unknownSample.size() < MAX_REPORTED_UNKNOWN) unknownSample.add(key);
+        }
+
+        RosterImportResponse toResponse() {
+            return new RosterImportResponse(lines, enrolled, alreadyEnrolled, duplicates, unknown, List.copyOf(unknownSample));
+        }
+    }
+}
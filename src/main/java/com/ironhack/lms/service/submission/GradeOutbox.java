@@ -0,0 +1,34 @@
+package com.ironhack.lms.service.submission;
+
+import com.ironhack.lms.domain.submission.GradeEvent;
+import com.ironhack.lms.domain.submission.Submission;
+import com.ironhack.lms.repository.submission.GradeEventRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/** Writes grade events in the caller's transaction; GradeOutboxRelay handles them later. */
+@Component
+@RequiredArgsConstructor
+public class GradeOutbox {
+
+    private final GradeEventRepository events;
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void graded(Submission s) {
+        events.save(GradeEvent.of(s));
+    }
+
+    /** One event per student: completion is evaluated per enrollment, not per submission. */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void graded(Collection<Submission> graded) {
+        Map<Long, GradeEvent> perStudent = new LinkedHashMap<>();
+        for (Submission s : graded) perStudent.putIfAbsent(s.getStudent().getId(), GradeEvent.of(s));
+        events.saveAll(perStudent.values());
+    }
+}
@@ -0,0 +1,110 @@
+package com.ironhack.lms.service.submission;
+
+import com.ironhack.lms.domain.submission.GradeEvent;
+import com.ironhack.lms.repository.submission.GradeEventRepository;
+import com.ironhack.lms.service.enrollment.EnrollmentCompletionService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Drains the grade_event outbox off the request path. A scheduled poll picks up due events and
+ * fans them out to a small worker pool; each event is handled and deleted in its own
+ * transaction, so one failure only delays that event (exponential backoff, capped attempts).
+ * <p>
+ * Handlers are idempotent (re-evaluating a completed enrollment is a no-op), which makes
+ * at-least-once delivery enough: an event handled twice by two instances does no harm.
+ */
+@Component
+public class GradeOutboxRelay {
+
+    private static final Duration MAX_BACKOFF = Duration.ofMinutes(10);
+
+    private final GradeEventRepository events;
+    private final EnrollmentCompletionService completion;
+    private final TransactionTemplate tx;
+    private final ExecutorService workers;
+    private final boolean enabled;
+    private final int batchSize;
+    private final int maxAttempts;
+
+    public GradeOutboxRelay(GradeEventRepository events, EnrollmentCompletionService completion,
+                            PlatformTransactionManager txManager, MeterRegistry registry,
+                            @Value("${app.grading.outbox.enabled:true}") boolean enabled,
+                            @Value("${app.grading.outbox.workers:4}") int workers,
+                            @Value("${app.grading.outbox.batch-size:100}") int batchSize,
+                            @Value("${app.grading.outbox.max-attempts:10}") int maxAttempts) {
+        this.events = events;
+        this.completion = completion;
+        this.tx = new TransactionTemplate(txManager);
+        this.workers = ExecutorServiceMetrics.monitor(registry,
+                Executors.newFixedThreadPool(workers, new CustomizableThreadFactory("grade-outbox-")), "grading.outbox");
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+    }
+
+    @Scheduled(fixedDelayString = "${app.grading.outbox.poll-ms:1000}")
+    public void poll() {
+        if (enabled) drain();
+    }
+
+    /** Handles due events until none are left; returns how many were handled successfully. */
+    public int drain() {
+        int handled = 0;
+        while (true) {
+            List<GradeEvent> due = events.findDue(Instant.now(), maxAttempts, Limit.of(batchSize));
+            if (due.isEmpty()) return handled;
+            List<Callable<Boolean>> tasks = due.stream().<Callable<Boolean>>map(e -> () -> handle(e)).toList();
+            try {
+                for (var done : workers.invokeAll(tasks)) {
+                    if (done.get()) handled++;
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return handled;
+            } catch (ExecutionException e) {
+                throw new IllegalStateException(e.getCause()); // handle() catches its own failures
+            }
+            if (due.size() < batchSize) return handled;
+        }
+    }
+
+    private boolean handle(GradeEvent e) {
+        try {
+            tx.executeWithoutResult(status -> {
+                completion.evaluate(e.getCourseId(), e.getStudentId());
+                events.deleteNow(e.getId());
+            });
+            return true;
+        } catch (RuntimeException ex) {
+            // the row keeps the last error; after max-attempts it is left for inspection
+            long backoff = Math.min(1L << Math.min(e.getAttempts() + 1, 20), MAX_BACKOFF.toSeconds());
+            Instant retryAt = Instant.now().plusSeconds(backoff);
+            String error = String.valueOf(ex.getMessage());
+            tx.executeWithoutResult(status ->
+                    events.markFailed(e.getId(), retryAt, error.length() > 500 ? error.substring(0, 500) : error));
+            return false;
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        workers.shutdown();
+    }
+}
@@ -0,0 +1,154 @@
+package com.ironhack.lms.service.submission;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.ironhack.lms.domain.user.Role;
+import com.ironhack.lms.repository.course.CourseRepository;
+import com.ironhack.lms.repository.submission.GradebookRow;
+import com.ironhack.lms.service.auth.CurrentUser;
+import com.ironhack.lms.service.auth.CurrentUserResolver;
+import jakarta.persistence.EntityManager;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.core.Authentication;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.stream.Stream;
+
+/**
+ * Streams every submission of a course straight from a forward-only result set to the response.
+ * Rows are DTO projections (nothing enters the persistence context) and are written as they
+ * arrive, so heap use does not depend on how many submissions the course has.
+ * <p>
+ * The fetch size is applied to this query only: on MySQL, {@code Integer.MIN_VALUE} makes
+ * Connector/J stream rows one at a time instead of buffering the whole result set, without
+ * switching every other query of the application to server-side cursors.
+ */
+@Service
+public class GradebookExportService {
+
+    public enum Format { CSV, NDJSON }
+
+    static final String CSV_HEADER = "submission_id,assignment_id,assignment_title,max_points,student_id,"
+            + "student_email,student_name,student_number,submitted_at,status,score,version";
+
+    // forward-only scroll in idx_submission_course_seek order
+    private static final String GRADEBOOK_QUERY = """
+            select new com.ironhack.lms.repository.submission.GradebookRow(
+                s.id, a.id, a.title, a.maxPoints, st.id, st.email, st.fullName, st.studentNumber,
+                s.submittedAt, s.status, s.score, s.version)
+            from Submission s join s.assignment a join s.student st
+            where s.courseId = :courseId
+            order by s.submittedAt, s.id""";
+
+    private final EntityManager em;
+    private final CourseRepository courses;
+    private final CurrentUserResolver currentUser;
+    private final TransactionTemplate readOnlyTx;
+    private final ObjectWriter json;
+    private final int fetchSize;
+    private final long timeoutMs;
+
+    public GradebookExportService(EntityManager em, CourseRepository courses,
+                                  CurrentUserResolver currentUser, PlatformTransactionManager txManager,
+                                  ObjectMapper mapper,
+                                  @Value("${app.gradebook.export.fetch-size:1000}") int fetchSize,
+                                  @Value("${app.gradebook.export.timeout-ms:600000}") long timeoutMs) {
+        this.em = em;
+        this.courses = courses;
+        this.currentUser = currentUser;
+        this.readOnlyTx = new TransactionTemplate(txManager);
+        this.readOnlyTx.setReadOnly(true);
+        this.json = mapper.writerFor(GradebookRow.class);
+        this.fetchSize = fetchSize;
+        this.timeoutMs = timeoutMs;
+    }
+
+    /** Async timeout for an export request; large courses take far longer than a normal request. */
+    public long timeoutMs() {
+        return timeoutMs;
+    }
+
+    /**
+     * Checks access on the request thread and returns the body to stream. The body opens its own
+     * read-only transaction, because it runs after the controller method has returned.
+     */
+    public StreamingResponseBody export(Long courseId, Format format, Authentication auth) {
+        requireCourseStaff(courseId, auth);
+        return out -> {
+            Writer w = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 64 * 1024);
+            readOnlyTx.executeWithoutResult(status -> {
+                try (Stream<GradebookRow> rows = em.createQuery(GRADEBOOK_QUERY, GradebookRow.class)
+                        .setParameter("courseId", courseId)
+                        .setHint(HibernateHints.HINT_FETCH_SIZE, fetchSize)
+                        .getResultStream()) {
+                    if (format == Format.CSV) writeLine(w, CSV_HEADER);
+                    rows.forEach(r -> writeLine(w, format == Format.CSV ? csv(r) : ndjson(r)));
+                }
+            });
+            w.flush();
+        };
+    }
+
+    private void requireCourseStaff(Long courseId, Authentication auth) {
+        if (auth == null) throw new ResponseStatusException(HttpStatus.UNAUTHORIZED);
+        CurrentUser who = currentUser.resolve(auth)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.UNAUTHORIZED));
+        if (who.isAdmin()) return;
+        if (who.role() != Role.INSTRUCTOR || !courses.existsByIdAndInstructor_Id(courseId, who.id())) {
+            throw new ResponseStatusException(HttpStatus.FORBIDDEN);
+        }
+    }
+
+    private String ndjson(GradebookRow r) {
+        try {
+            return json.writeValueAsString(r);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    static String csv(GradebookRow r) {
+        return String.join(",",
+                String.valueOf(r.submissionId()),
+                String.valueOf(r.assignmentId()),
+                csvField(r.assignmentTitle()),
+                String.valueOf(r.maxPoints()),
+                String.valueOf(r.studentId()),
+                csvField(r.studentEmail()),
+                csvField(r.studentName()),
+                csvField(r.studentNumber()),
+                r.submittedAt() == null ? "" : r.submittedAt().toString(),
+                r.status() == null ? "" : r.status().name(),
+                r.score() == null ? "" : r.score().toString(),
+                String.valueOf(r.version()));
+    }
+
+    /** RFC 4180 quoting; leading formula characters are defused for spreadsheet apps. */
+    static String csvField(String value) {
+        if (value == null || value.isEmpty()) return "";
+        String v = "=+-@".indexOf(value.charAt(0)) >= 0 ? "'" + value : value;
+        if (v.indexOf(',') < 0 && v.indexOf('"') < 0 && v.indexOf('\n') < 0 && v.indexOf('\r') < 0) return v;
+        return '"' + v.replace("\"", "\"\"") + '"';
+    }
+
+    private static void writeLine(Writer w, String line) {
+        try {
+            w.write(line);
+            w.write('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e); // client went away: abort the scroll
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.ironhack.lms.service.submission;
+
+import com.ironhack.lms.domain.submission.Submission;
+import com.ironhack.lms.domain.submission.SubmissionStatus;
+import com.ironhack.lms.repository.submission.AssignmentStatsRepository;
+import com.ironhack.lms.web.submission.dto.AssignmentStatsResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Keeps {@code assignment_stats} in step with submissions. Callers take a {@link Contribution}
+ * before and after changing a submission and record the difference in the same transaction;
+ * the database adds it atomically. The "before" snapshot is only accurate if the submission row
+ * is locked while it is read ({@code SubmissionRepository.findForGrading} and
+ * {@code findForSubmitting}); otherwise two concurrent writers both start from the same state
+ * and the delta is applied twice or against the wrong status.
+ */
+@Component
+@RequiredArgsConstructor
+public class GradebookStats {
+
+    private final AssignmentStatsRepository stats;
+
+    /** What one submission adds to its assignment's totals. */
+    public record Contribution(int submissions, int graded, long score) {
+
+        public static final Contribution NONE = new Contribution(0, 0, 0);
+
+        public static Contribution of(Submission s) {
+            boolean graded = s.getStatus() == SubmissionStatus.GRADED && s.getScore() != null;
+            return new Contribution(1, graded ? 1 : 0, graded ? s.getScore() : 0);
+        }
+
+        public Contribution plus(Contribution o) {
+            return new Contribution(submissions + o.submissions, graded + o.graded, score + o.score);
+        }
+
+        public Contribution minus(Contribution o) {
+            return new Contribution(submissions - o.submissions, graded - o.graded, score - o.score);
+        }
+
+        boolean isZero() {
+            return submissions == 0 && graded == 0 && score == 0;
+        }
+    }
+
+    public void record(Long assignmentId, Long courseId, Contribution before, Contribution after) {
+        apply(assignmentId, courseId, after.minus(before));
+    }
+
+    public void apply(Long assignmentId, Long courseId, Contribution delta) {
+        if (delta.isZero()) return;
+        stats.applyDelta(assignmentId, courseId, delta.submissions(), delta.graded(), delta.score());
+    }
+
+    public List<AssignmentStatsResponse> forCourse(Long courseId) {
+        return stats.findCourseStats(courseId);
+    }
+}
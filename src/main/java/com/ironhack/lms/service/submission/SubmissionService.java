@@ -9,7 +9,10 @@ import com.ironhack.lms.repository.course.AssignmentRepository;
 import com.ironhack.lms.repository.course.CourseRepository;
 import com.ironhack.lms.repository.enrollment.EnrollmentRepository;
 import com.ironhack.lms.repository.submission.SubmissionRepository;
-import com.ironhack.lms.repository.user.UserRepository;
+import com.ironhack.lms.service.auth.CurrentUser;
+import com.ironhack.lms.service.auth.CurrentUserResolver;
+import com.ironhack.lms.web.paging.CursorPage;
+import com.ironhack.lms.web.paging.KeysetCursor;
 import com.ironhack.lms.web.submission.dto.*;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
@@ -21,6 +24,14 @@ import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.server.ResponseStatusException;
 
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Transactional(readOnly = true)
 @Service
@@ -30,14 +41,16 @@ public class SubmissionService {
     private final SubmissionRepository submissions;
     private final AssignmentRepository assignments;
     private final EnrollmentRepository enrollments;
-    private final UserRepository users;
     private final CourseRepository courses;
+    private final CurrentUserResolver currentUser;
+    private final GradebookStats gradebookStats;
+    private final GradeOutbox gradeOutbox;
 
     // ----- Student actions -----
 
     @Transactional
     public SubmissionResponse submit(Long assignmentId, SubmissionCreateRequest req, Authentication auth) {
-        Student me = requireStudent(auth);
+        CurrentUser me = requireStudent(auth);
 
         Assignment a = assignments.findById(assignmentId)
                 .orElseThrow(() -> notFound("Assignment"));
@@ -48,7 +61,7 @@ public class SubmissionService {
             throw notFound("Assignment");
         }
         // Must be enrolled & active
-        boolean enrolled = enrollments.existsByCourse_IdAndStudent_Id(c.getId(), me.getId());
+        boolean enrolled = enrollments.existsByCourse_IdAndStudent_Id(c.getId(), me.id());
         if (!enrolled) throw new ResponseStatusException(HttpStatus.FORBIDDEN, "Not enrolled in this course");
 
         // Due date + late policy
@@ -56,11 +69,13 @@ public class SubmissionService {
             throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Assignment is past due and late submissions are disabled");
         }
 
-        Submission s = submissions.findByAssignment_IdAndStudent_Id(assignmentId, me.getId())
+        Submission s = submissions.findForSubmitting(assignmentId, me.id())
                 .orElseGet(Submission::new);
+        var before = s.getId() == null ? GradebookStats.Contribution.NONE : GradebookStats.Contribution.of(s);
 
         s.setAssignment(a);
-        s.setStudent(me);
+        s.setCourseId(c.getId());
+        s.setStudent(currentUser.reference(me, Student.class));
         s.setArtifactUrl(req.artifactUrl());
         s.setSubmittedAt(Instant.now());
         s.setStatus(SubmissionStatus.SUBMITTED);
@@ -69,26 +84,47 @@ public class SubmissionService {
         s.setVersion(s.getId() == null ? 1 : s.getVersion() + 1);
 
         s = submissions.save(s);
+        gradebookStats.record(a.getId(), c.getId(), before, GradebookStats.Contribution.of(s));
         return toDto(s);
     }
 
     public Page<SubmissionResponse> mySubmissions(Authentication auth, Pageable pageable) {
-        Student me = requireStudent(auth);
-        return submissions.findByStudent_Id(me.getId(), pageable).map(this::toDto);
+        CurrentUser me = requireStudent(auth);
+        return submissions.findResponsesByStudent(me.id(), pageable);
     }
 
     // ----- Instructor/Admin actions -----
 
     public Page<SubmissionResponse> listByCourse(Long courseId, Authentication auth, Pageable pageable) {
-        User who = requireAuth(auth);
+        CurrentUser who = requireAuth(auth);
         if (!canAccessCourseSubmissions(who, courseId)) throw new ResponseStatusException(HttpStatus.FORBIDDEN);
-        return submissions.findByAssignment_Course_Id(courseId, pageable).map(this::toDto);
+        return submissions.findResponsesByCourse(courseId, pageable);
+    }
+
+    /** Keyset variant of {@link #listByCourse}: ordered by (submittedAt, id), no COUNT query. */
+    public CursorPage<SubmissionResponse> listByCourse(Long courseId, Authentication auth, KeysetCursor after, int size) {
+        CurrentUser who = requireAuth(auth);
+        if (!canAccessCourseSubmissions(who, courseId)) throw new ResponseStatusException(HttpStatus.FORBIDDEN);
+        List<SubmissionResponse> rows = after == null
+                ? submissions.findFirstByCourse(courseId, KeysetCursor.lookahead(size))
+                : submissions.findByCourseAfter(courseId, after.at(), after.id(), KeysetCursor.lookahead(size));
+        return CursorPage.of(rows, size, r -> new KeysetCursor(r.submittedAt(), r.id()), r -> r);
+    }
+
+    /** Per-assignment totals from assignment_stats: one query per course, however many submissions. */
+    public CourseStatsResponse courseStats(Long courseId, Authentication auth) {
+        CurrentUser who = requireAuth(auth);
+        if (!canAccessCourseSubmissions(who, courseId)) throw new ResponseStatusException(HttpStatus.FORBIDDEN);
+        List<AssignmentStatsResponse> perAssignment = gradebookStats.forCourse(courseId);
+        int submitted = perAssignment.stream().mapToInt(AssignmentStatsResponse::submissionCount).sum();
+        int graded = perAssignment.stream().mapToInt(AssignmentStatsResponse::gradedCount).sum();
+        return new CourseStatsResponse(courseId, submitted, graded, perAssignment);
     }
 
     @Transactional
     public SubmissionResponse grade(Long submissionId, GradeRequest req, Authentication auth) {
-        User who = requireAuth(auth);
-        Submission s = submissions.findById(submissionId).orElseThrow(() -> notFound("Submission"));
+        CurrentUser who = requireAuth(auth);
+        Submission s = submissions.findForGrading(submissionId).orElseThrow(() -> notFound("Submission"));
         if (!canAccessCourseSubmissions(who, s.getAssignment().getCourse().getId()))
             throw new ResponseStatusException(HttpStatus.FORBIDDEN);
 
@@ -96,48 +132,102 @@ public class SubmissionService {
         if (req.score() < 0 || req.score() > max) {
             throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Score must be between 0 and " + max);
         }
+        var before = GradebookStats.Contribution.of(s);
         s.setScore(req.score());
         s.setFeedback(req.feedback());
         s.setStatus(SubmissionStatus.GRADED);
         s = submissions.save(s);
-
-        // Optional: trigger completion evaluation here (future iteration)
+        gradebookStats.record(s.getAssignment().getId(), s.getCourseId(), before, GradebookStats.Contribution.of(s));
+        gradeOutbox.graded(s); // completion is evaluated asynchronously by GradeOutboxRelay
         return toDto(s);
     }
 
+    /**
+     * Grades many submissions of one course in a single transaction: ownership is checked once,
+     * the submissions are loaded and locked in one query and scores are validated in memory. Items that
+     * cannot be applied are reported instead of failing the batch; the applied ones are flushed
+     * as JDBC batch updates on commit.
+     */
+    @Transactional
+    public List<BulkGradeResult> gradeBatch(Long courseId, BulkGradeRequest req, Authentication auth) {
+        CurrentUser who = requireAuth(auth);
+        if (!canAccessCourseSubmissions(who, courseId)) throw new ResponseStatusException(HttpStatus.FORBIDDEN);
+
+        Set<Long> ids = req.grades().stream().map(BulkGradeItem::submissionId).collect(Collectors.toSet());
+        Map<Long, Submission> byId = submissions.findForGrading(courseId, ids).stream()
+                .collect(Collectors.toMap(Submission::getId, Function.identity()));
+
+        Set<Long> seen = new HashSet<>();
+        Map<Long, GradebookStats.Contribution> deltas = new HashMap<>();
+        List<Submission> graded = new ArrayList<>();
+        List<BulkGradeResult> results = new ArrayList<>(req.grades().size());
+        for (BulkGradeItem item : req.grades()) {
+            Long id = item.submissionId();
+            if (!seen.add(id)) {
+                results.add(BulkGradeResult.skipped(id, BulkGradeResult.Outcome.DUPLICATE,
+                        "Submission appears more than once in the batch"));
+                continue;
+            }
+            Submission s = byId.get(id);
+            if (s == null) {
+                results.add(BulkGradeResult.skipped(id, BulkGradeResult.Outcome.NOT_FOUND, "Submission not found"));
+                continue;
+            }
+            int max = s.getAssignment().getMaxPoints();
+            if (item.score() < 0 || item.score() > max) {
+                results.add(BulkGradeResult.skipped(id, BulkGradeResult.Outcome.INVALID_SCORE,
+                        "Score must be between 0 and " + max));
+                continue;
+            }
+            var before = GradebookStats.Contribution.of(s);
+            s.setScore(item.score());
+            s.setFeedback(item.feedback());
+            s.setStatus(SubmissionStatus.GRADED);
+            deltas.merge(s.getAssignment().getId(), GradebookStats.Contribution.of(s).minus(before),
+                    GradebookStats.Contribution::plus);
+            graded.add(s);
+            results.add(BulkGradeResult.graded(id));
+        }
+        deltas.forEach((assignmentId, delta) -> gradebookStats.apply(assignmentId, courseId, delta));
+        if (!graded.isEmpty()) gradeOutbox.graded(graded);
+        return results;
+    }
+
     @Transactional
     public SubmissionResponse requestResubmission(Long submissionId, ResubmitRequest req, Authentication auth) {
-        User who = requireAuth(auth);
-        Submission s = submissions.findById(submissionId).orElseThrow(() -> notFound("Submission"));
+        CurrentUser who = requireAuth(auth);
+        Submission s = submissions.findForGrading(submissionId).orElseThrow(() -> notFound("Submission"));
         if (!canAccessCourseSubmissions(who, s.getAssignment().getCourse().getId()))
             throw new ResponseStatusException(HttpStatus.FORBIDDEN);
 
+        var before = GradebookStats.Contribution.of(s);
         s.setStatus(SubmissionStatus.RESUBMIT_REQUESTED);
         s.setFeedback(req.feedback());
         s = submissions.save(s);
+        gradebookStats.record(s.getAssignment().getId(), s.getCourseId(), before, GradebookStats.Contribution.of(s));
         return toDto(s);
     }
 
     // ----- helpers -----
 
-    private Student requireStudent(Authentication auth) {
-        User u = requireAuth(auth);
-        if (u.getRole() != Role.STUDENT || !(u instanceof Student s)) {
+    private CurrentUser requireStudent(Authentication auth) {
+        CurrentUser u = requireAuth(auth);
+        if (u.role() != Role.STUDENT || !u.isA(Student.class)) {
             throw new ResponseStatusException(HttpStatus.FORBIDDEN, "Only students can submit");
         }
-        return s;
+        return u;
     }
 
-    private User requireAuth(Authentication auth) {
+    private CurrentUser requireAuth(Authentication auth) {
         if (auth == null) throw new ResponseStatusException(HttpStatus.UNAUTHORIZED);
-        return users.findByEmail(auth.getName())
+        return currentUser.resolve(auth)
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.UNAUTHORIZED));
     }
 
-    private boolean canAccessCourseSubmissions(User who, Long courseId) {
-        return who.getRole() == Role.ADMIN ||
-                (who.getRole() == Role.INSTRUCTOR &&
-                        courses.existsByIdAndInstructor_Id(courseId, who.getId()));
+    private boolean canAccessCourseSubmissions(CurrentUser who, Long courseId) {
+        return who.isAdmin() ||
+                (who.role() == Role.INSTRUCTOR &&
+                        courses.existsByIdAndInstructor_Id(courseId, who.id()));
     }
 
     private ResponseStatusException notFound(String what) {
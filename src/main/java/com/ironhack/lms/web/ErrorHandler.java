@@ -1,11 +1,17 @@
 package com.ironhack.lms.web;
 
+import com.ironhack.lms.service.auth.LoginThrottledException;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.DataAccessResourceFailureException;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ProblemDetail;
+import org.springframework.http.ResponseEntity;
 import org.springframework.http.converter.HttpMessageNotReadableException;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.core.AuthenticationException;
+import org.springframework.transaction.CannotCreateTransactionException;
 import org.springframework.validation.BindException;
 import org.springframework.web.ErrorResponseException;
 import org.springframework.web.bind.MethodArgumentNotValidException;
@@ -17,6 +23,7 @@ import jakarta.validation.ConstraintViolationException;
 import org.springframework.web.server.ResponseStatusException;
 
 import java.net.URI;
+import java.sql.SQLTransientConnectionException;
 import java.util.LinkedHashMap;
 import java.util.Map;
 
@@ -80,6 +87,16 @@ public class ErrorHandler {
         return pd;
     }
 
+    // Hikari gave up waiting for a connection: the pool, not the request, is the problem
+    @ExceptionHandler({CannotCreateTransactionException.class, DataAccessResourceFailureException.class})
+    public ResponseEntity<ProblemDetail> handleConnectionFailure(RuntimeException ex) {
+        if (!(NestedExceptionUtils.getMostSpecificCause(ex) instanceof SQLTransientConnectionException)) {
+            return ResponseEntity.internalServerError().body(handleGeneric(ex));
+        }
+        ProblemDetail pd = ProblemDetail.forStatusAndDetail(HttpStatus.SERVICE_UNAVAILABLE, "Database busy, retry shortly");
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).header(HttpHeaders.RETRY_AFTER, "1").body(pd);
+    }
+
     @ExceptionHandler(ErrorResponseException.class)
     public ProblemDetail handleSpringErrors(ErrorResponseException ex) {
         return ex.getBody();
@@ -96,6 +113,13 @@ public class ErrorHandler {
         return ProblemDetail.forStatusAndDetail(HttpStatus.FORBIDDEN, "Forbidden");
     }
 
+    @ExceptionHandler(LoginThrottledException.class)
+    public ResponseEntity<ProblemDetail> handleLoginThrottled(LoginThrottledException ex) {
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, Long.toString(ex.getRetryAfterSeconds()))
+                .body(ex.getBody());
+    }
+
     @ExceptionHandler(ResponseStatusException.class)
     public ProblemDetail handleResponseStatus(ResponseStatusException ex) {
         // Preserve the status set by your service/controller (e.g., FORBIDDEN, NOT_FOUND, CONFLICT)
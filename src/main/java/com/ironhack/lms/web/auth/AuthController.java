@@ -1,20 +1,28 @@
 package com.ironhack.lms.web.auth;
 
-import com.ironhack.lms.service.auth.JwtService;
+import com.ironhack.lms.service.auth.AppUserPrincipal;
+import com.ironhack.lms.service.auth.LoginExecutor;
+import com.ironhack.lms.service.auth.LoginThrottle;
+import com.ironhack.lms.service.auth.RefreshTokenService;
+import com.ironhack.lms.service.auth.TokenPair;
+import com.ironhack.lms.service.auth.TokenVersionService;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.ExampleObject;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.annotation.security.RolesAllowed;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.*;
 
 @RestController
@@ -24,11 +32,14 @@ import org.springframework.web.bind.annotation.*;
 public class AuthController {
 
     private final AuthenticationManager authManager;
-    private final JwtService jwt;
+    private final RefreshTokenService refreshTokens;
+    private final TokenVersionService tokenVersions;
+    private final LoginExecutor loginExecutor;
+    private final LoginThrottle loginThrottle;
 
     @Operation(
             summary = "User Login",
-            description = "Authenticate a user with email and password credentials. Returns a JWT token for subsequent API calls.",
+            description = "Authenticate a user with email and password credentials. Returns a short-lived JWT token for subsequent API calls and a refresh token to renew it.",
             operationId = "login"
     )
     @ApiResponses(value = {
@@ -65,13 +76,79 @@ public class AuthController {
                                     value = "{\"error\": \"Invalid email format\"}"
                             )
                     )
-            )
+            ),
+            @ApiResponse(responseCode = "429", description = "Too many failed attempts for this email or client; see Retry-After"),
+            @ApiResponse(responseCode = "503", description = "Too many concurrent logins, retry shortly")
     })
     @PostMapping("/login")
-    public ResponseEntity<LoginResponse> login(@Valid @RequestBody LoginRequest req) {
-        Authentication auth = authManager.authenticate(
-                new UsernamePasswordAuthenticationToken(req.email(), req.password()));
-        String token = jwt.generateToken((UserDetails) auth.getPrincipal());
-        return ResponseEntity.ok(new LoginResponse(token));
+    public ResponseEntity<LoginResponse> login(@Valid @RequestBody LoginRequest req, HttpServletRequest http) {
+        loginThrottle.acquire(req.email(), http.getRemoteAddr()); // before any hashing
+        // password hashing runs on the bounded login pool, not on the request thread's CPU budget
+        TokenPair tokens = loginExecutor.run(() -> {
+            Authentication auth = authManager.authenticate(
+                    new UsernamePasswordAuthenticationToken(req.email(), req.password()));
+            return refreshTokens.issue((AppUserPrincipal) auth.getPrincipal());
+        });
+        loginThrottle.succeeded(req.email(), http.getRemoteAddr());
+        return ResponseEntity.ok(new LoginResponse(tokens.accessToken(), tokens.refreshToken()));
+    }
+
+    @Operation(
+            summary = "Refresh Tokens",
+            description = "Exchange a refresh token for a new access token and a new refresh token. "
+                    + "Each refresh token works once; reusing one revokes all refresh tokens of the user.",
+            operationId = "refresh"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "New token pair issued",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = LoginResponse.class)
+                    )
+            ),
+            @ApiResponse(responseCode = "401", description = "Unknown, expired or already used refresh token")
+    })
+    @PostMapping("/refresh")
+    public ResponseEntity<LoginResponse> refresh(@Valid @RequestBody RefreshRequest req) {
+        TokenPair tokens = refreshTokens.refresh(req.refreshToken());
+        return ResponseEntity.ok(new LoginResponse(tokens.accessToken(), tokens.refreshToken()));
+    }
+
+    @Operation(
+            summary = "Logout Everywhere",
+            description = "Revoke every token issued to the authenticated user so far.",
+            operationId = "logout"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "204", description = "All tokens revoked"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized - Authentication required")
+    })
+    @SecurityRequirement(name = "bearerAuth")
+    @PostMapping("/logout")
+    public ResponseEntity<Void> logout(Authentication auth) {
+        tokenVersions.logout(auth);
+        return ResponseEntity.noContent().build();
+    }
+
+    @Operation(
+            summary = "Force Logout",
+            description = "Revoke every token issued to the given user. Only admins can force a logout.",
+            operationId = "forceLogout"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "204", description = "All tokens of the user revoked"),
+            @ApiResponse(responseCode = "403", description = "Access denied - Admin role required")
+    })
+    @SecurityRequirement(name = "bearerAuth")
+    @RolesAllowed("ADMIN")
+    @PostMapping("/users/{userId}/revoke")
+    public ResponseEntity<Void> forceLogout(
+            @Parameter(description = "User whose tokens are revoked", required = true, example = "1")
+            @PathVariable Long userId,
+            Authentication auth) {
+        tokenVersions.forceLogout(userId, auth);
+        return ResponseEntity.noContent().build();
     }
 }
@@ -1,11 +1,21 @@
 package com.ironhack.lms.web.auth;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import io.swagger.v3.oas.annotations.media.Schema;
 
 @Schema(description = "Authentication response containing JWT token")
+@JsonInclude(JsonInclude.Include.NON_NULL)
 public record LoginResponse(
         @Schema(description = "JWT token for API authentication", 
                 example = "eyJhbGciOiJIUzI1NiIsInR5cCI6IkpXVCJ9...",
                 required = true)
-        String token
-) {}
+        String token,
+
+        @Schema(description = "Single-use refresh token; exchange it at /auth/refresh for a new token pair",
+                example = "q7V1mJ0m0Yy3Qx2fVb7a0k5c4Yp1Zl8wS9dE2rT6uIo")
+        String refreshToken
+) {
+    public LoginResponse(String token) {
+        this(token, null);
+    }
+}
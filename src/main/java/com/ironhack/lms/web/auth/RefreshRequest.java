@@ -0,0 +1,10 @@
+package com.ironhack.lms.web.auth;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotBlank;
+
+@Schema(description = "Refresh token issued by /auth/login or a previous /auth/refresh")
+public record RefreshRequest(
+        @Schema(description = "Refresh token", example = "q7V1mJ0m0Yy3Qx2fVb7a0k5c4Yp1Zl8wS9dE2rT6uIo", required = true)
+        @NotBlank String refreshToken
+) {}
@@ -1,6 +1,8 @@
 package com.ironhack.lms.web.course;
 
+import com.ironhack.lms.service.course.ContentVersion;
 import com.ironhack.lms.service.course.CourseService;
+import com.ironhack.lms.service.course.Versioned;
 import com.ironhack.lms.web.course.dto.*;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -21,6 +23,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 @RestController
 @RequestMapping("/api/courses")
@@ -70,6 +73,7 @@ public class CourseController {
                             schema = @Schema(implementation = CourseResponse.class)
                     )
             ),
+            @ApiResponse(responseCode = "304", description = "Not modified since the ETag / Last-Modified the client sent"),
             @ApiResponse(
                     responseCode = "404",
                     description = "Course not found",
@@ -87,8 +91,11 @@ public class CourseController {
     public CourseResponse get(
             @Parameter(description = "Course ID", required = true, example = "1")
             @PathVariable Long id, 
-            Authentication auth) {
-        return service.getForRead(id, auth);
+            Authentication auth,
+            WebRequest request) {
+        Versioned<CourseResponse> course = service.getVersionedForRead(id, auth);
+        if (notModified(request, course.version(), "course")) return null;
+        return course.body();
     }
 
     // ---- Writes (instructor/admin) ----
@@ -374,6 +381,7 @@ public class CourseController {
                             schema = @Schema(implementation = java.util.List.class)
                     )
             ),
+            @ApiResponse(responseCode = "304", description = "Lessons unchanged since the ETag the client sent"),
             @ApiResponse(responseCode = "404", description = "Course not found"),
             @ApiResponse(responseCode = "403", description = "Access denied - Must be enrolled or instructor")
     })
@@ -382,8 +390,11 @@ public class CourseController {
     public java.util.List<LessonSummaryResponse> lessons(
             @Parameter(description = "Course ID", required = true, example = "1")
             @PathVariable Long id, 
-            Authentication auth) {
-        return service.listLessonsForRead(id, auth);
+            Authentication auth,
+            WebRequest request) {
+        ContentVersion version = service.lessonsVersion(id, auth);
+        if (notModified(request, version, "lessons")) return null; // no lesson rows loaded
+        return service.listLessons(version);
     }
 
     @Operation(
@@ -400,6 +411,7 @@ public class CourseController {
                             schema = @Schema(implementation = java.util.List.class)
                     )
             ),
+            @ApiResponse(responseCode = "304", description = "Assignments unchanged since the ETag the client sent"),
             @ApiResponse(responseCode = "404", description = "Course not found"),
             @ApiResponse(responseCode = "403", description = "Access denied - Must be enrolled or instructor")
     })
@@ -408,7 +420,15 @@ public class CourseController {
     public java.util.List<AssignmentSummaryResponse> assignments(
             @Parameter(description = "Course ID", required = true, example = "1")
             @PathVariable Long id, 
-            Authentication auth) {
-        return service.listAssignmentsForRead(id, auth);
+            Authentication auth,
+            WebRequest request) {
+        ContentVersion version = service.assignmentsVersion(id, auth);
+        if (notModified(request, version, "assignments")) return null;
+        return service.listAssignments(version);
+    }
+
+    // Sets ETag + Last-Modified and answers 304 when the client's validators still match.
+    private static boolean notModified(WebRequest request, ContentVersion version, String resource) {
+        return request.checkNotModified(version.etag(resource), version.updatedAt().toEpochMilli());
     }
 }
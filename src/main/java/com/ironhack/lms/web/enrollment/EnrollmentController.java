@@ -1,7 +1,11 @@
 package com.ironhack.lms.web.enrollment;
 
 import com.ironhack.lms.service.enrollment.EnrollmentService;
+import com.ironhack.lms.service.enrollment.RosterImportService;
 import com.ironhack.lms.web.enrollment.dto.EnrollmentResponse;
+import com.ironhack.lms.web.enrollment.dto.RosterImportResponse;
+import com.ironhack.lms.web.paging.CursorPage;
+import com.ironhack.lms.web.paging.KeysetCursor;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -14,10 +18,13 @@ import jakarta.annotation.security.RolesAllowed;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.InputStream;
+
 @RestController
 @RequiredArgsConstructor
 @Tag(name = "Enrollments", description = "Course enrollment management endpoints for students and staff")
@@ -25,6 +32,7 @@ import org.springframework.web.bind.annotation.*;
 public class EnrollmentController {
 
     private final EnrollmentService service;
+    private final RosterImportService rosterImport;
 
     @Operation(
             summary = "Enroll in Course",
@@ -53,6 +61,40 @@ public class EnrollmentController {
         return ResponseEntity.ok(service.enroll(courseId, auth));
     }
 
+    @Operation(
+            summary = "Import Course Roster",
+            description = "Enroll students in bulk from a CSV body (text/csv) whose first column is a student email " +
+                    "or student number; an optional header line is skipped. Students already enrolled are left as they are, " +
+                    "unknown values are reported. The file is processed as a stream in chunks, so large cohorts are fine.",
+            operationId = "importCourseRoster"
+    )
+    @io.swagger.v3.oas.annotations.parameters.RequestBody(
+            required = true,
+            content = @Content(mediaType = "text/csv", schema = @Schema(type = "string",
+                    example = "email\nstudent@lms.local\nS-1002"))
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Roster imported",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = RosterImportResponse.class)
+                    )
+            ),
+            @ApiResponse(responseCode = "404", description = "Course not found"),
+            @ApiResponse(responseCode = "403", description = "Access denied - Course instructor or admin required")
+    })
+    @RolesAllowed({ "INSTRUCTOR", "ADMIN" })
+    @PostMapping(value = "/api/courses/{courseId}/roster", consumes = { "text/csv", MediaType.TEXT_PLAIN_VALUE })
+    public RosterImportResponse importRoster(
+            @Parameter(description = "Course ID to enroll the students in", required = true, example = "1")
+            @PathVariable Long courseId,
+            @Parameter(hidden = true) InputStream csv,
+            Authentication auth) {
+        return rosterImport.importRoster(courseId, csv, auth);
+    }
+
     @Operation(
             summary = "Get My Enrollments",
             description = "Retrieve a paginated list of the authenticated student's course enrollments.",
@@ -78,6 +120,35 @@ public class EnrollmentController {
         return service.myEnrollments(auth, pageable);
     }
 
+    @Operation(
+            summary = "Scroll My Enrollments",
+            description = "Keyset-paginated enrollments of the authenticated student, oldest first. " +
+                    "Pass the returned nextCursor as 'after' to get the next slice; no total count is computed.",
+            operationId = "scrollMyEnrollments"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Successfully retrieved a slice of enrollments",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = CursorPage.class)
+                    )
+            ),
+            @ApiResponse(responseCode = "400", description = "Invalid cursor"),
+            @ApiResponse(responseCode = "403", description = "Access denied - Student role required")
+    })
+    @RolesAllowed("STUDENT")
+    @GetMapping("/api/enrollments/cursor")
+    public CursorPage<EnrollmentResponse> scrollMyEnrollments(
+            @Parameter(description = "Cursor from the previous slice; omit for the first slice")
+            @RequestParam(required = false) String after,
+            @Parameter(description = "Slice size (1-100)", example = "20")
+            @RequestParam(required = false) Integer size,
+            Authentication auth) {
+        return service.myEnrollments(auth, KeysetCursor.decode(after), KeysetCursor.size(size));
+    }
+
     @Operation(
             summary = "Cancel Enrollment",
             description = "Cancel the authenticated student's enrollment in a course. " +
@@ -0,0 +1,26 @@
+package com.ironhack.lms.web.enrollment.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+@Schema(description = "Summary of a CSV roster import")
+public record RosterImportResponse(
+        @Schema(description = "Non-empty data lines read", example = "120")
+        int lines,
+
+        @Schema(description = "New enrollments created", example = "112")
+        int enrolled,
+
+        @Schema(description = "Students that were already enrolled in the course", example = "5")
+        int alreadyEnrolled,
+
+        @Schema(description = "Lines naming a student that appeared earlier in the file", example = "1")
+        int duplicates,
+
+        @Schema(description = "Lines matching no student by email or student number", example = "2")
+        int unknown,
+
+        @Schema(description = "First unmatched values (at most 100)", example = "[\"typo@lms.local\", \"S-0000\"]")
+        List<String> unknownSample
+) {}
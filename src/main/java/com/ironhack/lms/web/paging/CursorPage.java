@@ -0,0 +1,30 @@
+package com.ironhack.lms.web.paging;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+import java.util.function.Function;
+
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@Schema(description = "One slice of a keyset-paginated listing")
+public record CursorPage<T>(
+        @Schema(description = "Items in this slice, oldest first")
+        List<T> items,
+
+        @Schema(description = "Opaque token for the next slice; absent on the last one", example = "MjAyNC0wMS0xNVQxMDozMDowMFp8NDI")
+        String nextCursor
+) {
+
+    /**
+     * Builds a slice from {@code size + 1} fetched rows: the extra row only signals that more
+     * exist, so the cursor points at the last row actually returned.
+     */
+    public static <E, T> CursorPage<T> of(List<E> rows, int size,
+                                          Function<E, KeysetCursor> key, Function<E, T> mapper) {
+        boolean more = rows.size() > size;
+        List<E> slice = more ? rows.subList(0, size) : rows;
+        String next = more ? key.apply(slice.get(size - 1)).encode() : null;
+        return new CursorPage<>(slice.stream().map(mapper).toList(), next);
+    }
+}
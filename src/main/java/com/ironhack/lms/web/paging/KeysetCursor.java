@@ -0,0 +1,47 @@
+package com.ironhack.lms.web.paging;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Base64;
+
+/**
+ * Position in a listing ordered by (timestamp, id). Clients only ever see the encoded form,
+ * so the key layout can change without breaking them.
+ */
+public record KeysetCursor(Instant at, Long id) {
+
+    public static final int DEFAULT_SIZE = 20;
+    public static final int MAX_SIZE = 100;
+
+    public String encode() {
+        var raw = at + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /** Returns null for a missing token (first slice); malformed tokens are a 400. */
+    public static KeysetCursor decode(String token) {
+        if (token == null || token.isBlank()) return null;
+        try {
+            var raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int sep = raw.lastIndexOf('|');
+            return new KeysetCursor(Instant.parse(raw.substring(0, sep)), Long.parseLong(raw.substring(sep + 1)));
+        } catch (RuntimeException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid cursor");
+        }
+    }
+
+    /** Clamps the requested slice size to 1..{@value #MAX_SIZE}. */
+    public static int size(Integer requested) {
+        if (requested == null) return DEFAULT_SIZE;
+        return Math.max(1, Math.min(MAX_SIZE, requested));
+    }
+
+    /** Fetch one row more than returned to learn whether another slice exists, without a COUNT. */
+    public static Limit lookahead(int size) {
+        return Limit.of(size + 1);
+    }
+}
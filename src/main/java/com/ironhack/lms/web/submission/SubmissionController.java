@@ -1,9 +1,13 @@
 package com.ironhack.lms.web.submission;
 
+import com.ironhack.lms.service.submission.GradebookExportService;
 import com.ironhack.lms.service.submission.SubmissionService;
+import com.ironhack.lms.web.paging.CursorPage;
+import com.ironhack.lms.web.paging.KeysetCursor;
 import com.ironhack.lms.web.submission.dto.*;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -11,13 +15,22 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.annotation.security.RolesAllowed;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.WebAsyncUtils;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
 
 @RestController
 @RequiredArgsConstructor
@@ -26,6 +39,7 @@ import org.springframework.web.bind.annotation.*;
 public class SubmissionController {
 
     private final SubmissionService service;
+    private final GradebookExportService gradebook;
 
     @Operation(
             summary = "Submit Assignment",
@@ -109,6 +123,102 @@ public class SubmissionController {
         return service.listByCourse(courseId, auth, pageable);
     }
 
+    @Operation(
+            summary = "Scroll Course Submissions",
+            description = "Keyset-paginated course submissions ordered by submission time. " +
+                    "Pass the returned nextCursor as 'after' to get the next slice; no total count is computed.",
+            operationId = "scrollCourseSubmissions"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Successfully retrieved a slice of course submissions",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = CursorPage.class)
+                    )
+            ),
+            @ApiResponse(responseCode = "400", description = "Invalid cursor"),
+            @ApiResponse(responseCode = "403", description = "Access denied - Instructor/Admin role required")
+    })
+    @RolesAllowed({"INSTRUCTOR","ADMIN"})
+    @GetMapping("/api/courses/{courseId}/submissions/cursor")
+    public CursorPage<SubmissionResponse> scrollByCourse(
+            @Parameter(description = "Course ID", required = true, example = "1")
+            @PathVariable Long courseId,
+            @Parameter(description = "Cursor from the previous slice; omit for the first slice")
+            @RequestParam(required = false) String after,
+            @Parameter(description = "Slice size (1-100)", example = "20")
+            @RequestParam(required = false) Integer size,
+            Authentication auth) {
+        return service.listByCourse(courseId, auth, KeysetCursor.decode(after), KeysetCursor.size(size));
+    }
+
+    @Operation(
+            summary = "Export Course Gradebook",
+            description = "Download every submission of a course with its assignment and student, as CSV (default) " +
+                    "or newline-delimited JSON. The file is streamed from the database while it is written, " +
+                    "so any course size can be exported in one request.",
+            operationId = "exportGradebook"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Gradebook stream, ordered by submission time",
+                    content = {
+                            @Content(mediaType = "text/csv", schema = @Schema(type = "string")),
+                            @Content(mediaType = "application/x-ndjson", schema = @Schema(type = "string"))
+                    }
+            ),
+            @ApiResponse(responseCode = "403", description = "Access denied - Instructor/Admin role required")
+    })
+    @RolesAllowed({"INSTRUCTOR","ADMIN"})
+    @GetMapping("/api/courses/{courseId}/gradebook")
+    public ResponseEntity<StreamingResponseBody> exportGradebook(
+            @Parameter(description = "Course ID", required = true, example = "1")
+            @PathVariable Long courseId,
+            @Parameter(description = "Output format", example = "CSV")
+            @RequestParam(defaultValue = "CSV") GradebookExportService.Format format,
+            Authentication auth,
+            HttpServletRequest request) {
+        StreamingResponseBody body = gradebook.export(courseId, format, auth);
+        // only the export gets the long async timeout; other async requests keep the default
+        WebAsyncUtils.getAsyncManager(request).getAsyncWebRequest().setTimeout(gradebook.timeoutMs());
+        boolean csv = format == GradebookExportService.Format.CSV;
+        return ResponseEntity.ok()
+                .contentType(csv ? new MediaType("text", "csv", StandardCharsets.UTF_8)
+                        : MediaType.APPLICATION_NDJSON)
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename("gradebook-course-" + courseId + (csv ? ".csv" : ".ndjson")).build().toString())
+                .body(body);
+    }
+
+    @Operation(
+            summary = "Course Gradebook Stats",
+            description = "Submission and grading totals per assignment, with average score and graded ratio. " +
+                    "Served from precomputed aggregates, so the cost does not grow with the number of submissions.",
+            operationId = "courseGradebookStats"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Successfully retrieved course stats",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = CourseStatsResponse.class)
+                    )
+            ),
+            @ApiResponse(responseCode = "403", description = "Access denied - Instructor/Admin role required")
+    })
+    @RolesAllowed({"INSTRUCTOR","ADMIN"})
+    @GetMapping("/api/courses/{courseId}/stats")
+    public CourseStatsResponse courseStats(
+            @Parameter(description = "Course ID", required = true, example = "1")
+            @PathVariable Long courseId,
+            Authentication auth) {
+        return service.courseStats(courseId, auth);
+    }
+
     @Operation(
             summary = "Grade Submission",
             description = "Grade a student's assignment submission. Only instructors and admins can grade submissions.",
@@ -137,6 +247,35 @@ public class SubmissionController {
         return service.grade(id, req, auth);
     }
 
+    @Operation(
+            summary = "Bulk Grade Submissions",
+            description = "Grade many submissions of one course in a single request. " +
+                    "Items that cannot be applied (unknown submission, score above the assignment's maxPoints, " +
+                    "duplicates) are reported per item; the rest are saved together.",
+            operationId = "bulkGradeSubmissions"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Per-item grading results, in request order",
+                    content = @Content(
+                            mediaType = "application/json",
+                            array = @ArraySchema(schema = @Schema(implementation = BulkGradeResult.class))
+                    )
+            ),
+            @ApiResponse(responseCode = "403", description = "Access denied - Instructor/Admin role required"),
+            @ApiResponse(responseCode = "400", description = "Invalid grade data")
+    })
+    @RolesAllowed({"INSTRUCTOR","ADMIN"})
+    @PatchMapping("/api/courses/{courseId}/submissions/grades")
+    public List<BulkGradeResult> gradeBatch(
+            @Parameter(description = "Course ID", required = true, example = "1")
+            @PathVariable Long courseId,
+            @Valid @RequestBody BulkGradeRequest req,
+            Authentication auth) {
+        return service.gradeBatch(courseId, req, auth);
+    }
+
     @Operation(
             summary = "Request Resubmission",
             description = "Request a student to resubmit their assignment. " +
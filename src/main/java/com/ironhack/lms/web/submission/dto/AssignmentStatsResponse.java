@@ -0,0 +1,36 @@
+package com.ironhack.lms.web.submission.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "Submission totals for one assignment")
+public record AssignmentStatsResponse(
+        @Schema(description = "Assignment identifier", example = "2")
+        Long assignmentId,
+
+        @Schema(description = "Assignment title", example = "Homework 1")
+        String title,
+
+        @Schema(description = "Maximum score", example = "100")
+        int maxPoints,
+
+        @Schema(description = "Students who have submitted", example = "38")
+        int submissionCount,
+
+        @Schema(description = "Submissions currently graded", example = "30")
+        int gradedCount,
+
+        @Schema(description = "Mean score of graded submissions (null when none are graded)", example = "81.5")
+        Double averageScore,
+
+        @Schema(description = "gradedCount / submissionCount (0 when nothing was submitted)", example = "0.79")
+        double gradedRatio
+) {
+
+    /** Derives the average and ratio from the stored running totals. */
+    public AssignmentStatsResponse(Long assignmentId, String title, int maxPoints,
+                                   int submissionCount, int gradedCount, long scoreSum) {
+        this(assignmentId, title, maxPoints, submissionCount, gradedCount,
+                gradedCount == 0 ? null : (double) scoreSum / gradedCount,
+                submissionCount == 0 ? 0 : (double) gradedCount / submissionCount);
+    }
+}
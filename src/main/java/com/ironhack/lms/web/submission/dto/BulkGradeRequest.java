@@ -0,0 +1,12 @@
+package com.ironhack.lms.web.submission.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+public record BulkGradeRequest(
+        @NotEmpty @Size(max = 500) List<@Valid @NotNull BulkGradeItem> grades
+) {}
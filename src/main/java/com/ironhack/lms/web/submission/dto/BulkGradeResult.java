@@ -0,0 +1,28 @@
+package com.ironhack.lms.web.submission.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@Schema(description = "Outcome of one item in a bulk grading request")
+public record BulkGradeResult(
+        @Schema(description = "Submission the item referred to", example = "1")
+        Long submissionId,
+
+        @Schema(description = "Whether the grade was applied", example = "GRADED")
+        Outcome outcome,
+
+        @Schema(description = "Why the item was skipped", example = "Score must be between 0 and 100")
+        String message
+) {
+
+    public enum Outcome { GRADED, NOT_FOUND, INVALID_SCORE, DUPLICATE }
+
+    public static BulkGradeResult graded(Long submissionId) {
+        return new BulkGradeResult(submissionId, Outcome.GRADED, null);
+    }
+
+    public static BulkGradeResult skipped(Long submissionId, Outcome outcome, String message) {
+        return new BulkGradeResult(submissionId, outcome, message);
+    }
+}
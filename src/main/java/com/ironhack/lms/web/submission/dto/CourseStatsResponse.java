@@ -0,0 +1,20 @@
+package com.ironhack.lms.web.submission.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+@Schema(description = "Gradebook statistics of a course, per assignment")
+public record CourseStatsResponse(
+        @Schema(description = "Course identifier", example = "1")
+        Long courseId,
+
+        @Schema(description = "Submissions across all assignments", example = "152")
+        int submissionCount,
+
+        @Schema(description = "Graded submissions across all assignments", example = "120")
+        int gradedCount,
+
+        @Schema(description = "One entry per assignment, in creation order")
+        List<AssignmentStatsResponse> assignments
+) {}
@@ -0,0 +1,2 @@
+-- Roster imports look students up by number as well as by email.
+CREATE INDEX idx_app_user_student_number ON app_user(student_number);
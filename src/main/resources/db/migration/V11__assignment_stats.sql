@@ -0,0 +1,24 @@
+-- Running per-assignment gradebook totals, kept up to date by delta upserts from SubmissionService.
+-- Only GRADED submissions count towards graded_count / score_sum.
+CREATE TABLE IF NOT EXISTS assignment_stats (
+  assignment_id    BIGINT NOT NULL PRIMARY KEY,
+  course_id        BIGINT NOT NULL,
+  submission_count INT    NOT NULL DEFAULT 0,
+  graded_count     INT    NOT NULL DEFAULT 0,
+  score_sum        BIGINT NOT NULL DEFAULT 0,
+
+  CONSTRAINT fk_assignment_stats_assignment
+    FOREIGN KEY (assignment_id) REFERENCES assignment(id)
+    ON DELETE CASCADE
+);
+
+CREATE INDEX idx_assignment_stats_course ON assignment_stats(course_id);
+
+INSERT INTO assignment_stats (assignment_id, course_id, submission_count, graded_count, score_sum)
+SELECT s.assignment_id,
+       s.course_id,
+       COUNT(*),
+       SUM(CASE WHEN s.status = 'GRADED' AND s.score IS NOT NULL THEN 1 ELSE 0 END),
+       COALESCE(SUM(CASE WHEN s.status = 'GRADED' THEN s.score END), 0)
+FROM submission s
+GROUP BY s.assignment_id, s.course_id;
@@ -0,0 +1,18 @@
+-- Transactional outbox for grading side effects: a row is written in the same transaction as the
+-- grade and deleted once GradeOutboxRelay has handled it. Failed rows are retried with backoff
+-- (available_at) until max attempts, then stay here with last_error for inspection.
+CREATE TABLE IF NOT EXISTS grade_event (
+  id            BIGINT       NOT NULL PRIMARY KEY,
+  course_id     BIGINT       NOT NULL,
+  student_id    BIGINT       NOT NULL,
+  submission_id BIGINT       NOT NULL,
+  created_at    DATETIME(3)  NOT NULL,
+  available_at  DATETIME(3)  NOT NULL,
+  attempts      INT          NOT NULL DEFAULT 0,
+  last_error    VARCHAR(500) NULL
+);
+
+CREATE INDEX idx_grade_event_due ON grade_event(available_at, id);
+
+CREATE TABLE grade_event_seq (next_val BIGINT NOT NULL);
+INSERT INTO grade_event_seq VALUES (1);
@@ -0,0 +1,13 @@
+-- Per-user token version. Tokens carry the version they were issued with;
+-- bumping the row revokes every older token of that user (forced logout).
+CREATE TABLE IF NOT EXISTS token_revocation (
+  user_id        BIGINT      NOT NULL PRIMARY KEY,
+  token_version  INT         NOT NULL,
+  revoked_at     DATETIME(3) NOT NULL,
+
+  CONSTRAINT fk_token_revocation_user
+    FOREIGN KEY (user_id) REFERENCES app_user(id)
+    ON DELETE CASCADE
+);
+
+CREATE INDEX idx_token_revocation_revoked_at ON token_revocation(revoked_at);
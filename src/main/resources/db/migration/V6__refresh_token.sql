@@ -0,0 +1,20 @@
+-- Rotating refresh tokens. Only the SHA-256 of the opaque token is stored;
+-- a token is single-use (used_at), presenting a used one revokes the user's tokens.
+CREATE TABLE IF NOT EXISTS refresh_token (
+  id          BIGINT      NOT NULL AUTO_INCREMENT PRIMARY KEY,
+  user_id     BIGINT      NOT NULL,
+  token_hash  CHAR(64)    NOT NULL,
+  created_at  DATETIME(3) NOT NULL,
+  expires_at  DATETIME(3) NOT NULL,
+  used_at     DATETIME(3) NULL,
+
+  CONSTRAINT fk_refresh_token_user
+    FOREIGN KEY (user_id) REFERENCES app_user(id)
+    ON DELETE CASCADE,
+
+  CONSTRAINT uq_refresh_token_hash
+    UNIQUE (token_hash)
+);
+
+CREATE INDEX idx_refresh_token_user       ON refresh_token(user_id);
+CREATE INDEX idx_refresh_token_expires_at ON refresh_token(expires_at);
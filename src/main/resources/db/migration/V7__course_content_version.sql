@@ -0,0 +1,4 @@
+-- Bumped on every change to a course or its lessons/assignments; backs ETag / Last-Modified.
+ALTER TABLE course
+  ADD COLUMN content_version    BIGINT      NOT NULL DEFAULT 0,
+  ADD COLUMN content_updated_at DATETIME(3) NOT NULL DEFAULT CURRENT_TIMESTAMP(3);
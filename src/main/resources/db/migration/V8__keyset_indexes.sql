@@ -0,0 +1,15 @@
+-- Keyset pagination: listings seek on (owner, timestamp, id) instead of OFFSET + COUNT.
+ALTER TABLE submission ADD COLUMN course_id BIGINT NULL;
+
+UPDATE submission s
+  JOIN assignment a ON a.id = s.assignment_id
+   SET s.course_id = a.course_id;
+
+ALTER TABLE submission
+  MODIFY course_id BIGINT NOT NULL,
+  ADD CONSTRAINT fk_submission_course
+    FOREIGN KEY (course_id) REFERENCES course(id)
+    ON DELETE CASCADE;
+
+CREATE INDEX idx_submission_course_seek ON submission(course_id, submitted_at, id);
+CREATE INDEX idx_enroll_student_seek    ON enrollment(student_id, enrolled_at, id);
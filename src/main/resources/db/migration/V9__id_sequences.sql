@@ -0,0 +1,17 @@
+-- IDENTITY columns force Hibernate to insert rows one at a time to learn their ids.
+-- MySQL has no sequences, so Hibernate emulates each one with a single-row table and
+-- hands out blocks of 50 ids (pooled-lo): next_val is the first id of the next block.
+CREATE TABLE app_user_seq   (next_val BIGINT NOT NULL);
+CREATE TABLE course_seq     (next_val BIGINT NOT NULL);
+CREATE TABLE lesson_seq     (next_val BIGINT NOT NULL);
+CREATE TABLE assignment_seq (next_val BIGINT NOT NULL);
+CREATE TABLE enrollment_seq (next_val BIGINT NOT NULL);
+CREATE TABLE submission_seq (next_val BIGINT NOT NULL);
+
+-- continue after the rows created under AUTO_INCREMENT
+INSERT INTO app_user_seq   SELECT COALESCE(MAX(id), 0) + 1 FROM app_user;
+INSERT INTO course_seq     SELECT COALESCE(MAX(id), 0) + 1 FROM course;
+INSERT INTO lesson_seq     SELECT COALESCE(MAX(id), 0) + 1 FROM lesson;
+INSERT INTO assignment_seq SELECT COALESCE(MAX(id), 0) + 1 FROM assignment;
+INSERT INTO enrollment_seq SELECT COALESCE(MAX(id), 0) + 1 FROM enrollment;
+INSERT INTO submission_seq SELECT COALESCE(MAX(id), 0) + 1 FROM submission;
@@ -1,7 +1,18 @@
 package com.ironhack.lms.config;
 
+import com.ironhack.lms.domain.user.Role;
+import com.ironhack.lms.domain.user.Student;
 import com.ironhack.lms.service.auth.AppUserDetailsService;
+import com.ironhack.lms.service.auth.AppUserPrincipal;
+import com.ironhack.lms.service.auth.CurrentUser;
 import com.ironhack.lms.service.auth.JwtService;
+import com.ironhack.lms.service.auth.PrincipalCache;
+import com.ironhack.lms.service.auth.TokenVersionService;
+import com.ironhack.lms.service.auth.VerifiedToken;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.SignatureException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -17,8 +28,13 @@ import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
 
 import java.io.IOException;
+import java.time.Instant;
+import java.util.Date;
+import java.util.List;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
@@ -31,6 +47,9 @@ class JwtAuthFilterTest {
     @Mock
     private AppUserDetailsService userDetailsService;
 
+    @Mock
+    private TokenVersionService tokenVersions;
+
     @Mock
     private HttpServletRequest request;
 
@@ -44,10 +63,16 @@ class JwtAuthFilterTest {
 
     @BeforeEach
     void setUp() {
-        filter = new JwtAuthFilter(jwtService, userDetailsService);
+        filter = new JwtAuthFilter(jwtService, userDetailsService,
+                new PrincipalCache(100, 60, new SimpleMeterRegistry()), tokenVersions, new SimpleMeterRegistry());
         SecurityContextHolder.clearContext();
     }
 
+    private static VerifiedToken verified(String subject) {
+        Claims claims = Jwts.claims().subject(subject).issuedAt(new Date(1_700_000_000_000L)).build();
+        return new VerifiedToken(subject, Instant.parse("2030-01-01T00:00:00Z"), claims);
+    }
+
     @Test
     void doFilterInternal_withValidToken_shouldSetAuthentication() throws ServletException, IOException {
         // Given
@@ -60,17 +85,15 @@ class JwtAuthFilterTest {
                 .build();
 
         when(request.getHeader(HttpHeaders.AUTHORIZATION)).thenReturn("Bearer " + token);
-        when(jwtService.extractUsername(token)).thenReturn(username);
+        when(jwtService.verify(token)).thenReturn(verified(username));
         when(userDetailsService.loadUserByUsername(username)).thenReturn(userDetails);
-        when(jwtService.isValid(token, userDetails)).thenReturn(true);
 
         // When
         filter.doFilterInternal(request, response, filterChain);
 
         // Then
-        verify(jwtService).extractUsername(token);
+        verify(jwtService).verify(token);
         verify(userDetailsService).loadUserByUsername(username);
-        verify(jwtService).isValid(token, userDetails);
         verify(filterChain).doFilter(request, response);
         
         // Verify authentication was set
@@ -78,9 +101,9 @@ class JwtAuthFilterTest {
     }
 
     @Test
-    void doFilterInternal_withInvalidToken_shouldNotSetAuthentication() throws ServletException, IOException {
+    void doFilterInternal_repeatedToken_shouldLoadUserOnce() throws ServletException, IOException {
         // Given
-        String token = "invalid-jwt-token";
+        String token = "valid-jwt-token";
         String username = "student@lms.local";
         UserDetails userDetails = org.springframework.security.core.userdetails.User.builder()
                 .username(username)
@@ -89,17 +112,81 @@ class JwtAuthFilterTest {
                 .build();
 
         when(request.getHeader(HttpHeaders.AUTHORIZATION)).thenReturn("Bearer " + token);
-        when(jwtService.extractUsername(token)).thenReturn(username);
+        when(jwtService.verify(token)).thenReturn(verified(username));
         when(userDetailsService.loadUserByUsername(username)).thenReturn(userDetails);
-        when(jwtService.isValid(token, userDetails)).thenReturn(false);
 
         // When
         filter.doFilterInternal(request, response, filterChain);
+        SecurityContextHolder.clearContext();
+        filter.doFilterInternal(request, response, filterChain);
 
         // Then
-        verify(jwtService).extractUsername(token);
-        verify(userDetailsService).loadUserByUsername(username);
-        verify(jwtService).isValid(token, userDetails);
+        verify(userDetailsService, times(1)).loadUserByUsername(username);
+        verify(filterChain, times(2)).doFilter(request, response);
+        assert SecurityContextHolder.getContext().getAuthentication() != null;
+    }
+
+    @Test
+    void doFilterInternal_statelessMode_shouldNotLoadUser() throws ServletException, IOException {
+        // Given
+        String token = "stateless-jwt-token";
+        VerifiedToken verified = verified("student@lms.local");
+        Claims claims = verified.claims();
+        AppUserPrincipal principal = new AppUserPrincipal(
+                new CurrentUser(20L, "student@lms.local", Role.STUDENT, Student.class), "", List.of());
+
+        when(request.getHeader(HttpHeaders.AUTHORIZATION)).thenReturn("Bearer " + token);
+        when(jwtService.verify(token)).thenReturn(verified);
+        when(jwtService.isStateless()).thenReturn(true);
+        when(jwtService.principalFrom(claims)).thenReturn(principal);
+        when(tokenVersions.isCurrent(anyLong(), anyInt())).thenReturn(true);
+
+        // When
+        filter.doFilterInternal(request, response, filterChain);
+
+        // Then
+        verify(userDetailsService, never()).loadUserByUsername(any());
+        verify(filterChain).doFilter(request, response);
+        assert SecurityContextHolder.getContext().getAuthentication().getPrincipal() == principal;
+    }
+
+    @Test
+    void doFilterInternal_revokedToken_shouldNotSetAuthentication() throws ServletException, IOException {
+        // Given
+        String token = "revoked-jwt-token";
+        VerifiedToken verified = verified("student@lms.local");
+        Claims claims = verified.claims();
+        AppUserPrincipal principal = new AppUserPrincipal(
+                new CurrentUser(20L, "student@lms.local", Role.STUDENT, Student.class), "", List.of());
+
+        when(request.getHeader(HttpHeaders.AUTHORIZATION)).thenReturn("Bearer " + token);
+        when(jwtService.verify(token)).thenReturn(verified);
+        when(jwtService.isStateless()).thenReturn(true);
+        when(jwtService.principalFrom(claims)).thenReturn(principal);
+        when(jwtService.tokenVersion(claims)).thenReturn(0);
+        when(tokenVersions.isCurrent(20L, 0)).thenReturn(false);
+
+        // When
+        filter.doFilterInternal(request, response, filterChain);
+
+        // Then
+        verify(filterChain).doFilter(request, response);
+        assert SecurityContextHolder.getContext().getAuthentication() == null;
+    }
+
+    @Test
+    void doFilterInternal_withInvalidToken_shouldNotSetAuthentication() throws ServletException, IOException {
+        // Given
+        String token = "invalid-jwt-token";
+        when(request.getHeader(HttpHeaders.AUTHORIZATION)).thenReturn("Bearer " + token);
+        when(jwtService.verify(token)).thenThrow(new SignatureException("bad signature"));
+
+        // When
+        filter.doFilterInternal(request, response, filterChain);
+
+        // Then
+        verify(jwtService).verify(token);
+        verify(userDetailsService, never()).loadUserByUsername(any());
         verify(filterChain).doFilter(request, response);
         
         // Verify authentication was not set
@@ -111,13 +198,13 @@ class JwtAuthFilterTest {
         // Given
         String token = "jwt-token";
         when(request.getHeader(HttpHeaders.AUTHORIZATION)).thenReturn("Bearer " + token);
-        when(jwtService.extractUsername(token)).thenReturn(null);
+        when(jwtService.verify(token)).thenReturn(verified(null));
 
         // When
         filter.doFilterInternal(request, response, filterChain);
 
         // Then
-        verify(jwtService).extractUsername(token);
+        verify(jwtService).verify(token);
         verify(userDetailsService, never()).loadUserByUsername(any());
         verify(filterChain).doFilter(request, response);
         
@@ -137,13 +224,13 @@ class JwtAuthFilterTest {
         SecurityContextHolder.getContext().setAuthentication(existingAuth);
 
         when(request.getHeader(HttpHeaders.AUTHORIZATION)).thenReturn("Bearer " + token);
-        when(jwtService.extractUsername(token)).thenReturn(username);
+        when(jwtService.verify(token)).thenReturn(verified(username));
 
         // When
         filter.doFilterInternal(request, response, filterChain);
 
         // Then
-        verify(jwtService).extractUsername(token);
+        verify(jwtService).verify(token);
         verify(userDetailsService, never()).loadUserByUsername(any());
         verify(filterChain).doFilter(request, response);
         
@@ -160,7 +247,7 @@ class JwtAuthFilterTest {
         filter.doFilterInternal(request, response, filterChain);
 
         // Then
-        verify(jwtService, never()).extractUsername(any());
+        verify(jwtService, never()).verify(any());
         verify(userDetailsService, never()).loadUserByUsername(any());
         verify(filterChain).doFilter(request, response);
     }
@@ -174,7 +261,7 @@ class JwtAuthFilterTest {
         filter.doFilterInternal(request, response, filterChain);
 
         // Then
-        verify(jwtService, never()).extractUsername(any());
+        verify(jwtService, never()).verify(any());
         verify(userDetailsService, never()).loadUserByUsername(any());
         verify(filterChain).doFilter(request, response);
     }
@@ -184,13 +271,13 @@ class JwtAuthFilterTest {
         // Given
         String token = "jwt-token";
         when(request.getHeader(HttpHeaders.AUTHORIZATION)).thenReturn("Bearer " + token);
-        when(jwtService.extractUsername(token)).thenThrow(new RuntimeException("JWT error"));
+        when(jwtService.verify(token)).thenThrow(new RuntimeException("JWT error"));
 
         // When
         filter.doFilterInternal(request, response, filterChain);
 
         // Then
-        verify(jwtService).extractUsername(token);
+        verify(jwtService).verify(token);
         verify(userDetailsService, never()).loadUserByUsername(any());
         verify(filterChain).doFilter(request, response);
     }
@@ -0,0 +1,57 @@
+package com.ironhack.lms.config;
+
+import com.ironhack.lms.domain.submission.SubmissionStatus;
+import com.ironhack.lms.repository.course.CourseRepository;
+import com.ironhack.lms.repository.enrollment.EnrollmentRepository;
+import com.ironhack.lms.repository.submission.AssignmentStatsRepository;
+import com.ironhack.lms.repository.submission.SubmissionRepository;
+import com.ironhack.lms.repository.user.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@ActiveProfiles({"test", "loadtest"})
+@SpringBootTest(properties = {
+        "app.loadtest.students=300",
+        "app.loadtest.instructors=3",
+        "app.loadtest.courses=12",
+        "app.loadtest.lessons-per-course=4",
+        "app.loadtest.assignments-per-course=3",
+        "app.loadtest.courses-per-student=2",
+        "app.loadtest.submissions=900",
+        "app.loadtest.graded-ratio=0.5"
+})
+class LoadTestDataGeneratorIT {
+    @Autowired UserRepository users;
+    @Autowired CourseRepository courses;
+    @Autowired EnrollmentRepository enrollments;
+    @Autowired SubmissionRepository submissions;
+    @Autowired AssignmentStatsRepository stats;
+    @Autowired PasswordEncoder encoder;
+
+    @Test
+    void generates_the_configured_volumes_with_consistent_stats() {
+        assertThat(users.findByEmail("load-student-300@lms.local")).isPresent();
+        assertThat(users.findByEmail("load-student-301@lms.local")).isEmpty();
+        assertThat(encoder.matches("password",
+                users.findByEmail("load-instructor-1@lms.local").orElseThrow().getPasswordHash())).isTrue();
+
+        assertThat(courses.findAll().stream().filter(c -> c.getTitle().startsWith("Load Course"))).hasSize(12);
+        assertThat(enrollments.count()).isGreaterThanOrEqualTo(600);
+
+        // 300 students x 2 courses x 3 assignments = 1800 slots for 900 submissions: about half
+        var generated = submissions.findAll().stream()
+                .filter(s -> s.getArtifactUrl().contains("load-student-")).toList();
+        assertThat(generated.size()).isBetween(750, 1050);
+
+        // stats were written for what was generated, not recomputed by SubmissionService
+        var perAssignment = stats.findAll();
+        assertThat(perAssignment.stream().mapToLong(st -> st.getSubmissionCount()).sum()).isEqualTo(generated.size());
+        assertThat(perAssignment.stream().mapToLong(st -> st.getGradedCount()).sum())
+                .isEqualTo(generated.stream().filter(s -> s.getStatus() == SubmissionStatus.GRADED).count());
+    }
+}
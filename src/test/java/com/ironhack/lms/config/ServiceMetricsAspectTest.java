@@ -0,0 +1,27 @@
+package com.ironhack.lms.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.web.server.ResponseStatusException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ServiceMetricsAspectTest {
+
+    @Test
+    void outcome_followsTheStatusOfResponseStatusExceptions() {
+        assertThat(ServiceMetricsAspect.outcome(new ResponseStatusException(HttpStatus.UNAUTHORIZED))).isEqualTo("unauthorized");
+        assertThat(ServiceMetricsAspect.outcome(new ResponseStatusException(HttpStatus.FORBIDDEN))).isEqualTo("forbidden");
+        assertThat(ServiceMetricsAspect.outcome(new ResponseStatusException(HttpStatus.NOT_FOUND))).isEqualTo("not_found");
+        assertThat(ServiceMetricsAspect.outcome(new ResponseStatusException(HttpStatus.CONFLICT))).isEqualTo("conflict");
+        assertThat(ServiceMetricsAspect.outcome(new ResponseStatusException(HttpStatus.PRECONDITION_FAILED))).isEqualTo("client_error");
+        assertThat(ServiceMetricsAspect.outcome(new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE))).isEqualTo("error");
+    }
+
+    @Test
+    void outcome_ofOtherExceptions() {
+        assertThat(ServiceMetricsAspect.outcome(new AccessDeniedException("no"))).isEqualTo("forbidden");
+        assertThat(ServiceMetricsAspect.outcome(new IllegalStateException())).isEqualTo("error");
+    }
+}
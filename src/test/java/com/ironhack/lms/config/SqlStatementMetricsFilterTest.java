@@ -0,0 +1,75 @@
+package com.ironhack.lms.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SqlStatementMetricsFilterTest {
+
+    RequestStatementCounter statements;
+    SqlQueryBudgets budgets;
+    SimpleMeterRegistry registry;
+    SqlStatementMetricsFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        statements = new RequestStatementCounter();
+        budgets = new SqlQueryBudgets();
+        budgets.setRoutes(Map.of("/api/things", 2));
+        registry = new SimpleMeterRegistry();
+        filter = new SqlStatementMetricsFilter(statements, budgets, registry);
+    }
+
+    /** A handler for /api/things that runs {@code queries} statements and writes a 200 body. */
+    private FilterChain handler(int queries) {
+        return (req, res) -> {
+            req.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/api/things");
+            for (int i = 0; i < queries; i++) statements.inspect("select 1");
+            res.getWriter().write("[\"thing\"]");
+        };
+    }
+
+    @Test
+    void failMode_overBudget_failsBeforeAnythingIsSent() {
+        budgets.setMode(SqlQueryBudgets.Mode.FAIL);
+        var res = new MockHttpServletResponse();
+
+        var ex = assertThrows(IllegalStateException.class,
+                () -> filter.doFilter(new MockHttpServletRequest("GET", "/api/things"), res, handler(3)));
+
+        assertEquals("GET /api/things issued 3 SQL statements, budget is 2", ex.getMessage());
+        assertFalse(res.isCommitted());
+        assertEquals(0, res.getContentAsByteArray().length);
+        assertEquals(1, registry.get("http.server.sql.budget.exceeded").counter().count());
+    }
+
+    @Test
+    void failMode_withinBudget_writesTheBufferedBody() throws Exception {
+        budgets.setMode(SqlQueryBudgets.Mode.FAIL);
+        var res = new MockHttpServletResponse();
+
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/things"), res, handler(2));
+
+        assertEquals("[\"thing\"]", res.getContentAsString());
+    }
+
+    @Test
+    void logMode_overBudget_onlyCountsTheRequest() throws Exception {
+        budgets.setMode(SqlQueryBudgets.Mode.LOG);
+        var res = new MockHttpServletResponse();
+
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/things"), res, handler(3));
+
+        assertEquals("[\"thing\"]", res.getContentAsString());
+        assertEquals(1, registry.get("http.server.sql.budget.exceeded").counter().count());
+        assertEquals(3, registry.get("http.server.sql.statements").summary().totalAmount());
+    }
+}
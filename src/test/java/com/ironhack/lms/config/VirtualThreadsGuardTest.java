@@ -0,0 +1,20 @@
+package com.ironhack.lms.config;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class VirtualThreadsGuardTest {
+
+    @Test
+    void refusesToStart_belowJava21() {
+        var ex = assertThrows(IllegalStateException.class, () -> new VirtualThreadsGuard(17));
+        assertTrue(ex.getMessage().contains("Java 21+"));
+    }
+
+    @Test
+    void allowsJava21AndLater() {
+        assertDoesNotThrow(() -> new VirtualThreadsGuard(21));
+        assertDoesNotThrow(() -> new VirtualThreadsGuard(25));
+    }
+}
@@ -0,0 +1,69 @@
+package com.ironhack.lms.service.auth;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LoginExecutorTest {
+
+    LoginExecutor executor = new LoginExecutor(1, 1, 5_000, new SimpleMeterRegistry());
+    CountDownLatch release = new CountDownLatch(1);
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        executor.shutdown();
+    }
+
+    @Test
+    void run_returnsResultOfTask() {
+        assertEquals("token", executor.run(() -> "token"));
+    }
+
+    @Test
+    void run_rethrowsAuthenticationFailures() {
+        assertThrows(BadCredentialsException.class,
+                () -> executor.run(() -> { throw new BadCredentialsException("bad"); }));
+    }
+
+    @Test
+    void run_rejectsWith503_whenPoolAndQueueAreFull() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CompletableFuture.runAsync(() -> executor.run(() -> { started.countDown(); return await(); }));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        CompletableFuture.runAsync(() -> executor.run(this::await)); // occupies the single queue slot
+        Thread.sleep(200);
+
+        var ex = assertThrows(ResponseStatusException.class, () -> executor.run(() -> "too many"));
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, ex.getStatusCode());
+    }
+
+    @Test
+    void run_timesOutWith503() {
+        LoginExecutor slow = new LoginExecutor(1, 1, 50, new SimpleMeterRegistry());
+        try {
+            var ex = assertThrows(ResponseStatusException.class, () -> slow.run(this::await));
+            assertEquals(HttpStatus.SERVICE_UNAVAILABLE, ex.getStatusCode());
+        } finally {
+            slow.shutdown();
+        }
+    }
+
+    private String await() {
+        try {
+            release.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return "done";
+    }
+}
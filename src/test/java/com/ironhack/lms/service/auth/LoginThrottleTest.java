@@ -0,0 +1,70 @@
+package com.ironhack.lms.service.auth;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LoginThrottleTest {
+
+    AtomicLong nanos = new AtomicLong();
+    SimpleMeterRegistry registry;
+    LoginThrottle throttle;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        // 3 attempts per email, 5 per IP, both refilling one token every 10 seconds
+        throttle = new LoginThrottle(new LoginThrottle.Limit(3, 6), new LoginThrottle.Limit(5, 6), nanos::get, registry);
+    }
+
+    @Test
+    void acquire_rejectsWith429AndRetryAfter_onceEmailBucketIsEmpty() {
+        for (int i = 0; i < 3; i++) throttle.acquire("s@lms.local", "10.0.0.1");
+
+        var ex = assertThrows(LoginThrottledException.class, () -> throttle.acquire("S@LMS.local", "10.0.0.1"));
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS, ex.getStatusCode());
+        assertEquals(11, ex.getRetryAfterSeconds());
+        assertEquals("11", ex.getHeaders().getFirst(HttpHeaders.RETRY_AFTER));
+        assertEquals(3, count("accepted", "none"));
+        assertEquals(1, count("rejected", "email"));
+    }
+
+    @Test
+    void acquire_refillsOverTime() {
+        for (int i = 0; i < 3; i++) throttle.acquire("s@lms.local", "10.0.0.1");
+        nanos.addAndGet(Duration.ofSeconds(10).toNanos());
+
+        assertDoesNotThrow(() -> throttle.acquire("s@lms.local", "10.0.0.1"));
+    }
+
+    @Test
+    void acquire_limitsPerIp_acrossEmails() {
+        for (int i = 0; i < 5; i++) throttle.acquire("user" + i + "@lms.local", "10.0.0.2");
+
+        var ex = assertThrows(ResponseStatusException.class, () -> throttle.acquire("other@lms.local", "10.0.0.2"));
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS, ex.getStatusCode());
+        assertEquals(1, count("rejected", "ip"));
+        assertDoesNotThrow(() -> throttle.acquire("other@lms.local", "10.0.0.3"));
+    }
+
+    @Test
+    void succeeded_doesNotCountAgainstTheLimits() {
+        for (int i = 0; i < 10; i++) {
+            throttle.acquire("s@lms.local", "10.0.0.4");
+            throttle.succeeded("s@lms.local", "10.0.0.4");
+        }
+        assertEquals(10, count("accepted", "none"));
+    }
+
+    private double count(String outcome, String reason) {
+        return registry.get("auth.login.attempts").tag("outcome", outcome).tag("reason", reason).counter().count();
+    }
+}
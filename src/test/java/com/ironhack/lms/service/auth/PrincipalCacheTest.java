@@ -0,0 +1,80 @@
+package com.ironhack.lms.service.auth;
+
+import com.ironhack.lms.domain.user.Role;
+import com.ironhack.lms.domain.user.Student;
+import com.ironhack.lms.domain.user.UserChangedEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PrincipalCacheTest {
+
+    PrincipalCache cache;
+    AtomicInteger loads;
+    Function<String, UserDetails> loader;
+
+    @BeforeEach
+    void setUp() {
+        cache = new PrincipalCache(100, 60, new SimpleMeterRegistry());
+        loads = new AtomicInteger();
+        loader = email -> {
+            loads.incrementAndGet();
+            return User.withUsername(email).password("x").authorities("ROLE_STUDENT").build();
+        };
+    }
+
+    @Test
+    void get_sameSubjectAndIssuedAt_loadsOnce() {
+        Date iat = new Date(1_000L);
+        cache.get("s@lms.local", iat, loader);
+        cache.get("s@lms.local", iat, loader);
+
+        assertEquals(1, loads.get());
+        assertEquals(1, cache.stats().hitCount());
+        assertEquals(1, cache.stats().missCount());
+    }
+
+    @Test
+    void get_newIssuedAt_loadsAgain() {
+        cache.get("s@lms.local", new Date(1_000L), loader);
+        cache.get("s@lms.local", new Date(2_000L), loader);
+
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void userChanged_evictsAllTokensOfThatUser() {
+        cache.get("s@lms.local", new Date(1_000L), loader);
+        cache.get("s@lms.local", new Date(2_000L), loader);
+        cache.get("other@lms.local", new Date(1_000L), loader);
+
+        cache.onUserChanged(new UserChangedEvent(1L, "s@lms.local"));
+        cache.get("s@lms.local", new Date(1_000L), loader);
+        cache.get("other@lms.local", new Date(1_000L), loader);
+
+        assertEquals(4, loads.get());
+    }
+
+    @Test
+    void userChanged_afterEmailChange_evictsEntriesUnderTheOldEmail() {
+        Function<String, UserDetails> principals = email -> {
+            loads.incrementAndGet();
+            return new AppUserPrincipal(new CurrentUser(7L, email, Role.STUDENT, Student.class), "x", List.of());
+        };
+        cache.get("old@lms.local", new Date(1_000L), principals);
+
+        cache.onUserChanged(new UserChangedEvent(7L, "new@lms.local"));
+        cache.get("old@lms.local", new Date(1_000L), principals);
+
+        assertEquals(2, loads.get());
+    }
+}
@@ -0,0 +1,81 @@
+package com.ironhack.lms.service.auth;
+
+import com.ironhack.lms.repository.user.RefreshTokenRepository;
+import com.ironhack.lms.repository.user.TokenRevocationRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Instant;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class TokenVersionServiceTest {
+
+    TokenRevocationRepository revocations;
+    RefreshTokenRepository refreshTokens;
+    TokenVersionService service;
+
+    @BeforeEach
+    void setUp() {
+        revocations = mock(TokenRevocationRepository.class);
+        refreshTokens = mock(RefreshTokenRepository.class);
+        when(revocations.findTokenVersion(7L)).thenReturn(Optional.of(1));
+        service = new TokenVersionService(revocations, refreshTokens, null);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void revokeAll_withoutTransaction_bumpsVersionImmediately() {
+        service.revokeAll(7L);
+
+        assertEquals(1, service.currentVersion(7L));
+        assertFalse(service.isCurrent(7L, 0));
+        verify(revocations).bumpVersion(eq(7L), any(Instant.class));
+        verify(refreshTokens).deleteByUserId(7L);
+    }
+
+    @Test
+    void revokeAll_inTransaction_bumpsVersionOnlyAfterCommit() {
+        TransactionSynchronizationManager.initSynchronization();
+
+        service.revokeAll(7L);
+        assertEquals(0, service.currentVersion(7L));
+
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        assertEquals(1, service.currentVersion(7L));
+    }
+
+    @Test
+    void revokeAll_rolledBack_leavesVersionUntouched() {
+        TransactionSynchronizationManager.initSynchronization();
+
+        service.revokeAll(7L);
+        TransactionSynchronizationManager.getSynchronizations()
+                .forEach(s -> s.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+
+        assertEquals(0, service.currentVersion(7L));
+    }
+
+    @Test
+    void issuingVersion_readsTheTableAheadOfTheSnapshot() {
+        // revoked on another instance, not yet picked up by refresh()
+        when(revocations.findTokenVersion(9L)).thenReturn(Optional.of(4));
+
+        assertEquals(4, service.issuingVersion(9L));
+        assertTrue(service.isCurrent(9L, 4));
+        assertFalse(service.isCurrent(9L, 3));
+    }
+}
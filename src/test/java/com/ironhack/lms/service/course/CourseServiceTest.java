@@ -3,16 +3,26 @@ package com.ironhack.lms.service.course;
 import com.ironhack.lms.domain.course.*;
 import com.ironhack.lms.domain.user.Instructor;
 import com.ironhack.lms.domain.user.Role;
+import com.ironhack.lms.domain.enrollment.EnrollmentStatus;
+import com.ironhack.lms.domain.user.Student;
 import com.ironhack.lms.repository.course.AssignmentRepository;
+import com.ironhack.lms.repository.course.CourseAccess;
 import com.ironhack.lms.repository.course.CourseRepository;
 import com.ironhack.lms.repository.course.LessonRepository;
 import com.ironhack.lms.repository.user.UserRepository;
+import com.ironhack.lms.service.auth.CurrentUserResolver;
 import com.ironhack.lms.web.course.dto.*;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import jakarta.persistence.EntityManager;
 import org.mockito.*;
 import org.mockito.junit.jupiter.MockitoExtension;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.http.HttpStatus;
 import org.springframework.security.authentication.TestingAuthenticationToken;
 import org.springframework.web.server.ResponseStatusException;
@@ -31,8 +41,10 @@ class CourseServiceTest {
     @Mock(lenient = true) LessonRepository lessons;
     @Mock(lenient = true) AssignmentRepository assignments;
     @Mock(lenient = true) UserRepository users;
+    @Mock(lenient = true) EntityManager em;
+    @Mock ApplicationEventPublisher events;
 
-    @InjectMocks CourseService service;
+    CourseService service;
 
     Instructor owner;
     Course course;
@@ -55,6 +67,13 @@ class CourseServiceTest {
         ownerAuth = new TestingAuthenticationToken(owner.getEmail(), "n/a");
         when(users.findByEmail(owner.getEmail())).thenReturn(Optional.of(owner));
         when(courses.findById(100L)).thenReturn(Optional.of(course));
+        when(courses.findForContentUpdate(100L)).thenReturn(Optional.of(course));
+        when(em.getReference(Instructor.class, owner.getId())).thenReturn(owner);
+        when(courses.findAccess(eq(100L), any())).thenReturn(
+                Optional.of(new CourseAccess(CourseStatus.PUBLISHED, owner.getId(), null, 0L, Instant.EPOCH)));
+
+        service = new CourseService(courses, lessons, assignments, new CurrentUserResolver(users, em),
+                new CatalogCache(100, 60, new SimpleMeterRegistry()), events);
     }
 
     @Test
@@ -92,7 +111,31 @@ class CourseServiceTest {
     @Test
     void deleteCourse_happyPath_deletes() {
         assertDoesNotThrow(() -> service.deleteCourse(100L, ownerAuth));
-        verify(courses).delete(course);
+        InOrder order = inOrder(lessons, assignments, courses);
+        order.verify(lessons).deleteByCourseId(100L);
+        order.verify(assignments).deleteByCourseId(100L);
+        order.verify(courses).delete(course);
+    }
+
+    @Test
+    void listPublished_secondCall_servedFromCatalogCache() {
+        var page = PageRequest.of(0, 10);
+        when(courses.findByStatus(CourseStatus.PUBLISHED, page)).thenReturn(new PageImpl<>(List.of(course), page, 1));
+
+        Page<CourseResponse> first = service.listPublished(page);
+        Page<CourseResponse> second = service.listPublished(page);
+
+        assertEquals(first.getContent(), second.getContent());
+        verify(courses, times(1)).findByStatus(CourseStatus.PUBLISHED, page);
+    }
+
+    @Test
+    void updateCourse_publishesCourseChangedEvent() {
+        when(courses.save(any(Course.class))).thenAnswer(inv -> inv.getArgument(0));
+
+        service.updateCourse(100L, new CourseUpdateRequest("T", "D", CourseStatus.DRAFT), ownerAuth);
+
+        verify(events).publishEvent(new CourseChangedEvent(100L));
     }
 
     @Test
@@ -115,6 +158,7 @@ class CourseServiceTest {
         
         assertEquals(50L, lessonId);
         verify(lessons).save(any(Lesson.class));
+        assertEquals(1, course.getContentVersion()); // new ETag for the course content
     }
 
     @Test
@@ -188,4 +232,52 @@ class CourseServiceTest {
         assertEquals(1, result.size());
         assertEquals("HW1", result.get(0).title());
     }
+
+    @Test
+    void listLessonsForRead_owner_works() {
+        when(lessons.findByCourse_IdOrderByOrderIndexAsc(100L)).thenReturn(List.of(new Lesson()));
+
+        assertEquals(1, service.listLessonsForRead(100L, ownerAuth).size());
+        verify(courses, never()).findById(any());
+    }
+
+    @Test
+    void listAssignmentsForRead_enrolledStudent_works() {
+        Student student = new Student();
+        student.setId(20L);
+        student.setEmail("s@lms.local");
+        student.setRole(Role.STUDENT);
+        when(users.findByEmail("s@lms.local")).thenReturn(Optional.of(student));
+        when(courses.findAccess(100L, 20L)).thenReturn(
+                Optional.of(new CourseAccess(CourseStatus.PUBLISHED, owner.getId(), EnrollmentStatus.ACTIVE, 0L, Instant.EPOCH)));
+        when(assignments.findByCourse_Id(100L)).thenReturn(List.of(new Assignment()));
+
+        var result = service.listAssignmentsForRead(100L, new TestingAuthenticationToken("s@lms.local", "n/a"));
+        assertEquals(1, result.size());
+    }
+
+    @Test
+    void listLessonsForRead_notEnrolledStudent_forbidden() {
+        Student student = new Student();
+        student.setId(21L);
+        student.setEmail("n@lms.local");
+        student.setRole(Role.STUDENT);
+        when(users.findByEmail("n@lms.local")).thenReturn(Optional.of(student));
+        when(courses.findAccess(100L, 21L)).thenReturn(
+                Optional.of(new CourseAccess(CourseStatus.PUBLISHED, owner.getId(), EnrollmentStatus.CANCELLED, 0L, Instant.EPOCH)));
+
+        var ex = assertThrows(ResponseStatusException.class,
+                () -> service.listLessonsForRead(100L, new TestingAuthenticationToken("n@lms.local", "n/a")));
+        assertEquals(HttpStatus.FORBIDDEN, ex.getStatusCode());
+    }
+
+    @Test
+    void listAssignmentsForRead_draft_requiresOwner() {
+        when(courses.findAccess(eq(100L), any())).thenReturn(
+                Optional.of(new CourseAccess(CourseStatus.DRAFT, 99L, null, 0L, Instant.EPOCH)));
+
+        var ex = assertThrows(ResponseStatusException.class,
+                () -> service.listAssignmentsForRead(100L, ownerAuth));
+        assertEquals(HttpStatus.FORBIDDEN, ex.getStatusCode());
+    }
 }
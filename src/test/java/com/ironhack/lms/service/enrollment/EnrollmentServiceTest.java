@@ -10,10 +10,12 @@ import com.ironhack.lms.domain.user.Student;
 import com.ironhack.lms.repository.course.CourseRepository;
 import com.ironhack.lms.repository.enrollment.EnrollmentRepository;
 import com.ironhack.lms.repository.user.UserRepository;
+import com.ironhack.lms.service.auth.CurrentUserResolver;
+import com.ironhack.lms.web.enrollment.dto.EnrollmentResponse;
+import jakarta.persistence.EntityManager;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.PageImpl;
@@ -35,8 +37,9 @@ class EnrollmentServiceTest {
     @Mock(lenient = true) EnrollmentRepository enrollments;
     @Mock(lenient = true) CourseRepository courses;
     @Mock(lenient = true) UserRepository users;
+    @Mock(lenient = true) EntityManager em;
 
-    @InjectMocks EnrollmentService service;
+    EnrollmentService service;
 
     Student student;
     Course course;
@@ -73,6 +76,9 @@ class EnrollmentServiceTest {
         when(users.findByEmail(instructor.getEmail())).thenReturn(Optional.of(instructor));
         when(users.findByEmail(admin.getEmail())).thenReturn(Optional.of(admin));
         when(courses.findById(100L)).thenReturn(Optional.of(course));
+        when(em.getReference(Student.class, student.getId())).thenReturn(student);
+
+        service = new EnrollmentService(enrollments, courses, new CurrentUserResolver(users, em));
 
         studentAuth = new TestingAuthenticationToken(student.getEmail(), "n/a");
         instructorAuth = new TestingAuthenticationToken(instructor.getEmail(), "n/a");
@@ -130,14 +136,10 @@ class EnrollmentServiceTest {
 
     @Test
     void myEnrollments_happyPath_returnsList() {
-        Enrollment enrollment = new Enrollment();
-        enrollment.setId(1L);
-        enrollment.setCourse(course);
-        enrollment.setStudent(student);
-        enrollment.setStatus(EnrollmentStatus.ACTIVE);
-        enrollment.setEnrolledAt(Instant.now());
+        var enrollment = new EnrollmentResponse(1L, course.getId(), course.getTitle(),
+                EnrollmentStatus.ACTIVE, Instant.now());
 
-        when(enrollments.findByStudent_Id(eq(20L), any(PageRequest.class)))
+        when(enrollments.findResponsesByStudent(eq(20L), any(PageRequest.class)))
                 .thenReturn(new PageImpl<>(List.of(enrollment)));
 
         var result = service.myEnrollments(studentAuth, PageRequest.of(0, 10));
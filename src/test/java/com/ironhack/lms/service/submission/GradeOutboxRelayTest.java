@@ -0,0 +1,68 @@
+package com.ironhack.lms.service.submission;
+
+import com.ironhack.lms.domain.submission.GradeEvent;
+import com.ironhack.lms.repository.submission.GradeEventRepository;
+import com.ironhack.lms.service.enrollment.EnrollmentCompletionService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class GradeOutboxRelayTest {
+
+    GradeEventRepository events = mock(GradeEventRepository.class);
+    EnrollmentCompletionService completion = mock(EnrollmentCompletionService.class);
+    GradeOutboxRelay relay = new GradeOutboxRelay(events, completion, mock(PlatformTransactionManager.class),
+            new SimpleMeterRegistry(), false, 2, 10, 5);
+
+    @AfterEach
+    void tearDown() {
+        relay.shutdown();
+    }
+
+    private static GradeEvent event(long id, long courseId, long studentId, int attempts) {
+        var e = new GradeEvent();
+        e.setId(id); e.setCourseId(courseId); e.setStudentId(studentId); e.setAttempts(attempts);
+        return e;
+    }
+
+    @Test
+    void drain_evaluatesAndDeletesEachDueEvent() {
+        when(events.findDue(any(), eq(5), eq(Limit.of(10))))
+                .thenReturn(List.of(event(1, 200, 30, 0), event(2, 200, 31, 0)))
+                .thenReturn(List.of());
+
+        assertEquals(2, relay.drain());
+
+        verify(completion).evaluate(200L, 30L);
+        verify(completion).evaluate(200L, 31L);
+        verify(events).deleteNow(1L);
+        verify(events).deleteNow(2L);
+    }
+
+    @Test
+    void drain_keepsFailedEventForRetry_withBackoff() {
+        when(events.findDue(any(), anyInt(), any())).thenReturn(List.of(event(7, 200, 30, 2))).thenReturn(List.of());
+        when(completion.evaluate(200L, 30L)).thenThrow(new IllegalStateException("db down"));
+
+        Instant before = Instant.now();
+        assertEquals(0, relay.drain());
+
+        verify(events, never()).deleteNow(any());
+        verify(events).markFailed(eq(7L), argThat(at -> !at.isBefore(before.plusSeconds(8))), eq("db down"));
+    }
+
+    @Test
+    void poll_doesNothing_whenDisabled() {
+        relay.poll();
+        verifyNoInteractions(events, completion);
+    }
+}
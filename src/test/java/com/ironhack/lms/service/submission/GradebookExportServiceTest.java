@@ -0,0 +1,35 @@
+package com.ironhack.lms.service.submission;
+
+import com.ironhack.lms.domain.submission.SubmissionStatus;
+import com.ironhack.lms.repository.submission.GradebookRow;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GradebookExportServiceTest {
+
+    @Test
+    void csvField_quotesOnlyWhenNeeded() {
+        assertEquals("plain", GradebookExportService.csvField("plain"));
+        assertEquals("\"a,b\"", GradebookExportService.csvField("a,b"));
+        assertEquals("\"say \"\"hi\"\"\"", GradebookExportService.csvField("say \"hi\""));
+        assertEquals("\"two\nlines\"", GradebookExportService.csvField("two\nlines"));
+        assertEquals("", GradebookExportService.csvField(null));
+    }
+
+    @Test
+    void csvField_defusesFormulas() {
+        assertEquals("'=SUM(A1:A9)", GradebookExportService.csvField("=SUM(A1:A9)"));
+        assertEquals("'@cmd", GradebookExportService.csvField("@cmd"));
+    }
+
+    @Test
+    void csv_rendersUngradedScoreAsEmpty() {
+        var row = new GradebookRow(1L, 2L, "HW", 100, 3L, "s@lms.local", "Stu Dent", null,
+                Instant.parse("2024-01-15T10:30:00Z"), SubmissionStatus.SUBMITTED, null, 1);
+        assertEquals("1,2,HW,100,3,s@lms.local,Stu Dent,,2024-01-15T10:30:00Z,SUBMITTED,,1",
+                GradebookExportService.csv(row));
+    }
+}
@@ -7,15 +7,21 @@ import com.ironhack.lms.domain.user.*;
 import com.ironhack.lms.repository.course.AssignmentRepository;
 import com.ironhack.lms.repository.course.CourseRepository;
 import com.ironhack.lms.repository.enrollment.EnrollmentRepository;
+import com.ironhack.lms.repository.submission.AssignmentStatsRepository;
 import com.ironhack.lms.repository.submission.SubmissionRepository;
 import com.ironhack.lms.repository.user.UserRepository;
+import com.ironhack.lms.service.auth.CurrentUserResolver;
+import jakarta.persistence.EntityManager;
+import com.ironhack.lms.web.submission.dto.BulkGradeItem;
+import com.ironhack.lms.web.submission.dto.BulkGradeRequest;
+import com.ironhack.lms.web.submission.dto.BulkGradeResult;
 import com.ironhack.lms.web.submission.dto.GradeRequest;
 import com.ironhack.lms.web.submission.dto.ResubmitRequest;
 import com.ironhack.lms.web.submission.dto.SubmissionCreateRequest;
+import com.ironhack.lms.web.submission.dto.SubmissionResponse;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.PageImpl;
@@ -39,8 +45,11 @@ class SubmissionServiceTest {
     @Mock(lenient = true) EnrollmentRepository enrollments;
     @Mock(lenient = true) CourseRepository courses;
     @Mock(lenient = true) UserRepository users;
+    @Mock(lenient = true) EntityManager em;
+    @Mock(lenient = true) AssignmentStatsRepository stats;
+    @Mock(lenient = true) GradeOutbox outbox;
 
-    @InjectMocks SubmissionService service;
+    SubmissionService service;
 
     Student student;
     Instructor instr;
@@ -64,6 +73,10 @@ class SubmissionServiceTest {
         when(users.findByEmail(student.getEmail())).thenReturn(Optional.of(student));
         when(users.findByEmail(instr.getEmail())).thenReturn(Optional.of(instr));
         when(assignments.findById(300L)).thenReturn(Optional.of(hw));
+        when(em.getReference(Student.class, student.getId())).thenReturn(student);
+
+        service = new SubmissionService(submissions, assignments, enrollments, courses, new CurrentUserResolver(users, em),
+                new GradebookStats(stats), outbox);
 
         studentAuth = new TestingAuthenticationToken(student.getEmail(), "x");
         instrAuth   = new TestingAuthenticationToken(instr.getEmail(), "x");
@@ -72,7 +85,7 @@ class SubmissionServiceTest {
     @Test
     void submit_ok_createsOrUpdates_and_versionBumps() {
         when(enrollments.existsByCourse_IdAndStudent_Id(200L, 30L)).thenReturn(true);
-        when(submissions.findByAssignment_IdAndStudent_Id(300L, 30L)).thenReturn(Optional.empty());
+        when(submissions.findForSubmitting(300L, 30L)).thenReturn(Optional.empty());
         when(submissions.save(any())).thenAnswer(inv -> inv.getArgument(0));
 
         var dto = service.submit(300L, new SubmissionCreateRequest("https://repo"), studentAuth);
@@ -81,9 +94,11 @@ class SubmissionServiceTest {
 
         // second submit -> version 2
         var existing = new Submission(); existing.setId(1L); existing.setAssignment(hw); existing.setStudent(student); existing.setVersion(1);
-        when(submissions.findByAssignment_IdAndStudent_Id(300L, 30L)).thenReturn(Optional.of(existing));
+        when(submissions.findForSubmitting(300L, 30L)).thenReturn(Optional.of(existing));
         dto = service.submit(300L, new SubmissionCreateRequest("https://repo2"), studentAuth);
         assertEquals(2, dto.version());
+        // only the first submit adds to the assignment's totals
+        verify(stats, times(1)).applyDelta(300L, 200L, 1, 0, 0L);
     }
 
     @Test
@@ -99,7 +114,7 @@ class SubmissionServiceTest {
     @Test
     void grade_scoreOutOfRange_400() {
         var s = new Submission(); s.setId(1L); s.setAssignment(hw); s.setStudent(student); s.setVersion(1);
-        when(submissions.findById(1L)).thenReturn(Optional.of(s));
+        when(submissions.findForGrading(1L)).thenReturn(Optional.of(s));
         when(courses.existsByIdAndInstructor_Id(200L, 40L)).thenReturn(true);
 
         var ex = assertThrows(ResponseStatusException.class,
@@ -110,7 +125,7 @@ class SubmissionServiceTest {
     @Test
     void grade_byStudent_forbidden_403() {
         var s = new Submission(); s.setId(1L); s.setAssignment(hw); s.setStudent(student);
-        when(submissions.findById(1L)).thenReturn(Optional.of(s));
+        when(submissions.findForGrading(1L)).thenReturn(Optional.of(s));
 
         // deny instructor check
         when(courses.existsByIdAndInstructor_Id(200L, 30L)).thenReturn(false);
@@ -123,16 +138,10 @@ class SubmissionServiceTest {
     @Test
     void listByCourse_instructor_works() {
         when(courses.existsByIdAndInstructor_Id(200L, instr.getId())).thenReturn(true);
-        Submission submission = new Submission();
-        submission.setId(1L);
-        submission.setAssignment(hw);
-        submission.setStudent(student);
-        submission.setSubmittedAt(Instant.now());
-        submission.setArtifactUrl("http://example.com/artifact");
-        submission.setStatus(SubmissionStatus.SUBMITTED);
-        submission.setVersion(1);
-
-        when(submissions.findByAssignment_Course_Id(eq(200L), any(PageRequest.class)))
+        var submission = new SubmissionResponse(1L, hw.getId(), 200L, student.getId(), Instant.now(),
+                "http://example.com/artifact", SubmissionStatus.SUBMITTED, null, null, 1);
+
+        when(submissions.findResponsesByCourse(eq(200L), any(PageRequest.class)))
                 .thenReturn(new PageImpl<>(List.of(submission)));
 
         var result = service.listByCourse(200L, instrAuth, PageRequest.of(0, 10));
@@ -143,16 +152,10 @@ class SubmissionServiceTest {
 
     @Test
     void mySubmissions_student_works() {
-        Submission submission = new Submission();
-        submission.setId(1L);
-        submission.setAssignment(hw);
-        submission.setStudent(student);
-        submission.setSubmittedAt(Instant.now());
-        submission.setArtifactUrl("http://example.com/artifact");
-        submission.setStatus(SubmissionStatus.SUBMITTED);
-        submission.setVersion(1);
-
-        when(submissions.findByStudent_Id(eq(30L), any(PageRequest.class)))
+        var submission = new SubmissionResponse(1L, hw.getId(), 200L, student.getId(), Instant.now(),
+                "http://example.com/artifact", SubmissionStatus.SUBMITTED, null, null, 1);
+
+        when(submissions.findResponsesByStudent(eq(30L), any(PageRequest.class)))
                 .thenReturn(new PageImpl<>(List.of(submission)));
 
         var result = service.mySubmissions(studentAuth, PageRequest.of(0, 10));
@@ -177,7 +180,7 @@ class SubmissionServiceTest {
         s.setStatus(SubmissionStatus.SUBMITTED);
         s.setVersion(1);
         
-        when(submissions.findById(1L)).thenReturn(Optional.of(s));
+        when(submissions.findForGrading(1L)).thenReturn(Optional.of(s));
         when(courses.existsByIdAndInstructor_Id(200L, 40L)).thenReturn(true);
         when(submissions.save(any(Submission.class))).thenAnswer(inv -> inv.getArgument(0));
 
@@ -194,7 +197,7 @@ class SubmissionServiceTest {
         s.setAssignment(hw); 
         s.setStudent(student);
         
-        when(submissions.findById(1L)).thenReturn(Optional.of(s));
+        when(submissions.findForGrading(1L)).thenReturn(Optional.of(s));
         when(courses.existsByIdAndInstructor_Id(200L, 30L)).thenReturn(false);
 
         var ex = assertThrows(ResponseStatusException.class,
@@ -204,10 +207,58 @@ class SubmissionServiceTest {
 
     @Test
     void requestResubmission_nonExistentSubmission_notFound() {
-        when(submissions.findById(999L)).thenReturn(Optional.empty());
+        when(submissions.findForGrading(999L)).thenReturn(Optional.empty());
         
         var ex = assertThrows(ResponseStatusException.class,
                 () -> service.requestResubmission(999L, new ResubmitRequest("test"), instrAuth));
         assertEquals(HttpStatus.NOT_FOUND, ex.getStatusCode());
     }
+
+    @Test
+    void gradeBatch_appliesValidItems_andReportsTheRest() {
+        when(courses.existsByIdAndInstructor_Id(200L, 40L)).thenReturn(true);
+        var s1 = new Submission(); s1.setId(1L); s1.setAssignment(hw); s1.setStudent(student);
+        var s2 = new Submission(); s2.setId(2L); s2.setAssignment(hw); s2.setStudent(student);
+        when(submissions.findForGrading(eq(200L), anyCollection())).thenReturn(List.of(s1, s2));
+
+        var results = service.gradeBatch(200L, new BulkGradeRequest(List.of(
+                new BulkGradeItem(1L, 90, "good"),
+                new BulkGradeItem(2L, 101, "too much"),
+                new BulkGradeItem(3L, 50, "elsewhere"),
+                new BulkGradeItem(1L, 10, "again"))), instrAuth);
+
+        assertEquals(List.of(BulkGradeResult.Outcome.GRADED, BulkGradeResult.Outcome.INVALID_SCORE,
+                        BulkGradeResult.Outcome.NOT_FOUND, BulkGradeResult.Outcome.DUPLICATE),
+                results.stream().map(BulkGradeResult::outcome).toList());
+        assertEquals(90, s1.getScore());
+        assertEquals(SubmissionStatus.GRADED, s1.getStatus());
+        assertNull(s2.getScore());
+        verify(submissions, times(1)).findForGrading(eq(200L), anyCollection());
+        verify(courses, times(1)).existsByIdAndInstructor_Id(200L, 40L);
+        verify(stats, times(1)).applyDelta(300L, 200L, 0, 1, 90L);
+        verify(outbox).graded(List.of(s1));
+    }
+
+    @Test
+    void requestResubmission_ofGradedSubmission_takesItsScoreOutOfTheStats() {
+        var s = new Submission(); s.setId(1L); s.setAssignment(hw); s.setCourseId(200L); s.setStudent(student);
+        s.setStatus(SubmissionStatus.GRADED); s.setScore(80);
+        when(submissions.findForGrading(1L)).thenReturn(Optional.of(s));
+        when(courses.existsByIdAndInstructor_Id(200L, 40L)).thenReturn(true);
+        when(submissions.save(any(Submission.class))).thenAnswer(inv -> inv.getArgument(0));
+
+        service.requestResubmission(1L, new ResubmitRequest("Try again"), instrAuth);
+
+        verify(stats).applyDelta(300L, 200L, 0, -1, -80L);
+    }
+
+    @Test
+    void gradeBatch_notOwner_forbidden_403() {
+        when(courses.existsByIdAndInstructor_Id(200L, 40L)).thenReturn(false);
+
+        var ex = assertThrows(ResponseStatusException.class, () -> service.gradeBatch(200L,
+                new BulkGradeRequest(List.of(new BulkGradeItem(1L, 90, null))), instrAuth));
+        assertEquals(HttpStatus.FORBIDDEN, ex.getStatusCode());
+        verify(submissions, never()).findForGrading(any(), any());
+    }
 }
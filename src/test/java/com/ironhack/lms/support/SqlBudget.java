@@ -0,0 +1,36 @@
+package com.ironhack.lms.support;
+
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Repeatable;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Caps the SQL statements of every request to {@link #route()} with {@link #method()} made while
+ * the annotated test runs (the route is the handler pattern, e.g. {@code /api/courses/{id}/lessons}).
+ * A request over the cap throws from {@code mvc.perform(..)} with the route, the count and the
+ * cap, whatever the configured {@code app.sql.budget.mode}. Works on {@code @SpringBootTest} +
+ * MockMvc tests.
+ */
+@Target({ElementType.TYPE, ElementType.METHOD})
+@Retention(RetentionPolicy.RUNTIME)
+@Repeatable(SqlBudget.List.class)
+@ExtendWith(SqlBudgetExtension.class)
+public @interface SqlBudget {
+
+    String method() default "GET";
+
+    String route();
+
+    int max();
+
+    @Target({ElementType.TYPE, ElementType.METHOD})
+    @Retention(RetentionPolicy.RUNTIME)
+    @ExtendWith(SqlBudgetExtension.class)
+    @interface List {
+        SqlBudget[] value();
+    }
+}
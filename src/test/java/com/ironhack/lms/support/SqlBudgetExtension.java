@@ -0,0 +1,56 @@
+package com.ironhack.lms.support;
+
+import com.ironhack.lms.config.SqlQueryBudgets;
+import org.junit.jupiter.api.extension.AfterEachCallback;
+import org.junit.jupiter.api.extension.BeforeEachCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.platform.commons.support.AnnotationSupport;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Applies {@link SqlBudget} caps to the shared {@link SqlQueryBudgets} bean for one test and puts
+ * the configured budgets back afterwards, so the application context stays shareable.
+ */
+class SqlBudgetExtension implements BeforeEachCallback, AfterEachCallback {
+
+    private static final ExtensionContext.Namespace NS = ExtensionContext.Namespace.create(SqlBudgetExtension.class);
+
+    private record Saved(SqlQueryBudgets.Mode mode, Map<String, Integer> routes) {}
+
+    @Override
+    public void beforeEach(ExtensionContext context) {
+        List<SqlBudget> caps = new ArrayList<>(
+                AnnotationSupport.findRepeatableAnnotations(context.getRequiredTestClass(), SqlBudget.class));
+        caps.addAll(AnnotationSupport.findRepeatableAnnotations(context.getRequiredTestMethod(), SqlBudget.class));
+        if (caps.isEmpty()) return;
+
+        SqlQueryBudgets budgets = budgets(context);
+        context.getStore(NS).put(Saved.class, new Saved(budgets.getMode(), new LinkedHashMap<>(budgets.getRoutes())));
+        Map<String, Integer> routes = new LinkedHashMap<>(budgets.getRoutes());
+        caps.forEach(cap -> routes.put(key(cap), cap.max())); // method caps win over class caps
+        budgets.setRoutes(routes);
+        budgets.setMode(SqlQueryBudgets.Mode.FAIL);
+    }
+
+    @Override
+    public void afterEach(ExtensionContext context) {
+        Saved saved = context.getStore(NS).remove(Saved.class, Saved.class);
+        if (saved == null) return;
+        SqlQueryBudgets budgets = budgets(context);
+        budgets.setRoutes(saved.routes());
+        budgets.setMode(saved.mode());
+    }
+
+    private static String key(SqlBudget cap) {
+        return "GET".equals(cap.method()) ? cap.route() : cap.method() + " " + cap.route();
+    }
+
+    private static SqlQueryBudgets budgets(ExtensionContext context) {
+        return SpringExtension.getApplicationContext(context).getBean(SqlQueryBudgets.class);
+    }
+}
@@ -1,6 +1,7 @@
 package com.ironhack.lms.web;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ironhack.lms.support.SqlBudget;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
@@ -32,6 +33,7 @@ class ErrorHandlerIT {
     }
 
     @Test
+    @SqlBudget(method = "POST", route = "/api/courses", max = 1)
     void validation_error_when_empty_course_title() throws Exception {
         String instructorToken = login("instructor@lms.local", "password");
         
@@ -50,6 +52,7 @@ class ErrorHandlerIT {
     }
 
     @Test
+    @SqlBudget(method = "POST", route = "/api/courses", max = 1)
     void validation_error_when_malformed_json() throws Exception {
         String instructorToken = login("instructor@lms.local", "password");
         
@@ -65,6 +68,7 @@ class ErrorHandlerIT {
     }
 
     @Test
+    @SqlBudget(route = "/api/courses/{id}", max = 1)
     void type_mismatch_error_when_invalid_course_id() throws Exception {
         String instructorToken = login("instructor@lms.local", "password");
         
@@ -91,6 +95,7 @@ class ErrorHandlerIT {
     }
 
     @Test
+    @SqlBudget(method = "POST", route = "/api/courses", max = 1)
     void forbidden_error_when_student_tries_to_create_course() throws Exception {
         String studentToken = login("student@lms.local", "password");
         
@@ -107,6 +112,7 @@ class ErrorHandlerIT {
     }
 
     @Test
+    @SqlBudget(route = "/api/courses/{id}", max = 1)
     void not_found_error_when_accessing_nonexistent_course() throws Exception {
         mvc.perform(get("/api/courses/99999"))
                 .andExpect(status().isNotFound())
@@ -114,6 +120,7 @@ class ErrorHandlerIT {
     }
 
     @Test
+    @SqlBudget(method = "POST", route = "/api/courses/{courseId}/enroll", max = 5)
     void conflict_error_when_duplicate_enrollment() throws Exception {
         String instructorToken = login("instructor@lms.local", "password");
         String studentToken = login("student@lms.local", "password");
@@ -154,6 +161,7 @@ class ErrorHandlerIT {
     }
 
     @Test
+    @SqlBudget(method = "POST", route = "/api/courses/{id}/assignments", max = 1)
     void bad_request_when_invalid_assignment_data() throws Exception {
         String instructorToken = login("instructor@lms.local", "password");
         
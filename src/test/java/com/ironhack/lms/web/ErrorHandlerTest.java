@@ -0,0 +1,36 @@
+package com.ironhack.lms.web;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.transaction.CannotCreateTransactionException;
+
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ErrorHandlerTest {
+
+    ErrorHandler handler = new ErrorHandler();
+
+    @Test
+    void poolTimeout_is503_withRetryAfter() {
+        var ex = new CannotCreateTransactionException("Could not open JPA EntityManager",
+                new RuntimeException(new SQLTransientConnectionException("HikariPool-1 - Connection is not available")));
+
+        var response = handler.handleConnectionFailure(ex);
+
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, response.getStatusCode());
+        assertEquals("1", response.getHeaders().getFirst(HttpHeaders.RETRY_AFTER));
+    }
+
+    @Test
+    void otherConnectionFailures_stay500() {
+        var ex = new CannotCreateTransactionException("Could not open JPA EntityManager", new SQLException("boom"));
+
+        var response = handler.handleConnectionFailure(ex);
+
+        assertEquals(HttpStatus.INTERNAL_SERVER_ERROR, response.getStatusCode());
+    }
+}
@@ -0,0 +1,86 @@
+package com.ironhack.lms.web;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.prometheusmetrics.PrometheusMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@ActiveProfiles("test")
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureObservability(tracing = false) // tests get a simple registry unless exporters are asked for
+class MetricsIT {
+    @Autowired MockMvc mvc;
+    @Autowired ObjectMapper om;
+    @Autowired MeterRegistry registry;
+    @Autowired PrometheusMeterRegistry prometheus;
+
+    record Login(String email, String password) {}
+
+    private String login(String email, String password) throws Exception {
+        var body = om.writeValueAsString(new Login(email, password));
+        var json = mvc.perform(post("/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON).content(body))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return om.readTree(json).get("token").asText();
+    }
+
+    private double calls(String operation, String outcome) {
+        var timer = registry.find("service.calls").tag("operation", operation).tag("outcome", outcome).timer();
+        return timer == null ? 0 : timer.count();
+    }
+
+    @Test
+    void service_calls_are_timed_by_operation_and_outcome() throws Exception {
+        var stud = login("student@lms.local", "password");
+        double okBefore = calls("listPublished", "ok");
+        double notFoundBefore = calls("getVersionedForRead", "not_found");
+
+        mvc.perform(get("/api/courses")).andExpect(status().isOk());
+        mvc.perform(get("/api/courses/{id}", 999_999L)).andExpect(status().isNotFound());
+        mvc.perform(get("/api/courses/{id}/submissions", 1L).header("Authorization", "Bearer " + stud))
+                .andExpect(status().isForbidden());
+
+        assertThat(calls("listPublished", "ok")).isEqualTo(okBefore + 1);
+        assertThat(calls("getVersionedForRead", "not_found")).isEqualTo(notFoundBefore + 1);
+        assertThat(calls("listByCourse", "forbidden")).isPositive();
+        assertThat(registry.find("service.results").tag("operation", "listPublished").summary()).isNotNull();
+        assertThat(registry.find("auth.jwt.filter").tag("outcome", "authenticated").timer().count()).isPositive();
+    }
+
+    @Test
+    void sql_statements_are_recorded_per_route() throws Exception {
+        mvc.perform(get("/api/courses")).andExpect(status().isOk());
+
+        var summary = registry.find("http.server.sql.statements").tag("uri", "/api/courses").tag("method", "GET").summary();
+        assertThat(summary).isNotNull();
+        assertThat(summary.count()).isPositive();
+    }
+
+    @Test
+    void prometheus_scrape_includes_service_jwt_sql_and_pool_metrics() throws Exception {
+        var stud = login("student@lms.local", "password");
+        mvc.perform(get("/api/enrollments").header("Authorization", "Bearer " + stud)).andExpect(status().isOk());
+
+        // the endpoint itself lives on the management port, which the mock environment does not start
+        var text = prometheus.scrape();
+
+        assertThat(text)
+                .contains("service_calls_seconds_count{")
+                .contains("auth_jwt_filter_seconds_count{")
+                .contains("http_server_sql_statements_count{")
+                .contains("hikaricp_connections_active{");
+    }
+}
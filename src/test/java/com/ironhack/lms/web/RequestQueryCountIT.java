@@ -0,0 +1,224 @@
+package com.ironhack.lms.web;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ironhack.lms.domain.user.Role;
+import com.ironhack.lms.domain.user.Student;
+import com.ironhack.lms.repository.user.UserRepository;
+import com.ironhack.lms.support.SqlBudget;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class RequestQueryCountIT {
+    @Autowired MockMvc mvc;
+    @Autowired ObjectMapper om;
+    @Autowired EntityManagerFactory emf;
+    @Autowired UserRepository users;
+    @Autowired PasswordEncoder encoder;
+
+    Statistics stats;
+
+    record Login(String email, String password) {}
+
+    @BeforeEach
+    void setUp() {
+        stats = emf.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    private String login(String email, String password) throws Exception {
+        var body = om.writeValueAsString(new Login(email, password));
+        var json = mvc.perform(post("/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON).content(body))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return om.readTree(json).get("token").asText();
+    }
+
+    // listing counts must not depend on rows other ITs create for student@lms.local
+    private String ownStudent(String email, String studentNumber) throws Exception {
+        users.findByEmail(email).orElseGet(() -> {
+            var s = new Student();
+            s.setEmail(email);
+            s.setPasswordHash(encoder.encode("password"));
+            s.setFullName("Query Count");
+            s.setRole(Role.STUDENT);
+            s.setStudentNumber(studentNumber);
+            return users.save(s);
+        });
+        return login(email, "password");
+    }
+
+    private long publishedCourse(String instr, String title) throws Exception {
+        var created = mvc.perform(post("/api/courses")
+                        .header("Authorization", "Bearer " + instr)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{ \"title\": \"" + title + "\", \"description\": \"-\" }"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        long id = om.readTree(created).get("id").asLong();
+        mvc.perform(put("/api/courses/{id}", id)
+                        .header("Authorization", "Bearer " + instr)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{ \"title\": \"" + title + "\", \"description\": \"-\", \"status\": \"PUBLISHED\" }"))
+                .andExpect(status().isOk());
+        return id;
+    }
+
+    @Test
+    void owner_reading_draft_does_not_reload_user() throws Exception {
+        var instr = login("instructor@lms.local", "password");
+        var created = mvc.perform(post("/api/courses")
+                        .header("Authorization", "Bearer " + instr)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{ \"title\": \"Draft QC\", \"description\": \"-\" }"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        long id = om.readTree(created).get("id").asLong();
+
+        stats.clear();
+        mvc.perform(get("/api/courses/{id}", id)
+                        .header("Authorization", "Bearer " + instr))
+                .andExpect(status().isOk());
+
+        // principal comes from the cache, services reuse it, and the course is in the second-level cache
+        assertThat(stats.getPrepareStatementCount()).isZero();
+        assertThat(stats.getSecondLevelCacheHitCount()).isEqualTo(1);
+    }
+
+    @Test
+    void student_listing_submissions_does_not_reload_user() throws Exception {
+        var student = login("student@lms.local", "password");
+        mvc.perform(get("/api/submissions/mine?page=0&size=5")
+                        .header("Authorization", "Bearer " + student))
+                .andExpect(status().isOk());
+
+        stats.clear();
+        mvc.perform(get("/api/submissions/mine?page=0&size=5")
+                        .header("Authorization", "Bearer " + student))
+                .andExpect(status().isOk());
+
+        // page query only (no rows, so no count query)
+        assertThat(stats.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    @SqlBudget(route = "/api/courses/{id}/lessons", max = 2)
+    @SqlBudget(route = "/api/courses/{id}/assignments", max = 2)
+    void enrolled_student_reading_lessons_takes_two_statements() throws Exception {
+        var instr = login("instructor@lms.local", "password");
+        var student = login("student@lms.local", "password");
+        var created = mvc.perform(post("/api/courses")
+                        .header("Authorization", "Bearer " + instr)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{ \"title\": \"Lessons QC\", \"description\": \"-\" }"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        long id = om.readTree(created).get("id").asLong();
+        mvc.perform(put("/api/courses/{id}", id)
+                        .header("Authorization", "Bearer " + instr)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{ \"title\": \"Lessons QC\", \"description\": \"-\", \"status\": \"PUBLISHED\" }"))
+                .andExpect(status().isOk());
+        mvc.perform(post("/api/courses/{id}/enroll", id)
+                        .header("Authorization", "Bearer " + student))
+                .andExpect(status().isOk());
+        mvc.perform(get("/api/courses/{id}/lessons", id)
+                        .header("Authorization", "Bearer " + student))
+                .andExpect(status().isOk());
+
+        stats.clear();
+        mvc.perform(get("/api/courses/{id}/lessons", id)
+                        .header("Authorization", "Bearer " + student))
+                .andExpect(status().isOk());
+        mvc.perform(get("/api/courses/{id}/assignments", id)
+                        .header("Authorization", "Bearer " + student))
+                .andExpect(status().isOk());
+
+        // per request: access projection (status + owner + enrollment) and the content query;
+        // the lessons query is answered by the query cache on the second read
+        assertThat(stats.getPrepareStatementCount()).isEqualTo(3);
+        assertThat(stats.getQueryCacheHitCount()).isEqualTo(1);
+    }
+
+    @Test
+    @SqlBudget(route = "/api/courses/{courseId}/submissions", max = 2)
+    @SqlBudget(route = "/api/submissions/mine", max = 1)
+    void submission_listings_take_one_query_per_page_regardless_of_size() throws Exception {
+        var instr = login("instructor@lms.local", "password");
+        var student = ownStudent("projection@lms.local", "S-PROJ");
+
+        long id = publishedCourse(instr, "Submissions QC");
+        mvc.perform(post("/api/courses/{id}/enroll", id)
+                        .header("Authorization", "Bearer " + student))
+                .andExpect(status().isOk());
+        for (int i = 0; i < 3; i++) {
+            var assignment = mvc.perform(post("/api/courses/{id}/assignments", id)
+                            .header("Authorization", "Bearer " + instr)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("{ \"title\": \"QC" + i + "\", \"maxPoints\": 100, \"allowLate\": true }"))
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getContentAsString();
+            mvc.perform(post("/api/assignments/{id}/submissions", Long.parseLong(assignment))
+                            .header("Authorization", "Bearer " + student)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("{ \"artifactUrl\": \"https://github.com/user/qc" + i + "\" }"))
+                    .andExpect(status().isOk());
+        }
+
+        for (int size : new int[] {5, 50}) {
+            stats.clear();
+            mvc.perform(get("/api/courses/{id}/submissions?page=0&size={size}", id, size)
+                            .header("Authorization", "Bearer " + instr))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.content.length()").value(3));
+            // ownership check + projection page; no assignment/student loads per row
+            assertThat(stats.getPrepareStatementCount()).isEqualTo(2);
+
+            stats.clear();
+            mvc.perform(get("/api/submissions/mine?page=0&size={size}", size)
+                            .header("Authorization", "Bearer " + student))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.content[0].courseId").value(id));
+            assertThat(stats.getPrepareStatementCount()).isEqualTo(1);
+        }
+    }
+
+    @Test
+    void student_dashboard_takes_page_query_plus_count_regardless_of_size() throws Exception {
+        var instr = login("instructor@lms.local", "password");
+        var student = ownStudent("dashboard@lms.local", "S-DASH");
+        for (int i = 0; i < 3; i++) {
+            long id = publishedCourse(instr, "Dashboard QC " + i);
+            mvc.perform(post("/api/courses/{id}/enroll", id)
+                            .header("Authorization", "Bearer " + student))
+                    .andExpect(status().isOk());
+        }
+
+        for (int size : new int[] {1, 3}) {
+            stats.clear();
+            mvc.perform(get("/api/enrollments?page=0&size={size}&sort=id", size)
+                            .header("Authorization", "Bearer " + student))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.content.length()").value(size))
+                    .andExpect(jsonPath("$.content[0].courseTitle").value("Dashboard QC 0"));
+            // full page: projection with course title joined in, plus the count
+            assertThat(stats.getPrepareStatementCount()).isEqualTo(2);
+        }
+    }
+}
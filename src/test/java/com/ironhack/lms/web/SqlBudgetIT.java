@@ -0,0 +1,106 @@
+package com.ironhack.lms.web;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ironhack.lms.config.SqlQueryBudgets;
+import com.ironhack.lms.support.SqlBudget;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class SqlBudgetIT {
+    @Autowired MockMvc mvc;
+    @Autowired ObjectMapper om;
+    @Autowired MeterRegistry registry;
+    @Autowired SqlQueryBudgets budgets;
+
+    record Login(String email, String password) {}
+
+    private String login(String email, String password) throws Exception {
+        var body = om.writeValueAsString(new Login(email, password));
+        var json = mvc.perform(post("/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON).content(body))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return om.readTree(json).get("token").asText();
+    }
+
+    private long publishedCourseWithLesson(String instr) throws Exception {
+        var created = mvc.perform(post("/api/courses")
+                        .header("Authorization", "Bearer " + instr)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{ \"title\": \"Budget\", \"description\": \"-\" }"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        long id = om.readTree(created).get("id").asLong();
+        mvc.perform(put("/api/courses/{id}", id)
+                        .header("Authorization", "Bearer " + instr)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{ \"title\": \"Budget\", \"description\": \"-\", \"status\": \"PUBLISHED\" }"))
+                .andExpect(status().isOk());
+        mvc.perform(post("/api/courses/{id}/lessons", id)
+                        .header("Authorization", "Bearer " + instr)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{ \"title\": \"Intro\", \"contentUrl\": \"https://example.com/intro\", \"orderIndex\": 1 }"))
+                .andExpect(status().isOk());
+        return id;
+    }
+
+    private double exceeded(String route) {
+        var counter = registry.find("http.server.sql.budget.exceeded").tag("method", "GET").tag("uri", route).counter();
+        return counter == null ? 0 : counter.count();
+    }
+
+    @Test
+    void configured_budgets_cover_reads_of_the_content_routes() {
+        assertThat(budgets.maxFor("GET", "/api/courses/{id}/lessons")).isEqualTo(3);
+        assertThat(budgets.maxFor("POST", "/api/courses/{id}/lessons")).isEqualTo(budgets.getDefaultMax());
+        assertThat(budgets.maxFor("GET", "/api/courses")).isEqualTo(budgets.getDefaultMax());
+    }
+
+    @Test
+    @SqlBudget(route = "/api/courses/{id}/lessons", max = 1)
+    void request_over_its_budget_fails_and_is_counted() throws Exception {
+        var instr = login("instructor@lms.local", "password");
+        long id = publishedCourseWithLesson(instr);
+        double before = exceeded("/api/courses/{id}/lessons");
+
+        // owner read: access projection plus the lesson query
+        assertThatThrownBy(() -> mvc.perform(get("/api/courses/{id}/lessons", id)
+                        .header("Authorization", "Bearer " + instr)))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("GET /api/courses/{id}/lessons issued")
+                .hasMessageContaining("budget is 1");
+        assertThat(exceeded("/api/courses/{id}/lessons")).isEqualTo(before + 1);
+    }
+
+    @Test
+    @SqlBudget(method = "POST", route = "/api/courses/{id}/lessons", max = 1)
+    void method_caps_apply_to_that_method_only() throws Exception {
+        assertThat(budgets.maxFor("POST", "/api/courses/{id}/lessons")).isEqualTo(1);
+        assertThat(budgets.maxFor("GET", "/api/courses/{id}/lessons")).isEqualTo(3);
+
+        var instr = login("instructor@lms.local", "password");
+        assertThatThrownBy(() -> publishedCourseWithLesson(instr))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("POST /api/courses/{id}/lessons issued");
+    }
+
+    @Test
+    void annotation_caps_do_not_outlive_their_test() {
+        assertThat(budgets.getMode()).isEqualTo(SqlQueryBudgets.Mode.FAIL);
+        assertThat(budgets.maxFor("GET", "/api/courses/{id}/lessons")).isEqualTo(3);
+    }
+}
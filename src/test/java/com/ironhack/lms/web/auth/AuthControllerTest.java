@@ -1,23 +1,36 @@
 package com.ironhack.lms.web.auth;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
-import com.ironhack.lms.service.auth.JwtService;
+import com.ironhack.lms.domain.user.Role;
+import com.ironhack.lms.domain.user.Student;
+import com.ironhack.lms.service.auth.AppUserPrincipal;
+import com.ironhack.lms.service.auth.CurrentUser;
+import com.ironhack.lms.service.auth.LoginExecutor;
+import com.ironhack.lms.service.auth.LoginThrottle;
+import com.ironhack.lms.service.auth.RefreshTokenService;
+import com.ironhack.lms.service.auth.TokenPair;
+import com.ironhack.lms.service.auth.TokenVersionService;
+import com.ironhack.lms.web.ErrorHandler;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 
+import java.util.List;
+import java.util.function.Supplier;
+
 import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -28,41 +41,48 @@ class AuthControllerTest {
     private AuthenticationManager authManager;
 
     @Mock
-    private JwtService jwtService;
+    private RefreshTokenService refreshTokens;
+
+    @Mock
+    private TokenVersionService tokenVersions;
 
-    @InjectMocks
-    private AuthController controller;
+    @Mock
+    private LoginExecutor loginExecutor;
 
     private MockMvc mockMvc;
     private ObjectMapper objectMapper;
 
     @BeforeEach
     void setUp() {
-        mockMvc = MockMvcBuilders.standaloneSetup(controller).build();
+        // 2 attempts per email, 50 per IP, refilling one token per minute
+        LoginThrottle loginThrottle = new LoginThrottle(2, 1, 50, 1, new SimpleMeterRegistry());
+        AuthController controller = new AuthController(authManager, refreshTokens, tokenVersions, loginExecutor, loginThrottle);
+        mockMvc = MockMvcBuilders.standaloneSetup(controller)
+                .setControllerAdvice(new ErrorHandler())
+                .build();
         objectMapper = new ObjectMapper();
+        // run the login inline instead of on the hashing pool
+        lenient().when(loginExecutor.run(any())).thenAnswer(inv -> inv.<Supplier<?>>getArgument(0).get());
     }
 
     @Test
-    void login_shouldReturnToken() throws Exception {
+    void login_shouldReturnTokenPair() throws Exception {
         // Given
         LoginRequest request = new LoginRequest("student@lms.local", "password");
-        Authentication auth = new UsernamePasswordAuthenticationToken("student@lms.local", "password");
-        UserDetails userDetails = org.springframework.security.core.userdetails.User.builder()
-                .username("student@lms.local")
-                .password("password")
-                .authorities("ROLE_STUDENT")
-                .build();
-        
-        when(authManager.authenticate(any(UsernamePasswordAuthenticationToken.class))).thenReturn(auth);
-        when(auth.getPrincipal()).thenReturn(userDetails);
-        when(jwtService.generateToken(userDetails)).thenReturn("jwt-token-123");
+        AppUserPrincipal principal = new AppUserPrincipal(
+                new CurrentUser(2L, "student@lms.local", Role.STUDENT, Student.class),
+                "password", List.of(new SimpleGrantedAuthority("ROLE_STUDENT")));
+        when(authManager.authenticate(any(UsernamePasswordAuthenticationToken.class)))
+                .thenReturn(new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()));
+        when(refreshTokens.issue(principal)).thenReturn(new TokenPair("jwt-token-123", "refresh-123"));
 
         // When & Then
         mockMvc.perform(post("/auth/login")
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsString(request)))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$.token").value("jwt-token-123"));
+                .andExpect(jsonPath("$.token").value("jwt-token-123"))
+                .andExpect(jsonPath("$.refreshToken").value("refresh-123"));
     }
 
     @Test
@@ -70,12 +90,62 @@ class AuthControllerTest {
         // Given
         LoginRequest request = new LoginRequest("student@lms.local", "wrongpassword");
         when(authManager.authenticate(any(UsernamePasswordAuthenticationToken.class)))
-                .thenThrow(new org.springframework.security.core.AuthenticationException("Invalid credentials") {});
+                .thenThrow(new BadCredentialsException("Invalid credentials"));
+
+        // When & Then
+        mockMvc.perform(post("/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    void login_afterTooManyFailures_shouldReturn429WithRetryAfter() throws Exception {
+        // Given
+        LoginRequest request = new LoginRequest("student@lms.local", "wrongpassword");
+        when(authManager.authenticate(any(UsernamePasswordAuthenticationToken.class)))
+                .thenThrow(new BadCredentialsException("Invalid credentials"));
+        for (int i = 0; i < 2; i++) {
+            mockMvc.perform(post("/auth/login")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(request)))
+                    .andExpect(status().isUnauthorized());
+        }
 
         // When & Then
         mockMvc.perform(post("/auth/login")
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().exists(HttpHeaders.RETRY_AFTER));
+        // throttled before the password is checked
+        verify(authManager, times(2)).authenticate(any());
+    }
+
+    @Test
+    void login_whenThrottled_shouldNotBlockOtherEmails() throws Exception {
+        // Given
+        LoginRequest bad = new LoginRequest("student@lms.local", "wrongpassword");
+        when(authManager.authenticate(any(UsernamePasswordAuthenticationToken.class)))
+                .thenThrow(new BadCredentialsException("Invalid credentials"));
+        for (int i = 0; i < 3; i++) {
+            mockMvc.perform(post("/auth/login")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(objectMapper.writeValueAsString(bad)));
+        }
+
+        // When & Then
+        mockMvc.perform(post("/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new LoginRequest("instructor@lms.local", "wrongpassword"))))
                 .andExpect(status().isUnauthorized());
     }
+
+    @Test
+    void logout_shouldReturnNoContent() throws Exception {
+        mockMvc.perform(post("/auth/logout"))
+                .andExpect(status().isNoContent());
+
+        verify(tokenVersions).logout(any());
+    }
 }
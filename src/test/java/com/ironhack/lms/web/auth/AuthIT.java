@@ -1,14 +1,35 @@
 package com.ironhack.lms.web.auth;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ironhack.lms.domain.user.Role;
+import com.ironhack.lms.domain.user.Student;
+import com.ironhack.lms.repository.user.TokenRevocationRepository;
+import com.ironhack.lms.repository.user.UserRepository;
+import com.ironhack.lms.service.auth.PrincipalCache;
+import com.ironhack.lms.service.auth.TokenVersionService;
+import com.ironhack.lms.support.SqlBudget;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.ActiveProfiles;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -18,10 +39,16 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 class AuthIT {
     @Autowired MockMvc mvc;
     @Autowired ObjectMapper om;
+    @Autowired TokenVersionService tokenVersions;
+    @Autowired TokenRevocationRepository revocations;
+    @Autowired UserRepository users;
+    @Autowired PrincipalCache principals;
+    @Autowired TransactionTemplate tx;
 
     record Login(String email, String password) {}
 
     @Test
+    @SqlBudget(route = "/api/me", max = 1)
     void login_success_and_me_works() throws Exception {
         var body = om.writeValueAsString(new Login("student@lms.local","password"));
         var token = om.readTree(mvc.perform(post("/auth/login")
@@ -41,4 +68,101 @@ class AuthIT {
                         .contentType(MediaType.APPLICATION_JSON).content(body))
                 .andExpect(status().isUnauthorized());
     }
+
+    @Test
+    @SqlBudget(method = "POST", route = "/auth/logout", max = 5)
+    @SqlBudget(route = "/api/me", max = 1)
+    void logout_revokes_previously_issued_tokens() throws Exception {
+        var body = om.writeValueAsString(new Login("student@lms.local","password"));
+        var token = om.readTree(mvc.perform(post("/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON).content(body))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString()).get("token").asText();
+
+        mvc.perform(post("/auth/logout").header("Authorization","Bearer "+token))
+                .andExpect(status().isNoContent());
+        mvc.perform(get("/api/me").header("Authorization","Bearer "+token))
+                .andExpect(status().isUnauthorized());
+
+        // a fresh login carries the new version
+        var fresh = om.readTree(mvc.perform(post("/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON).content(body))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString()).get("token").asText();
+        mvc.perform(get("/api/me").header("Authorization","Bearer "+fresh))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    @SqlBudget(method = "POST", route = "/auth/users/{userId}/revoke", max = 1)
+    void force_logout_requires_admin() throws Exception {
+        var body = om.writeValueAsString(new Login("instructor@lms.local","password"));
+        var token = om.readTree(mvc.perform(post("/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON).content(body))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString()).get("token").asText();
+
+        mvc.perform(post("/auth/users/{id}/revoke", 1).header("Authorization","Bearer "+token))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    void concurrent_revocations_each_bump_the_version() throws Exception {
+        Long userId = users.findByEmail("instructor@lms.local").orElseThrow().getId();
+        int before = revocations.findTokenVersion(userId).orElse(0);
+
+        // a read-increment-write would let revocations racing each other land on the same version
+        int revokers = 8;
+        var start = new CountDownLatch(1);
+        var pool = Executors.newFixedThreadPool(revokers);
+        try {
+            List<Future<?>> done = new ArrayList<>();
+            for (int i = 0; i < revokers; i++) {
+                done.add(pool.submit((Callable<Void>) () -> {
+                    start.await();
+                    tokenVersions.revokeAll(userId);
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> f : done) f.get();
+        } finally {
+            pool.shutdown();
+        }
+
+        assertEquals(before + revokers, revocations.findTokenVersion(userId).orElseThrow());
+        assertEquals(before + revokers, tokenVersions.currentVersion(userId));
+    }
+
+    @Test
+    void user_change_evicts_cached_principals_only_after_commit() {
+        String email = "principal-cache@lms.local";
+        Long userId = users.findByEmail(email).orElseGet(() -> {
+            var s = new Student();
+            s.setEmail(email);
+            s.setPasswordHash("{noop}password");
+            s.setFullName("Principal Cache");
+            s.setRole(Role.STUDENT);
+            s.setStudentNumber("S-PCACHE");
+            return users.save(s);
+        }).getId();
+        var loads = new AtomicInteger();
+        Function<String, UserDetails> loader = e -> {
+            loads.incrementAndGet();
+            return User.withUsername(e).password("x").authorities("ROLE_STUDENT").build();
+        };
+        Date issuedAt = new Date(1_000L);
+        principals.get(email, issuedAt, loader);
+
+        tx.executeWithoutResult(status -> {
+            users.findById(userId).orElseThrow().setFullName("Principal Cache " + System.nanoTime());
+            users.flush(); // @PostUpdate publishes UserChangedEvent here
+            // still uncommitted: readers keep the cached principal instead of re-caching the old row
+            principals.get(email, issuedAt, loader);
+            assertEquals(1, loads.get());
+        });
+
+        principals.get(email, issuedAt, loader);
+        assertEquals(2, loads.get());
+    }
 }
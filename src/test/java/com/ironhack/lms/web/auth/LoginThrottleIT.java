@@ -0,0 +1,52 @@
+package com.ironhack.lms.web.auth;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class LoginThrottleIT {
+    @Autowired MockMvc mvc;
+    @Autowired ObjectMapper om;
+
+    record Login(String email, String password) {}
+
+    private MockHttpServletRequestBuilder login(String email, String password, String ip) throws Exception {
+        return post("/auth/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(om.writeValueAsString(new Login(email, password)))
+                .with(r -> { r.setRemoteAddr(ip); return r; });
+    }
+
+    @Test
+    void repeated_bad_logins_get_429_with_retry_after() throws Exception {
+        // an unknown account, so the shared seeded users are not locked out for other ITs
+        for (int i = 0; i < 5; i++) {
+            mvc.perform(login("flood@lms.local", "wrong", "10.1.0.1"))
+                    .andExpect(status().isUnauthorized());
+        }
+        mvc.perform(login("flood@lms.local", "wrong", "10.1.0.1"))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().exists("Retry-After"))
+                .andExpect(jsonPath("$.status").value(429));
+    }
+
+    @Test
+    void successful_logins_are_not_throttled() throws Exception {
+        for (int i = 0; i < 8; i++) {
+            mvc.perform(login("student@lms.local", "password", "10.1.0.2"))
+                    .andExpect(status().isOk());
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.ironhack.lms.web.auth;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ironhack.lms.domain.user.Role;
+import com.ironhack.lms.domain.user.Student;
+import com.ironhack.lms.repository.user.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class PasswordUpgradeIT {
+    @Autowired MockMvc mvc;
+    @Autowired ObjectMapper om;
+    @Autowired UserRepository users;
+
+    record Login(String email, String password) {}
+
+    @Test
+    void legacy_low_cost_hash_is_rehashed_on_login() throws Exception {
+        String email = "legacy@lms.local";
+        users.findByEmail(email).orElseGet(() -> {
+            var s = new Student();
+            s.setEmail(email);
+            s.setPasswordHash(new BCryptPasswordEncoder(4).encode("password")); // unprefixed, strength 4
+            s.setFullName("Legacy Hash");
+            s.setRole(Role.STUDENT);
+            s.setStudentNumber("S-LEGACY");
+            return users.save(s);
+        });
+
+        mvc.perform(post("/auth/login").contentType(MediaType.APPLICATION_JSON)
+                        .content(om.writeValueAsString(new Login(email, "password"))))
+                .andExpect(status().isOk());
+
+        String hash = users.findByEmail(email).orElseThrow().getPasswordHash();
+        assertTrue(hash.startsWith("{bcrypt}$2a$10$"), hash);
+
+        // the upgraded hash still logs in
+        mvc.perform(post("/auth/login").contentType(MediaType.APPLICATION_JSON)
+                        .content(om.writeValueAsString(new Login(email, "password"))))
+                .andExpect(status().isOk());
+    }
+}
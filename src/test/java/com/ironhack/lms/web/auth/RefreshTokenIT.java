@@ -0,0 +1,94 @@
+package com.ironhack.lms.web.auth;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class RefreshTokenIT {
+    @Autowired MockMvc mvc;
+    @Autowired ObjectMapper om;
+    @Autowired EntityManagerFactory emf;
+
+    record Login(String email, String password) {}
+    record Refresh(String refreshToken) {}
+
+    private JsonNode login() throws Exception {
+        return om.readTree(mvc.perform(post("/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(om.writeValueAsString(new Login("student@lms.local", "password"))))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString());
+    }
+
+    private JsonNode refresh(String refreshToken, int expectedStatus) throws Exception {
+        return om.readTree(mvc.perform(post("/auth/refresh")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(om.writeValueAsString(new Refresh(refreshToken))))
+                .andExpect(status().is(expectedStatus))
+                .andReturn().getResponse().getContentAsString());
+    }
+
+    @Test
+    void refresh_rotates_tokens_and_new_access_token_works() throws Exception {
+        String refreshToken = login().get("refreshToken").asText();
+
+        JsonNode pair = refresh(refreshToken, 200);
+        assertNotEquals(refreshToken, pair.get("refreshToken").asText());
+
+        mvc.perform(get("/api/me").header("Authorization", "Bearer " + pair.get("token").asText()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.username").value("student@lms.local"));
+    }
+
+    @Test
+    void refresh_does_one_lookup_and_no_user_load() throws Exception {
+        String refreshToken = login().get("refreshToken").asText();
+        Statistics stats = emf.unwrap(SessionFactory.class).getStatistics();
+        stats.clear();
+
+        refresh(refreshToken, 200);
+
+        // select token (user joined) + mark used + token version + insert rotated token
+        assertEquals(4, stats.getPrepareStatementCount());
+        assertEquals(2, stats.getQueryExecutionCount());
+    }
+
+    @Test
+    void reusing_a_refresh_token_revokes_the_chain() throws Exception {
+        String first = login().get("refreshToken").asText();
+        String second = refresh(first, 200).get("refreshToken").asText();
+
+        refresh(first, 401);  // replay
+        refresh(second, 401); // descendant revoked too
+    }
+
+    @Test
+    void logout_revokes_refresh_tokens() throws Exception {
+        JsonNode pair = login();
+        mvc.perform(post("/auth/logout").header("Authorization", "Bearer " + pair.get("token").asText()))
+                .andExpect(status().isNoContent());
+
+        refresh(pair.get("refreshToken").asText(), 401);
+    }
+
+    @Test
+    void unknown_refresh_token_is_unauthorized() throws Exception {
+        refresh("not-a-real-token", 401);
+    }
+}
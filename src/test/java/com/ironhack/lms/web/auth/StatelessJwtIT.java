@@ -0,0 +1,67 @@
+package com.ironhack.lms.web.auth;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest(properties = "app.jwt.stateless=true")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class StatelessJwtIT {
+    @Autowired MockMvc mvc;
+    @Autowired ObjectMapper om;
+    @Autowired EntityManagerFactory emf;
+
+    record Login(String email, String password) {}
+
+    private String login(String email) throws Exception {
+        var body = om.writeValueAsString(new Login(email, "password"));
+        return om.readTree(mvc.perform(post("/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON).content(body))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString()).get("token").asText();
+    }
+
+    @Test
+    void first_request_with_fresh_token_hits_no_database() throws Exception {
+        var token = login("student@lms.local");
+        Statistics stats = emf.unwrap(SessionFactory.class).getStatistics();
+        stats.clear();
+
+        mvc.perform(get("/api/me").header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.username").value("student@lms.local"))
+                .andExpect(jsonPath("$.authorities[0].authority").value("ROLE_STUDENT"));
+
+        assertThat(stats.getPrepareStatementCount()).isZero();
+    }
+
+    @Test
+    void claims_drive_service_authorization() throws Exception {
+        var token = login("instructor@lms.local");
+        mvc.perform(post("/api/courses")
+                        .header("Authorization", "Bearer " + token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{ \"title\": \"Stateless\", \"description\": \"-\" }"))
+                .andExpect(status().isOk());
+
+        var student = login("student@lms.local");
+        mvc.perform(post("/api/courses")
+                        .header("Authorization", "Bearer " + student)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{ \"title\": \"Nope\", \"description\": \"-\" }"))
+                .andExpect(status().isForbidden());
+    }
+}
@@ -0,0 +1,94 @@
+package com.ironhack.lms.web.course;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ironhack.lms.domain.course.CourseChangedEvent;
+import com.ironhack.lms.service.course.CatalogCache;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.hasItem;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class CatalogCacheIT {
+    @Autowired MockMvc mvc;
+    @Autowired ObjectMapper om;
+    @Autowired EntityManagerFactory emf;
+    @Autowired CatalogCache catalogCache;
+    @Autowired ApplicationEventPublisher events;
+    @Autowired TransactionTemplate tx;
+
+    record Login(String email, String password) {}
+
+    private String login(String email, String password) throws Exception {
+        var json = mvc.perform(post("/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(om.writeValueAsString(new Login(email, password))))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return om.readTree(json).get("token").asText();
+    }
+
+    @Test
+    void repeated_catalog_reads_hit_cache_and_publish_invalidates() throws Exception {
+        Statistics stats = emf.unwrap(SessionFactory.class).getStatistics();
+        mvc.perform(get("/api/courses?page=0&size=50")).andExpect(status().isOk());
+
+        stats.clear();
+        mvc.perform(get("/api/courses?page=0&size=50")).andExpect(status().isOk());
+        assertThat(stats.getPrepareStatementCount()).isZero();
+
+        var instr = login("instructor@lms.local", "password");
+        var created = mvc.perform(post("/api/courses")
+                        .header("Authorization", "Bearer " + instr)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{ \"title\": \"Catalog Cache\", \"description\": \"-\" }"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        long id = om.readTree(created).get("id").asLong();
+        mvc.perform(put("/api/courses/{id}", id)
+                        .header("Authorization", "Bearer " + instr)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{ \"title\": \"Catalog Cache\", \"description\": \"-\", \"status\": \"PUBLISHED\" }"))
+                .andExpect(status().isOk());
+
+        mvc.perform(get("/api/courses?page=0&size=50"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[*].id", hasItem((int) id)));
+    }
+
+    @Test
+    void course_change_evicts_only_after_the_transaction_commits() {
+        var pageable = PageRequest.of(7, 13);
+        var loads = new AtomicInteger();
+        catalogCache.get(pageable, p -> { loads.incrementAndGet(); return Page.empty(p); });
+
+        tx.executeWithoutResult(status -> {
+            events.publishEvent(new CourseChangedEvent(1L));
+            // still uncommitted: readers keep the cached page instead of re-caching stale rows
+            catalogCache.get(pageable, p -> { loads.incrementAndGet(); return Page.empty(p); });
+            assertThat(loads).hasValue(1);
+        });
+
+        catalogCache.get(pageable, p -> { loads.incrementAndGet(); return Page.empty(p); });
+        assertThat(loads).hasValue(2);
+    }
+}
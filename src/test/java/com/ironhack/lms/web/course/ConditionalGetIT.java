@@ -0,0 +1,132 @@
+package com.ironhack.lms.web.course;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class ConditionalGetIT {
+    @Autowired MockMvc mvc;
+    @Autowired ObjectMapper om;
+    @Autowired EntityManagerFactory emf;
+
+    record Login(String email, String password) {}
+
+    private String login(String email, String password) throws Exception {
+        var json = mvc.perform(post("/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(om.writeValueAsString(new Login(email, password))))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return om.readTree(json).get("token").asText();
+    }
+
+    private long publishedCourseWithLesson(String instr) throws Exception {
+        var created = mvc.perform(post("/api/courses")
+                        .header("Authorization", "Bearer " + instr)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{ \"title\": \"ETag Course\", \"description\": \"-\" }"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        long id = om.readTree(created).get("id").asLong();
+        mvc.perform(put("/api/courses/{id}", id)
+                        .header("Authorization", "Bearer " + instr)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{ \"title\": \"ETag Course\", \"description\": \"-\", \"status\": \"PUBLISHED\" }"))
+                .andExpect(status().isOk());
+        addLesson(instr, id, 1);
+        return id;
+    }
+
+    private void addLesson(String instr, long courseId, int order) throws Exception {
+        mvc.perform(post("/api/courses/{id}/lessons", courseId)
+                        .header("Authorization", "Bearer " + instr)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{ \"title\": \"L%d\", \"contentUrl\": \"https://example.com/%d\", \"orderIndex\": %d }"
+                                .formatted(order, order, order)))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void lessons_304_on_matching_etag_without_loading_lessons() throws Exception {
+        var instr = login("instructor@lms.local", "password");
+        long id = publishedCourseWithLesson(instr);
+
+        String etag = mvc.perform(get("/api/courses/{id}/lessons", id).header("Authorization", "Bearer " + instr))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.LAST_MODIFIED))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertThat(etag).isNotNull();
+
+        Statistics stats = emf.unwrap(SessionFactory.class).getStatistics();
+        stats.clear();
+        mvc.perform(get("/api/courses/{id}/lessons", id)
+                        .header("Authorization", "Bearer " + instr)
+                        .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+
+        // only the access/version projection: no lesson query, no entity loads
+        assertThat(stats.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(stats.getEntityLoadCount()).isZero();
+    }
+
+    @Test
+    void lesson_change_invalidates_etag() throws Exception {
+        var instr = login("instructor@lms.local", "password");
+        long id = publishedCourseWithLesson(instr);
+        String etag = mvc.perform(get("/api/courses/{id}/lessons", id).header("Authorization", "Bearer " + instr))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        addLesson(instr, id, 2);
+
+        String next = mvc.perform(get("/api/courses/{id}/lessons", id)
+                        .header("Authorization", "Bearer " + instr)
+                        .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertThat(next).isNotEqualTo(etag);
+    }
+
+    @Test
+    void course_304_on_matching_etag() throws Exception {
+        var instr = login("instructor@lms.local", "password");
+        long id = publishedCourseWithLesson(instr);
+        String etag = mvc.perform(get("/api/courses/{id}", id))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mvc.perform(get("/api/courses/{id}", id).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    void etag_does_not_bypass_enrollment_check() throws Exception {
+        var instr = login("instructor@lms.local", "password");
+        var student = login("student@lms.local", "password");
+        long id = publishedCourseWithLesson(instr);
+        String etag = mvc.perform(get("/api/courses/{id}/lessons", id).header("Authorization", "Bearer " + instr))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mvc.perform(get("/api/courses/{id}/lessons", id)
+                        .header("Authorization", "Bearer " + student)
+                        .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isForbidden());
+    }
+}
@@ -1,6 +1,7 @@
 package com.ironhack.lms.web.course;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ironhack.lms.support.SqlBudget;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
@@ -35,6 +36,8 @@ class CourseAuthzIT {
     }
 
     @Test
+    @SqlBudget(route = "/api/courses", max = 2)
+    @SqlBudget(route = "/api/courses/{id}", max = 2)
     void public_can_read_published_but_not_draft() throws Exception {
         // list published
         mvc.perform(get("/api/courses?page=0&size=10"))
@@ -67,6 +70,7 @@ class CourseAuthzIT {
     }
 
     @Test
+    @SqlBudget(method = "POST", route = "/api/courses", max = 1)
     void student_cannot_create_course() throws Exception {
         var student = login("student@lms.local", "password");
         var payload = """
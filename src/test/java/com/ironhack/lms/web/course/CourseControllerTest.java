@@ -2,7 +2,9 @@ package com.ironhack.lms.web.course;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.ironhack.lms.domain.course.CourseStatus;
+import com.ironhack.lms.service.course.ContentVersion;
 import com.ironhack.lms.service.course.CourseService;
+import com.ironhack.lms.service.course.Versioned;
 import com.ironhack.lms.web.course.dto.*;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -24,6 +26,8 @@ import java.util.List;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -41,6 +45,8 @@ class CourseControllerTest {
     private ObjectMapper objectMapper;
     private TestingAuthenticationToken auth;
 
+    private static final ContentVersion VERSION = new ContentVersion(1L, 3L, Instant.parse("2025-01-01T00:00:00Z"));
+
     @BeforeEach
     void setUp() {
         mockMvc = MockMvcBuilders.standaloneSetup(controller).build();
@@ -71,7 +77,7 @@ class CourseControllerTest {
         // Given
         CourseResponse response = new CourseResponse(1L, 10L, "Spring Boot 101", "Learn Spring Boot", 
                 CourseStatus.PUBLISHED, Instant.now(), Instant.now());
-        when(service.getForRead(eq(1L), any())).thenReturn(response);
+        when(service.getVersionedForRead(eq(1L), any())).thenReturn(new Versioned<>(response, VERSION));
 
         // When & Then
         mockMvc.perform(get("/api/courses/1")
@@ -221,7 +227,8 @@ class CourseControllerTest {
     void lessons_shouldReturnListOfLessons() throws Exception {
         // Given
         LessonSummaryResponse response = new LessonSummaryResponse(1L, "Lesson 1", "https://video.com", 1);
-        when(service.listLessonsForRead(eq(1L), any())).thenReturn(List.of(response));
+        when(service.lessonsVersion(eq(1L), any())).thenReturn(VERSION);
+        when(service.listLessons(VERSION)).thenReturn(List.of(response));
 
         // When & Then
         mockMvc.perform(get("/api/courses/1/lessons")
@@ -236,7 +243,8 @@ class CourseControllerTest {
         // Given
         AssignmentSummaryResponse response = new AssignmentSummaryResponse(1L, "HW1", "Instructions", 
                 100, true, Instant.now().plusSeconds(86400));
-        when(service.listAssignmentsForRead(eq(1L), any())).thenReturn(List.of(response));
+        when(service.assignmentsVersion(eq(1L), any())).thenReturn(VERSION);
+        when(service.listAssignments(VERSION)).thenReturn(List.of(response));
 
         // When & Then
         mockMvc.perform(get("/api/courses/1/assignments")
@@ -245,4 +253,17 @@ class CourseControllerTest {
                 .andExpect(jsonPath("$[0].id").value(1L))
                 .andExpect(jsonPath("$[0].title").value("HW1"));
     }
+
+    @Test
+    void lessons_withMatchingEtag_shouldReturnNotModified() throws Exception {
+        // Given
+        when(service.lessonsVersion(eq(1L), any())).thenReturn(VERSION);
+
+        // When & Then
+        mockMvc.perform(get("/api/courses/1/lessons")
+                        .principal(auth)
+                        .header("If-None-Match", VERSION.etag("lessons")))
+                .andExpect(status().isNotModified());
+        verify(service, never()).listLessons(any());
+    }
 }
@@ -0,0 +1,215 @@
+package com.ironhack.lms.web.course;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ironhack.lms.domain.course.Assignment;
+import com.ironhack.lms.domain.course.Lesson;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.not;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class SecondLevelCacheIT {
+    @Autowired MockMvc mvc;
+    @Autowired ObjectMapper om;
+    @Autowired EntityManagerFactory emf;
+    @Autowired MeterRegistry registry;
+
+    Statistics stats;
+
+    record Login(String email, String password) {}
+
+    @BeforeEach
+    void setUp() {
+        stats = emf.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    private String login(String email, String password) throws Exception {
+        var json = mvc.perform(post("/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(om.writeValueAsString(new Login(email, password))))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return om.readTree(json).get("token").asText();
+    }
+
+    private long publishedCourse(String instr, String title) throws Exception {
+        var created = mvc.perform(post("/api/courses")
+                        .header("Authorization", "Bearer " + instr)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{ \"title\": \"" + title + "\", \"description\": \"-\" }"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        long id = om.readTree(created).get("id").asLong();
+        mvc.perform(put("/api/courses/{id}", id)
+                        .header("Authorization", "Bearer " + instr)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{ \"title\": \"" + title + "\", \"description\": \"-\", \"status\": \"PUBLISHED\" }"))
+                .andExpect(status().isOk());
+        return id;
+    }
+
+    private long addLesson(String instr, long courseId, String title, int order) throws Exception {
+        var id = mvc.perform(post("/api/courses/{id}/lessons", courseId)
+                        .header("Authorization", "Bearer " + instr)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{ \"title\": \"" + title + "\", \"contentUrl\": \"https://example.com/l\", \"orderIndex\": " + order + " }"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return Long.parseLong(id);
+    }
+
+    private long addAssignment(String instr, long courseId) throws Exception {
+        var id = mvc.perform(post("/api/courses/{id}/assignments", courseId)
+                        .header("Authorization", "Bearer " + instr)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{ \"title\": \"HW\", \"maxPoints\": 100, \"allowLate\": true }"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return Long.parseLong(id);
+    }
+
+    private long regionHits(String region) {
+        return stats.getDomainDataRegionStatistics(region).getHitCount();
+    }
+
+    @Test
+    void course_reads_come_from_the_cache_and_see_updates() throws Exception {
+        var instr = login("instructor@lms.local", "password");
+        long id = publishedCourse(instr, "L2 Course");
+        mvc.perform(get("/api/courses/{id}", id)).andExpect(status().isOk());
+
+        stats.clear();
+        mvc.perform(get("/api/courses/{id}", id))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.title").value("L2 Course"));
+        assertThat(stats.getPrepareStatementCount()).isZero();
+        assertThat(stats.getSecondLevelCacheHitCount()).isEqualTo(1);
+
+        mvc.perform(put("/api/courses/{id}", id)
+                        .header("Authorization", "Bearer " + instr)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{ \"title\": \"L2 Course v2\", \"description\": \"-\", \"status\": \"PUBLISHED\" }"))
+                .andExpect(status().isOk());
+        mvc.perform(get("/api/courses/{id}", id))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.title").value("L2 Course v2"));
+
+        assertThat(registry.find("hibernate.second.level.cache.requests").tag("result", "hit").meters()).isNotEmpty();
+        assertThat(registry.find("hibernate.cache.query.requests").tag("result", "hit").functionCounter()).isNotNull();
+    }
+
+    @Test
+    void cached_lesson_listing_follows_lesson_writes() throws Exception {
+        var instr = login("instructor@lms.local", "password");
+        long courseId = publishedCourse(instr, "L2 Lessons");
+        long first = addLesson(instr, courseId, "One", 1);
+        mvc.perform(get("/api/courses/{id}/lessons", courseId).header("Authorization", "Bearer " + instr))
+                .andExpect(status().isOk());
+
+        stats.clear();
+        mvc.perform(get("/api/courses/{id}/lessons", courseId).header("Authorization", "Bearer " + instr))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1));
+        // access projection only: ids from the query cache, rows from the lesson region
+        assertThat(stats.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(stats.getQueryCacheHitCount()).isEqualTo(1);
+
+        addLesson(instr, courseId, "Two", 2);
+        mvc.perform(get("/api/courses/{id}/lessons", courseId).header("Authorization", "Bearer " + instr))
+                .andExpect(jsonPath("$.length()").value(2));
+
+        mvc.perform(put("/api/courses/{c}/lessons/{l}", courseId, first)
+                        .header("Authorization", "Bearer " + instr)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{ \"title\": \"One (edited)\", \"contentUrl\": \"https://example.com/l\", \"orderIndex\": 1 }"))
+                .andExpect(status().isNoContent());
+        mvc.perform(get("/api/courses/{id}/lessons", courseId).header("Authorization", "Bearer " + instr))
+                .andExpect(jsonPath("$[0].title").value("One (edited)"));
+
+        mvc.perform(delete("/api/courses/{c}/lessons/{l}", courseId, first).header("Authorization", "Bearer " + instr))
+                .andExpect(status().isNoContent());
+        mvc.perform(get("/api/courses/{id}/lessons", courseId).header("Authorization", "Bearer " + instr))
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].title").value("Two"));
+    }
+
+    @Test
+    void lesson_write_bumps_its_course_and_leaves_other_cached_courses_alone() throws Exception {
+        var instr = login("instructor@lms.local", "password");
+        long edited = publishedCourse(instr, "L2 Edited");
+        long other = publishedCourse(instr, "L2 Other");
+        mvc.perform(get("/api/courses/{id}", other)).andExpect(status().isOk());
+        var etag = mvc.perform(get("/api/courses/{id}", edited))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader("ETag");
+
+        addLesson(instr, edited, "New", 1);
+
+        stats.clear();
+        mvc.perform(get("/api/courses/{id}", other)).andExpect(status().isOk());
+        assertThat(stats.getPrepareStatementCount()).isZero();
+        mvc.perform(get("/api/courses/{id}", edited))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", not(etag)));
+    }
+
+    @Test
+    void submit_reads_the_assignment_from_the_cache() throws Exception {
+        var instr = login("instructor@lms.local", "password");
+        var stud = login("student@lms.local", "password");
+        long courseId = publishedCourse(instr, "L2 Submit");
+        long assignmentId = addAssignment(instr, courseId);
+        mvc.perform(post("/api/courses/{id}/enroll", courseId).header("Authorization", "Bearer " + stud))
+                .andExpect(status().isOk());
+
+        long before = regionHits("assignment");
+        mvc.perform(post("/api/assignments/{id}/submissions", assignmentId)
+                        .header("Authorization", "Bearer " + stud)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{ \"artifactUrl\": \"https://github.com/user/l2\" }"))
+                .andExpect(status().isOk());
+        assertThat(regionHits("assignment")).isGreaterThan(before);
+        // the gradebook stats upsert is a native statement confined to assignment_stats
+        assertThat(emf.getCache().contains(Assignment.class, assignmentId)).isTrue();
+    }
+
+    @Test
+    void deleting_a_course_evicts_its_lessons_and_assignments() throws Exception {
+        var instr = login("instructor@lms.local", "password");
+        long courseId = publishedCourse(instr, "L2 Delete");
+        long lessonId = addLesson(instr, courseId, "Gone", 1);
+        long assignmentId = addAssignment(instr, courseId);
+        var cache = emf.getCache();
+        assertThat(cache.contains(Lesson.class, lessonId)).isTrue();
+        assertThat(cache.contains(Assignment.class, assignmentId)).isTrue();
+
+        mvc.perform(delete("/api/courses/{id}", courseId).header("Authorization", "Bearer " + instr))
+                .andExpect(status().isNoContent());
+
+        // the course row itself leaves a read-write soft lock behind, which reads treat as a miss
+        assertThat(cache.contains(Lesson.class, lessonId)).isFalse();
+        assertThat(cache.contains(Assignment.class, assignmentId)).isFalse();
+        var stud = login("student@lms.local", "password");
+        mvc.perform(post("/api/assignments/{id}/submissions", assignmentId)
+                        .header("Authorization", "Bearer " + stud)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{ \"artifactUrl\": \"https://github.com/user/l2\" }"))
+                .andExpect(status().isNotFound());
+    }
+}
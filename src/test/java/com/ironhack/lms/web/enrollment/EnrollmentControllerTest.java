@@ -3,7 +3,9 @@ package com.ironhack.lms.web.enrollment;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.ironhack.lms.domain.enrollment.EnrollmentStatus;
 import com.ironhack.lms.service.enrollment.EnrollmentService;
+import com.ironhack.lms.service.enrollment.RosterImportService;
 import com.ironhack.lms.web.enrollment.dto.EnrollmentResponse;
+import com.ironhack.lms.web.enrollment.dto.RosterImportResponse;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -33,6 +35,9 @@ class EnrollmentControllerTest {
     @Mock
     private EnrollmentService service;
 
+    @Mock
+    private RosterImportService rosterImport;
+
     @InjectMocks
     private EnrollmentController controller;
 
@@ -112,4 +117,20 @@ class EnrollmentControllerTest {
                 .andExpect(jsonPath("$.id").value(1L))
                 .andExpect(jsonPath("$.status").value("COMPLETED"));
     }
+
+    @Test
+    void importRoster_shouldStreamCsvBodyToService() throws Exception {
+        // Given
+        RosterImportResponse response = new RosterImportResponse(2, 1, 0, 0, 1, List.of("nobody@lms.local"));
+        when(rosterImport.importRoster(eq(100L), any(), any())).thenReturn(response);
+
+        // When & Then
+        mockMvc.perform(post("/api/courses/100/roster")
+                        .principal(auth)
+                        .contentType("text/csv")
+                        .content("student@lms.local\nnobody@lms.local\n"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.enrolled").value(1))
+                .andExpect(jsonPath("$.unknownSample[0]").value("nobody@lms.local"));
+    }
 }
@@ -1,6 +1,7 @@
 package com.ironhack.lms.web.enrollment;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ironhack.lms.support.SqlBudget;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
@@ -57,6 +58,7 @@ class EnrollmentIT {
     }
 
     @Test
+    @SqlBudget(method = "POST", route = "/api/courses/{courseId}/enroll", max = 5)
     void student_can_enroll_in_published_course() throws Exception {
         var instrToken = login("instructor@lms.local", "password");
         var studToken = login("student@lms.local", "password");
@@ -72,6 +74,7 @@ class EnrollmentIT {
     }
 
     @Test
+    @SqlBudget(method = "POST", route = "/api/courses/{courseId}/enroll", max = 5)
     void student_cannot_enroll_twice() throws Exception {
         var instrToken = login("instructor@lms.local", "password");
         var studToken = login("student@lms.local", "password");
@@ -90,6 +93,7 @@ class EnrollmentIT {
     }
 
     @Test
+    @SqlBudget(method = "POST", route = "/api/courses/{courseId}/enroll", max = 1)
     void instructor_cannot_enroll() throws Exception {
         var instrToken = login("instructor@lms.local", "password");
         
@@ -102,6 +106,7 @@ class EnrollmentIT {
     }
 
     @Test
+    @SqlBudget(route = "/api/enrollments", max = 1)
     void student_can_view_own_enrollments() throws Exception {
         var instrToken = login("instructor@lms.local", "password");
         var studToken = login("student@lms.local", "password");
@@ -122,6 +127,7 @@ class EnrollmentIT {
     }
 
     @Test
+    @SqlBudget(route = "/api/enrollments", max = 1)
     void instructor_cannot_view_student_enrollments() throws Exception {
         var instrToken = login("instructor@lms.local", "password");
         
@@ -132,6 +138,7 @@ class EnrollmentIT {
     }
 
     @Test
+    @SqlBudget(method = "PATCH", route = "/api/enrollments/{id}/cancel", max = 3)
     void student_can_cancel_own_enrollment() throws Exception {
         var instrToken = login("instructor@lms.local", "password");
         var studToken = login("student@lms.local", "password");
@@ -154,6 +161,7 @@ class EnrollmentIT {
     }
 
     @Test
+    @SqlBudget(method = "PATCH", route = "/api/enrollments/{id}/complete", max = 1)
     void instructor_can_complete_enrollment() throws Exception {
         var instrToken = login("instructor@lms.local", "password");
         var studToken = login("student@lms.local", "password");
@@ -176,6 +184,7 @@ class EnrollmentIT {
     }
 
     @Test
+    @SqlBudget(method = "PATCH", route = "/api/enrollments/{id}/complete", max = 1)
     void student_cannot_complete_enrollment() throws Exception {
         var instrToken = login("instructor@lms.local", "password");
         var studToken = login("student@lms.local", "password");
@@ -0,0 +1,171 @@
+package com.ironhack.lms.web.enrollment;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ironhack.lms.domain.user.Role;
+import com.ironhack.lms.domain.user.Student;
+import com.ironhack.lms.repository.user.UserRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class RosterImportIT {
+    @Autowired MockMvc mvc;
+    @Autowired ObjectMapper om;
+    @Autowired EntityManagerFactory emf;
+    @Autowired UserRepository users;
+    @Autowired PasswordEncoder encoder;
+
+    record Login(String email, String password) {}
+
+    private String login(String email, String password) throws Exception {
+        var body = om.writeValueAsString(new Login(email, password));
+        var json = mvc.perform(post("/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON).content(body))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return om.readTree(json).get("token").asText();
+    }
+
+    private void student(String email, String number) {
+        users.findByEmail(email).orElseGet(() -> {
+            var s = new Student();
+            s.setEmail(email);
+            s.setPasswordHash(encoder.encode("password"));
+            s.setFullName("Roster " + number);
+            s.setRole(Role.STUDENT);
+            s.setStudentNumber(number);
+            return users.save(s);
+        });
+    }
+
+    private long publishedCourse(String instr) throws Exception {
+        var created = mvc.perform(post("/api/courses")
+                        .header("Authorization", "Bearer " + instr)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{ \"title\": \"Roster\", \"description\": \"-\" }"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        long id = om.readTree(created).get("id").asLong();
+        mvc.perform(put("/api/courses/{id}", id)
+                        .header("Authorization", "Bearer " + instr)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{ \"title\": \"Roster\", \"description\": \"-\", \"status\": \"PUBLISHED\" }"))
+                .andExpect(status().isOk());
+        return id;
+    }
+
+    @Test
+    void instructor_imports_roster_by_email_and_student_number() throws Exception {
+        var instr = login("instructor@lms.local", "password");
+        student("roster1@lms.local", "S-ROSTER-1");
+        student("roster2@lms.local", "S-ROSTER-2");
+        student("roster3@lms.local", "S-ROSTER-3");
+        long courseId = publishedCourse(instr);
+        mvc.perform(post("/api/courses/{id}/enroll", courseId)
+                        .header("Authorization", "Bearer " + login("roster1@lms.local", "password")))
+                .andExpect(status().isOk());
+
+        var csv = """
+                email,name
+                roster1@lms.local,One
+                roster2@lms.local,Two
+                S-ROSTER-3,Three
+
+                roster2@lms.local,Two again
+                nobody@lms.local,Typo
+                "S-ROSTER-2",Two by number
+                """;
+        mvc.perform(post("/api/courses/{id}/roster", courseId)
+                        .header("Authorization", "Bearer " + instr)
+                        .contentType("text/csv")
+                        .content(csv))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.lines").value(6))
+                .andExpect(jsonPath("$.enrolled").value(2))
+                .andExpect(jsonPath("$.alreadyEnrolled").value(1))
+                .andExpect(jsonPath("$.duplicates").value(2))
+                .andExpect(jsonPath("$.unknown").value(1))
+                .andExpect(jsonPath("$.unknownSample[0]").value("nobody@lms.local"));
+
+        // re-running the same file changes nothing
+        mvc.perform(post("/api/courses/{id}/roster", courseId)
+                        .header("Authorization", "Bearer " + instr)
+                        .contentType("text/csv")
+                        .content(csv))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.enrolled").value(0))
+                .andExpect(jsonPath("$.alreadyEnrolled").value(3));
+
+        mvc.perform(get("/api/enrollments")
+                        .header("Authorization", "Bearer " + login("roster3@lms.local", "password")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[?(@.courseId == " + courseId + ")]").exists());
+    }
+
+    @Test
+    void emails_match_regardless_of_case() throws Exception {
+        var instr = login("instructor@lms.local", "password");
+        student("roster4@lms.local", "S-ROSTER-4");
+        long courseId = publishedCourse(instr);
+
+        var csv = """
+                Roster4@LMS.local
+                roster4@lms.local
+                """;
+        mvc.perform(post("/api/courses/{id}/roster", courseId)
+                        .header("Authorization", "Bearer " + instr)
+                        .contentType("text/csv")
+                        .content(csv))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.enrolled").value(1))
+                .andExpect(jsonPath("$.duplicates").value(1))
+                .andExpect(jsonPath("$.unknown").value(0));
+    }
+
+    @Test
+    void large_file_is_resolved_in_chunks() throws Exception {
+        var instr = login("instructor@lms.local", "password");
+        long courseId = publishedCourse(instr);
+        var csv = new StringBuilder();
+        for (int i = 0; i < 1_200; i++) csv.append("S-MISSING-").append(i).append('\n');
+
+        Statistics stats = emf.unwrap(SessionFactory.class).getStatistics();
+        stats.clear();
+        mvc.perform(post("/api/courses/{id}/roster", courseId)
+                        .header("Authorization", "Bearer " + instr)
+                        .contentType("text/csv")
+                        .content(csv.toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.lines").value(1_200))
+                .andExpect(jsonPath("$.unknown").value(1_200))
+                .andExpect(jsonPath("$.unknownSample.length()").value(100));
+
+        // course checks + one IN lookup per 500-line chunk
+        assertThat(stats.getPrepareStatementCount()).isEqualTo(2 + 3);
+    }
+
+    @Test
+    void student_cannot_import_roster() throws Exception {
+        var stud = login("student@lms.local", "password");
+        mvc.perform(post("/api/courses/{id}/roster", 1L)
+                        .header("Authorization", "Bearer " + stud)
+                        .contentType("text/csv")
+                        .content("student@lms.local\n"))
+                .andExpect(status().isForbidden());
+    }
+}
@@ -0,0 +1,54 @@
+package com.ironhack.lms.web.paging;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+class KeysetCursorTest {
+
+    @Test
+    void encode_decode_roundTrip() {
+        var c = new KeysetCursor(Instant.parse("2024-01-15T10:30:00.123456Z"), 42L);
+        assertThat(KeysetCursor.decode(c.encode())).isEqualTo(c);
+    }
+
+    @Test
+    void decode_blank_isFirstSlice() {
+        assertThat(KeysetCursor.decode(null)).isNull();
+        assertThat(KeysetCursor.decode(" ")).isNull();
+    }
+
+    @Test
+    void decode_garbage_is400() {
+        assertThatThrownBy(() -> KeysetCursor.decode("not-a-cursor"))
+                .isInstanceOf(ResponseStatusException.class)
+                .extracting(e -> ((ResponseStatusException) e).getStatusCode())
+                .isEqualTo(HttpStatus.BAD_REQUEST);
+    }
+
+    @Test
+    void size_isClamped() {
+        assertThat(KeysetCursor.size(null)).isEqualTo(KeysetCursor.DEFAULT_SIZE);
+        assertThat(KeysetCursor.size(0)).isEqualTo(1);
+        assertThat(KeysetCursor.size(10_000)).isEqualTo(KeysetCursor.MAX_SIZE);
+    }
+
+    @Test
+    void cursorPage_usesLookaheadRowOnlyAsSignal() {
+        var t = Instant.parse("2024-01-01T00:00:00Z");
+        var rows = List.of(1L, 2L, 3L);
+
+        var page = CursorPage.of(rows, 2, id -> new KeysetCursor(t, id), id -> "row" + id);
+        assertThat(page.items()).containsExactly("row1", "row2");
+        assertThat(KeysetCursor.decode(page.nextCursor())).isEqualTo(new KeysetCursor(t, 2L));
+
+        var last = CursorPage.of(rows, 3, id -> new KeysetCursor(t, id), id -> "row" + id);
+        assertThat(last.items()).hasSize(3);
+        assertThat(last.nextCursor()).isNull();
+    }
+}
@@ -0,0 +1,161 @@
+package com.ironhack.lms.web.paging;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ironhack.lms.domain.user.Role;
+import com.ironhack.lms.domain.user.Student;
+import com.ironhack.lms.repository.user.UserRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class KeysetPaginationIT {
+    @Autowired MockMvc mvc;
+    @Autowired ObjectMapper om;
+    @Autowired EntityManagerFactory emf;
+    @Autowired UserRepository users;
+    @Autowired PasswordEncoder encoder;
+
+    record Login(String email, String password) {}
+
+    private String login(String email, String password) throws Exception {
+        var body = om.writeValueAsString(new Login(email, password));
+        var json = mvc.perform(post("/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON).content(body))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return om.readTree(json).get("token").asText();
+    }
+
+    // own student so these rows don't leak into listings other ITs make as student@lms.local
+    private String keysetStudent() throws Exception {
+        String email = "keyset@lms.local";
+        users.findByEmail(email).orElseGet(() -> {
+            var s = new Student();
+            s.setEmail(email);
+            s.setPasswordHash(encoder.encode("password"));
+            s.setFullName("Key Set");
+            s.setRole(Role.STUDENT);
+            s.setStudentNumber("S-KEYSET");
+            return users.save(s);
+        });
+        return login(email, "password");
+    }
+
+    private JsonNode call(String token, String url, Object... vars) throws Exception {
+        var json = mvc.perform(get(url, vars).header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return om.readTree(json);
+    }
+
+    private long publishedCourse(String instr) throws Exception {
+        var created = mvc.perform(post("/api/courses")
+                        .header("Authorization", "Bearer " + instr)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{ \"title\": \"Keyset\", \"description\": \"-\" }"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        long id = om.readTree(created).get("id").asLong();
+        mvc.perform(put("/api/courses/{id}", id)
+                        .header("Authorization", "Bearer " + instr)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{ \"title\": \"Keyset\", \"description\": \"-\", \"status\": \"PUBLISHED\" }"))
+                .andExpect(status().isOk());
+        return id;
+    }
+
+    @Test
+    void course_submissions_are_scrolled_without_count_query() throws Exception {
+        var instr = login("instructor@lms.local", "password");
+        var stud = keysetStudent();
+        long courseId = publishedCourse(instr);
+        mvc.perform(post("/api/courses/{id}/enroll", courseId).header("Authorization", "Bearer " + stud))
+                .andExpect(status().isOk());
+
+        List<Long> submitted = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            var a = mvc.perform(post("/api/courses/{id}/assignments", courseId)
+                            .header("Authorization", "Bearer " + instr)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("{ \"title\":\"HW" + i + "\", \"maxPoints\":100, \"allowLate\":true }"))
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getContentAsString();
+            var s = mvc.perform(post("/api/assignments/{id}/submissions", Long.parseLong(a))
+                            .header("Authorization", "Bearer " + stud)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("{ \"artifactUrl\": \"https://github.com/user/hw" + i + "\" }"))
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getContentAsString();
+            submitted.add(om.readTree(s).get("id").asLong());
+        }
+
+        Statistics stats = emf.unwrap(SessionFactory.class).getStatistics();
+        stats.clear();
+        var first = call(instr, "/api/courses/{id}/submissions/cursor?size=2", courseId);
+        assertThat(first.get("items")).hasSize(2);
+        assertThat(first.get("nextCursor").asText()).isNotBlank();
+        assertThat(stats.getQueries()).noneMatch(q -> q.toLowerCase().contains("count("));
+
+        var second = call(instr, "/api/courses/{id}/submissions/cursor?size=2&after={c}",
+                courseId, first.get("nextCursor").asText());
+        assertThat(second.get("items")).hasSize(1);
+        assertThat(second.has("nextCursor")).isFalse();
+
+        List<Long> seen = new ArrayList<>();
+        first.get("items").forEach(n -> seen.add(n.get("id").asLong()));
+        second.get("items").forEach(n -> seen.add(n.get("id").asLong()));
+        assertThat(seen).containsExactlyElementsOf(submitted);
+    }
+
+    @Test
+    void my_enrollments_are_scrolled_in_enrollment_order() throws Exception {
+        var instr = login("instructor@lms.local", "password");
+        var stud = keysetStudent();
+        List<Long> enrolled = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            long courseId = publishedCourse(instr);
+            mvc.perform(post("/api/courses/{id}/enroll", courseId).header("Authorization", "Bearer " + stud))
+                    .andExpect(status().isOk());
+            enrolled.add(courseId);
+        }
+
+        List<Long> seen = new ArrayList<>();
+        String after = "";
+        do {
+            var slice = call(stud, "/api/enrollments/cursor?size=2&after={c}", after);
+            assertThat(slice.get("items").size()).isLessThanOrEqualTo(2);
+            slice.get("items").forEach(n -> seen.add(n.get("courseId").asLong()));
+            after = slice.has("nextCursor") ? slice.get("nextCursor").asText() : null;
+        } while (after != null);
+
+        assertThat(seen).doesNotHaveDuplicates();
+        assertThat(seen.subList(seen.size() - 3, seen.size())).containsExactlyElementsOf(enrolled);
+    }
+
+    @Test
+    void malformed_cursor_is_bad_request() throws Exception {
+        var stud = login("student@lms.local", "password");
+        mvc.perform(get("/api/enrollments/cursor?after=bogus")
+                        .header("Authorization", "Bearer " + stud))
+                .andExpect(status().isBadRequest());
+    }
+}
@@ -0,0 +1,156 @@
+package com.ironhack.lms.web.submission;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ironhack.lms.domain.user.Role;
+import com.ironhack.lms.domain.user.Student;
+import com.ironhack.lms.repository.user.UserRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@ActiveProfiles("test")
+@SpringBootTest
+@AutoConfigureMockMvc
+class BulkGradeIT {
+    @Autowired MockMvc mvc;
+    @Autowired ObjectMapper om;
+    @Autowired EntityManagerFactory emf;
+    @Autowired UserRepository users;
+    @Autowired PasswordEncoder encoder;
+
+    record Login(String email, String password) {}
+
+    private String login(String email, String password) throws Exception {
+        var body = om.writeValueAsString(new Login(email, password));
+        var json = mvc.perform(post("/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON).content(body))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return om.readTree(json).get("token").asText();
+    }
+
+    private String student(String email) throws Exception {
+        users.findByEmail(email).orElseGet(() -> {
+            var s = new Student();
+            s.setEmail(email);
+            s.setPasswordHash(encoder.encode("password"));
+            s.setFullName("Bulk Grade");
+            s.setRole(Role.STUDENT);
+            s.setStudentNumber("S-" + email.substring(0, email.indexOf('@')));
+            return users.save(s);
+        });
+        return login(email, "password");
+    }
+
+    private long publishedCourse(String instr) throws Exception {
+        var created = mvc.perform(post("/api/courses")
+                        .header("Authorization", "Bearer " + instr)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{ \"title\": \"Bulk\", \"description\": \"-\" }"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        long id = om.readTree(created).get("id").asLong();
+        mvc.perform(put("/api/courses/{id}", id)
+                        .header("Authorization", "Bearer " + instr)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{ \"title\": \"Bulk\", \"description\": \"-\", \"status\": \"PUBLISHED\" }"))
+                .andExpect(status().isOk());
+        return id;
+    }
+
+    @Test
+    void instructor_grades_many_submissions_in_one_batch() throws Exception {
+        var instr = login("instructor@lms.local", "password");
+        long courseId = publishedCourse(instr);
+        long assignmentId = Long.parseLong(mvc.perform(post("/api/courses/{id}/assignments", courseId)
+                        .header("Authorization", "Bearer " + instr)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{ \"title\":\"HW\", \"maxPoints\":100, \"allowLate\":true }"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString());
+
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            var stud = student("bulk" + i + "@lms.local");
+            mvc.perform(post("/api/courses/{id}/enroll", courseId).header("Authorization", "Bearer " + stud))
+                    .andExpect(status().isOk());
+            var s = mvc.perform(post("/api/assignments/{id}/submissions", assignmentId)
+                            .header("Authorization", "Bearer " + stud)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("{ \"artifactUrl\": \"https://github.com/user/bulk" + i + "\" }"))
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getContentAsString();
+            ids.add(om.readTree(s).get("id").asLong());
+        }
+
+        var body = """
+                { "grades": [
+                    { "submissionId": %d, "score": 90, "feedback": "good" },
+                    { "submissionId": %d, "score": 80 },
+                    { "submissionId": %d, "score": 70 },
+                    { "submissionId": %d, "score": 150 },
+                    { "submissionId": 999999, "score": 10 }
+                ] }
+                """.formatted(ids.get(0), ids.get(1), ids.get(2), ids.get(3));
+
+        Statistics stats = emf.unwrap(SessionFactory.class).getStatistics();
+        stats.clear();
+        mvc.perform(patch("/api/courses/{id}/submissions/grades", courseId)
+                        .header("Authorization", "Bearer " + instr)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(5))
+                .andExpect(jsonPath("$[0].outcome").value("GRADED"))
+                .andExpect(jsonPath("$[2].outcome").value("GRADED"))
+                .andExpect(jsonPath("$[3].outcome").value("INVALID_SCORE"))
+                .andExpect(jsonPath("$[4].outcome").value("NOT_FOUND"));
+
+        // ownership check + one load + one batched UPDATE for the three graded rows + one stats upsert
+        // + one batched outbox INSERT (and an id-block fetch when the grade_event block runs out)
+        assertThat(stats.getPrepareStatementCount()).isBetween(5L, 6L);
+        assertThat(stats.getEntityUpdateCount()).isEqualTo(3);
+
+        mvc.perform(get("/api/courses/{id}/submissions/cursor", courseId)
+                        .header("Authorization", "Bearer " + instr))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0].score").value(90))
+                .andExpect(jsonPath("$.items[0].status").value("GRADED"))
+                .andExpect(jsonPath("$.items[3].status").value("SUBMITTED"));
+    }
+
+    @Test
+    void student_cannot_bulk_grade() throws Exception {
+        var stud = login("student@lms.local", "password");
+        mvc.perform(patch("/api/courses/{id}/submissions/grades", 1L)
+                        .header("Authorization", "Bearer " + stud)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{ \"grades\": [ { \"submissionId\": 1, \"score\": 10 } ] }"))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    void empty_batch_is_bad_request() throws Exception {
+        var instr = login("instructor@lms.local", "password");
+        mvc.perform(patch("/api/courses/{id}/submissions/grades", 1L)
+                        .header("Authorization", "Bearer " + instr)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{ \"grades\": [] }"))
+                .andExpect(status().isBadRequest());
+    }
+}
@@ -0,0 +1,131 @@
+package com.ironhack.lms.web.submission;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ironhack.lms.domain.enrollment.EnrollmentStatus;
+import com.ironhack.lms.domain.user.Role;
+import com.ironhack.lms.domain.user.Student;
+import com.ironhack.lms.repository.enrollment.EnrollmentRepository;
+import com.ironhack.lms.repository.submission.GradeEventRepository;
+import com.ironhack.lms.repository.user.UserRepository;
+import com.ironhack.lms.service.submission.GradeOutboxRelay;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@ActiveProfiles("test")
+@SpringBootTest
+@AutoConfigureMockMvc
+class GradeOutboxIT {
+    @Autowired MockMvc mvc;
+    @Autowired ObjectMapper om;
+    @Autowired UserRepository users;
+    @Autowired PasswordEncoder encoder;
+    @Autowired EnrollmentRepository enrollments;
+    @Autowired GradeEventRepository events;
+    @Autowired GradeOutboxRelay relay;
+
+    record Login(String email, String password) {}
+
+    private String login(String email, String password) throws Exception {
+        var body = om.writeValueAsString(new Login(email, password));
+        var json = mvc.perform(post("/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON).content(body))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return om.readTree(json).get("token").asText();
+    }
+
+    private Student student(String email) {
+        return users.findByEmail(email).map(Student.class::cast).orElseGet(() -> {
+            var s = new Student();
+            s.setEmail(email);
+            s.setPasswordHash(encoder.encode("password"));
+            s.setFullName("Outbox Student");
+            s.setRole(Role.STUDENT);
+            s.setStudentNumber("S-" + email.substring(0, email.indexOf('@')));
+            return users.save(s);
+        });
+    }
+
+    private long publishedCourse(String instr) throws Exception {
+        var created = mvc.perform(post("/api/courses")
+                        .header("Authorization", "Bearer " + instr)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{ \"title\": \"Outbox\", \"description\": \"-\" }"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        long id = om.readTree(created).get("id").asLong();
+        mvc.perform(put("/api/courses/{id}", id)
+                        .header("Authorization", "Bearer " + instr)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{ \"title\": \"Outbox\", \"description\": \"-\", \"status\": \"PUBLISHED\" }"))
+                .andExpect(status().isOk());
+        return id;
+    }
+
+    private long assignment(String instr, long courseId) throws Exception {
+        return Long.parseLong(mvc.perform(post("/api/courses/{id}/assignments", courseId)
+                        .header("Authorization", "Bearer " + instr)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{ \"title\":\"HW\", \"maxPoints\":100, \"allowLate\":true }"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString());
+    }
+
+    private long submit(String stud, long assignmentId) throws Exception {
+        var s = mvc.perform(post("/api/assignments/{id}/submissions", assignmentId)
+                        .header("Authorization", "Bearer " + stud)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{ \"artifactUrl\": \"https://github.com/user/outbox\" }"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return om.readTree(s).get("id").asLong();
+    }
+
+    private void grade(String instr, long submissionId) throws Exception {
+        mvc.perform(patch("/api/submissions/{id}/grade", submissionId)
+                        .header("Authorization", "Bearer " + instr)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{ \"score\": 80 }"))
+                .andExpect(status().isOk());
+    }
+
+    private boolean completed(long courseId, Student s) {
+        return enrollments.existsByCourse_IdAndStudent_IdAndStatus(courseId, s.getId(), EnrollmentStatus.COMPLETED);
+    }
+
+    @Test
+    void enrollment_completes_after_the_last_assignment_is_graded() throws Exception {
+        var instr = login("instructor@lms.local", "password");
+        long courseId = publishedCourse(instr);
+        long hw1 = assignment(instr, courseId);
+        long hw2 = assignment(instr, courseId);
+
+        var student = student("outbox@lms.local");
+        var stud = login(student.getEmail(), "password");
+        mvc.perform(post("/api/courses/{id}/enroll", courseId).header("Authorization", "Bearer " + stud))
+                .andExpect(status().isOk());
+        long s1 = submit(stud, hw1);
+        long s2 = submit(stud, hw2);
+
+        grade(instr, s1);
+        assertThat(events.count()).isPositive(); // written with the grade, not handled yet
+        relay.drain();
+        assertThat(completed(courseId, student)).isFalse();
+
+        grade(instr, s2);
+        assertThat(completed(courseId, student)).isFalse(); // the request did not evaluate completion
+        relay.drain();
+        assertThat(completed(courseId, student)).isTrue();
+        assertThat(events.count()).isZero();
+    }
+}
@@ -0,0 +1,134 @@
+package com.ironhack.lms.web.submission;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ironhack.lms.domain.user.Role;
+import com.ironhack.lms.domain.user.Student;
+import com.ironhack.lms.repository.user.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class GradebookExportIT {
+    @Autowired MockMvc mvc;
+    @Autowired ObjectMapper om;
+    @Autowired UserRepository users;
+    @Autowired PasswordEncoder encoder;
+
+    record Login(String email, String password) {}
+
+    private String login(String email, String password) throws Exception {
+        var body = om.writeValueAsString(new Login(email, password));
+        var json = mvc.perform(post("/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON).content(body))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return om.readTree(json).get("token").asText();
+    }
+
+    private String student(String email, String fullName) throws Exception {
+        users.findByEmail(email).orElseGet(() -> {
+            var s = new Student();
+            s.setEmail(email);
+            s.setPasswordHash(encoder.encode("password"));
+            s.setFullName(fullName);
+            s.setRole(Role.STUDENT);
+            s.setStudentNumber("S-" + email.substring(0, email.indexOf('@')));
+            return users.save(s);
+        });
+        return login(email, "password");
+    }
+
+    private long courseWithTwoSubmissions(String instr) throws Exception {
+        var created = mvc.perform(post("/api/courses")
+                        .header("Authorization", "Bearer " + instr)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{ \"title\": \"Gradebook\", \"description\": \"-\" }"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        long courseId = om.readTree(created).get("id").asLong();
+        mvc.perform(put("/api/courses/{id}", courseId)
+                        .header("Authorization", "Bearer " + instr)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{ \"title\": \"Gradebook\", \"description\": \"-\", \"status\": \"PUBLISHED\" }"))
+                .andExpect(status().isOk());
+        long assignmentId = Long.parseLong(mvc.perform(post("/api/courses/{id}/assignments", courseId)
+                        .header("Authorization", "Bearer " + instr)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{ \"title\":\"Essay, part 1\", \"maxPoints\":20, \"allowLate\":true }"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString());
+
+        for (var who : new String[][] {{"gb1@lms.local", "Doe, Jane"}, {"gb2@lms.local", "=cmd"}}) {
+            var stud = student(who[0], who[1]);
+            mvc.perform(post("/api/courses/{id}/enroll", courseId).header("Authorization", "Bearer " + stud))
+                    .andExpect(status().isOk());
+            mvc.perform(post("/api/assignments/{id}/submissions", assignmentId)
+                            .header("Authorization", "Bearer " + stud)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("{ \"artifactUrl\": \"https://github.com/user/essay\" }"))
+                    .andExpect(status().isOk());
+        }
+        return courseId;
+    }
+
+    private String download(String token, String url, Object... vars) throws Exception {
+        MvcResult started = mvc.perform(get(url, vars).header("Authorization", "Bearer " + token))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        // export-specific timeout, not the global async default
+        assertThat(started.getRequest().getAsyncContext().getTimeout()).isEqualTo(600_000L);
+        return mvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+    }
+
+    @Test
+    void instructor_downloads_csv_gradebook() throws Exception {
+        var instr = login("instructor@lms.local", "password");
+        long courseId = courseWithTwoSubmissions(instr);
+
+        var csv = download(instr, "/api/courses/{id}/gradebook", courseId);
+        var lines = csv.split("\n");
+
+        assertThat(lines).hasSize(3);
+        assertThat(lines[0]).startsWith("submission_id,assignment_id,assignment_title,max_points");
+        assertThat(lines[1]).contains(",\"Essay, part 1\",20,").contains(",gb1@lms.local,\"Doe, Jane\",S-gb1,")
+                .endsWith(",SUBMITTED,,1");
+        assertThat(lines[2]).contains(",'=cmd,");
+    }
+
+    @Test
+    void instructor_downloads_ndjson_gradebook() throws Exception {
+        var instr = login("instructor@lms.local", "password");
+        long courseId = courseWithTwoSubmissions(instr);
+
+        var ndjson = download(instr, "/api/courses/{id}/gradebook?format=NDJSON", courseId);
+        var lines = ndjson.split("\n");
+
+        assertThat(lines).hasSize(2);
+        var first = om.readTree(lines[0]);
+        assertThat(first.get("assignmentTitle").asText()).isEqualTo("Essay, part 1");
+        assertThat(first.get("studentName").asText()).isEqualTo("Doe, Jane");
+        assertThat(first.get("maxPoints").asInt()).isEqualTo(20);
+    }
+
+    @Test
+    void student_cannot_export_gradebook() throws Exception {
+        var stud = login("student@lms.local", "password");
+        mvc.perform(get("/api/courses/{id}/gradebook", 1L).header("Authorization", "Bearer " + stud))
+                .andExpect(status().isForbidden());
+    }
+}
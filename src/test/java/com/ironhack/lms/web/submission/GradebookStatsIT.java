@@ -0,0 +1,252 @@
+package com.ironhack.lms.web.submission;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ironhack.lms.domain.user.Role;
+import com.ironhack.lms.domain.user.Student;
+import com.ironhack.lms.repository.user.UserRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@ActiveProfiles("test")
+@SpringBootTest
+@AutoConfigureMockMvc
+class GradebookStatsIT {
+    @Autowired MockMvc mvc;
+    @Autowired ObjectMapper om;
+    @Autowired EntityManagerFactory emf;
+    @Autowired UserRepository users;
+    @Autowired PasswordEncoder encoder;
+
+    record Login(String email, String password) {}
+
+    private String login(String email, String password) throws Exception {
+        var body = om.writeValueAsString(new Login(email, password));
+        var json = mvc.perform(post("/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON).content(body))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return om.readTree(json).get("token").asText();
+    }
+
+    private String student(String email) throws Exception {
+        users.findByEmail(email).orElseGet(() -> {
+            var s = new Student();
+            s.setEmail(email);
+            s.setPasswordHash(encoder.encode("password"));
+            s.setFullName("Stats Student");
+            s.setRole(Role.STUDENT);
+            s.setStudentNumber("S-" + email.substring(0, email.indexOf('@')));
+            return users.save(s);
+        });
+        return login(email, "password");
+    }
+
+    private long publishedCourse(String instr) throws Exception {
+        var created = mvc.perform(post("/api/courses")
+                        .header("Authorization", "Bearer " + instr)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{ \"title\": \"Stats\", \"description\": \"-\" }"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        long id = om.readTree(created).get("id").asLong();
+        mvc.perform(put("/api/courses/{id}", id)
+                        .header("Authorization", "Bearer " + instr)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{ \"title\": \"Stats\", \"description\": \"-\", \"status\": \"PUBLISHED\" }"))
+                .andExpect(status().isOk());
+        return id;
+    }
+
+    private long assignment(String instr, long courseId, String title) throws Exception {
+        return Long.parseLong(mvc.perform(post("/api/courses/{id}/assignments", courseId)
+                        .header("Authorization", "Bearer " + instr)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{ \"title\":\"" + title + "\", \"maxPoints\":100, \"allowLate\":true }"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString());
+    }
+
+    private long submit(String stud, long assignmentId, int n) throws Exception {
+        var s = mvc.perform(post("/api/assignments/{id}/submissions", assignmentId)
+                        .header("Authorization", "Bearer " + stud)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{ \"artifactUrl\": \"https://github.com/user/stats" + n + "\" }"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return om.readTree(s).get("id").asLong();
+    }
+
+    private void grade(String instr, long submissionId, int score) throws Exception {
+        mvc.perform(patch("/api/submissions/{id}/grade", submissionId)
+                        .header("Authorization", "Bearer " + instr)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{ \"score\": " + score + " }"))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void stats_follow_submit_grade_and_resubmission() throws Exception {
+        var instr = login("instructor@lms.local", "password");
+        long courseId = publishedCourse(instr);
+        long hw1 = assignment(instr, courseId, "HW1");
+        long hw2 = assignment(instr, courseId, "HW2");
+
+        List<String> studs = new ArrayList<>();
+        List<Long> subs = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            var stud = student("stats" + i + "@lms.local");
+            mvc.perform(post("/api/courses/{id}/enroll", courseId).header("Authorization", "Bearer " + stud))
+                    .andExpect(status().isOk());
+            studs.add(stud);
+            subs.add(submit(stud, hw1, i));
+        }
+        grade(instr, subs.get(0), 90);
+        grade(instr, subs.get(1), 70);
+        grade(instr, subs.get(1), 60); // regrade replaces the earlier score
+        mvc.perform(patch("/api/submissions/{id}/request-resubmission", subs.get(0))
+                        .header("Authorization", "Bearer " + instr)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{ \"feedback\": \"redo\" }"))
+                .andExpect(status().isOk());
+        submit(studs.get(0), hw1, 9); // resubmitting does not add a second submission
+
+        Statistics stats = emf.unwrap(SessionFactory.class).getStatistics();
+        stats.clear();
+        mvc.perform(get("/api/courses/{id}/stats", courseId).header("Authorization", "Bearer " + instr))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.courseId").value(courseId))
+                .andExpect(jsonPath("$.submissionCount").value(3))
+                .andExpect(jsonPath("$.gradedCount").value(1))
+                .andExpect(jsonPath("$.assignments.length()").value(2))
+                .andExpect(jsonPath("$.assignments[0].assignmentId").value(hw1))
+                .andExpect(jsonPath("$.assignments[0].submissionCount").value(3))
+                .andExpect(jsonPath("$.assignments[0].gradedCount").value(1))
+                .andExpect(jsonPath("$.assignments[0].averageScore").value(60.0))
+                .andExpect(jsonPath("$.assignments[1].assignmentId").value(hw2))
+                .andExpect(jsonPath("$.assignments[1].submissionCount").value(0))
+                .andExpect(jsonPath("$.assignments[1].averageScore").doesNotExist());
+
+        // ownership check + one aggregate read, however many submissions the course has
+        assertThat(stats.getPrepareStatementCount()).isEqualTo(2);
+    }
+
+    @Test
+    void concurrent_grading_counts_a_submission_once() throws Exception {
+        var instr = login("instructor@lms.local", "password");
+        long courseId = publishedCourse(instr);
+        long hw = assignment(instr, courseId, "Race");
+        var stud = student("race@lms.local");
+        mvc.perform(post("/api/courses/{id}/enroll", courseId).header("Authorization", "Bearer " + stud))
+                .andExpect(status().isOk());
+        long sub = submit(stud, hw, 0);
+
+        // every grader sees the submission ungraded unless the row is locked while it is read
+        int graders = 8;
+        var start = new CountDownLatch(1);
+        var pool = Executors.newFixedThreadPool(graders);
+        try {
+            List<Future<?>> done = new ArrayList<>();
+            for (int i = 0; i < graders; i++) {
+                done.add(pool.submit((Callable<Void>) () -> {
+                    start.await();
+                    grade(instr, sub, 80);
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> f : done) f.get();
+        } finally {
+            pool.shutdown();
+        }
+
+        mvc.perform(get("/api/courses/{id}/stats", courseId).header("Authorization", "Bearer " + instr))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.assignments[0].submissionCount").value(1))
+                .andExpect(jsonPath("$.assignments[0].gradedCount").value(1))
+                .andExpect(jsonPath("$.assignments[0].averageScore").value(80.0));
+    }
+
+    @Test
+    void resubmit_racing_a_grade_keeps_stats_in_step_with_the_row() throws Exception {
+        var instr = login("instructor@lms.local", "password");
+        long courseId = publishedCourse(instr);
+        long hw = assignment(instr, courseId, "Resubmit race");
+
+        int students = 6;
+        List<String> studs = new ArrayList<>();
+        List<Long> subs = new ArrayList<>();
+        for (int i = 0; i < students; i++) {
+            var stud = student("resubmit-race" + i + "@lms.local");
+            mvc.perform(post("/api/courses/{id}/enroll", courseId).header("Authorization", "Bearer " + stud))
+                    .andExpect(status().isOk());
+            studs.add(stud);
+            subs.add(submit(stud, hw, i));
+        }
+
+        // each submission is graded and resubmitted at the same time; whichever wins,
+        // the stats must describe the row it leaves behind
+        var start = new CountDownLatch(1);
+        var pool = Executors.newFixedThreadPool(2 * students);
+        try {
+            List<Future<?>> done = new ArrayList<>();
+            for (int i = 0; i < students; i++) {
+                String stud = studs.get(i);
+                long sub = subs.get(i);
+                int n = 100 + i;
+                done.add(pool.submit((Callable<Void>) () -> {
+                    start.await();
+                    grade(instr, sub, 80);
+                    return null;
+                }));
+                done.add(pool.submit((Callable<Void>) () -> {
+                    start.await();
+                    submit(stud, hw, n);
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> f : done) f.get();
+        } finally {
+            pool.shutdown();
+        }
+
+        var rows = om.readTree(mvc.perform(get("/api/courses/{id}/submissions?size=50", courseId)
+                        .header("Authorization", "Bearer " + instr))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString()).get("content");
+        int graded = 0;
+        for (var row : rows) if ("GRADED".equals(row.get("status").asText())) graded++;
+
+        mvc.perform(get("/api/courses/{id}/stats", courseId).header("Authorization", "Bearer " + instr))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.assignments[0].submissionCount").value(students))
+                .andExpect(jsonPath("$.assignments[0].gradedCount").value(graded));
+    }
+
+    @Test
+    void student_cannot_read_course_stats() throws Exception {
+        var stud = login("student@lms.local", "password");
+        mvc.perform(get("/api/courses/{id}/stats", 1L).header("Authorization", "Bearer " + stud))
+                .andExpect(status().isForbidden());
+    }
+}
@@ -1,6 +1,7 @@
 package com.ironhack.lms.web.submission;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ironhack.lms.support.SqlBudget;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
@@ -79,6 +80,7 @@ class SubmissionIT {
 
 
     @Test
+    @SqlBudget(method = "POST", route = "/api/assignments/{assignmentId}/submissions", max = 5)
     void student_submits_successfully() throws Exception {
         var instr = login("instructor@lms.local", "password");
         var stud = login("student@lms.local", "password");
@@ -103,6 +105,7 @@ class SubmissionIT {
     }
 
     @Test
+    @SqlBudget(method = "PATCH", route = "/api/submissions/{id}/grade", max = 6)
     void student_submits_and_only_instructor_can_grade() throws Exception {
         var instr = login("instructor@lms.local", "password");
         var stud = login("student@lms.local", "password");
@@ -144,6 +147,7 @@ class SubmissionIT {
     }
 
     @Test
+    @SqlBudget(route = "/api/submissions/mine", max = 1)
     void student_can_view_own_submissions() throws Exception {
         var instr = login("instructor@lms.local", "password");
         var stud = login("student@lms.local", "password");
@@ -173,6 +177,7 @@ class SubmissionIT {
     }
 
     @Test
+    @SqlBudget(route = "/api/courses/{courseId}/submissions", max = 2)
     void instructor_can_view_course_submissions() throws Exception {
         var instr = login("instructor@lms.local", "password");
         var stud = login("student@lms.local", "password");
@@ -202,6 +207,7 @@ class SubmissionIT {
     }
 
     @Test
+    @SqlBudget(method = "PATCH", route = "/api/submissions/{id}/request-resubmission", max = 4)
     void instructor_can_request_resubmission() throws Exception {
         var instr = login("instructor@lms.local", "password");
         var stud = login("student@lms.local", "password");
@@ -235,6 +241,7 @@ class SubmissionIT {
     }
 
     @Test
+    @SqlBudget(method = "PATCH", route = "/api/submissions/{id}/request-resubmission", max = 1)
     void student_cannot_grade_submissions() throws Exception {
         var instr = login("instructor@lms.local", "password");
         var stud = login("student@lms.local", "password");